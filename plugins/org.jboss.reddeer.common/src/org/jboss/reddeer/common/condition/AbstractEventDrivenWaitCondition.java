@@ -0,0 +1,84 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.condition;
+
+/**
+ * Abstract implementation of {@link EventDrivenWaitCondition}. Subclasses 
+ * register their listeners in {@link #registerListeners()} and call 
+ * {@link #signalChange()} from them whenever the tested state might have changed.
+ */
+public abstract class AbstractEventDrivenWaitCondition extends AbstractWaitCondition 
+	implements EventDrivenWaitCondition {
+
+	private final Object signalLock = new Object();
+
+	private boolean changed;
+
+	/**
+	 * Registers listeners calling {@link #signalChange()}.
+	 */
+	protected abstract void registerListeners();
+
+	/**
+	 * Unregisters listeners registered by {@link #registerListeners()}.
+	 */
+	protected abstract void unregisterListeners();
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.condition.EventDrivenWaitCondition#startListening()
+	 */
+	@Override
+	public void startListening() {
+		synchronized (signalLock) {
+			changed = false;
+		}
+		registerListeners();
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.condition.EventDrivenWaitCondition#stopListening()
+	 */
+	@Override
+	public void stopListening() {
+		unregisterListeners();
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.condition.EventDrivenWaitCondition#awaitChange(long)
+	 */
+	@Override
+	public boolean awaitChange(long milliseconds) throws InterruptedException {
+		long now = System.currentTimeMillis();
+		long limit = Long.MAX_VALUE - now > milliseconds ? now + milliseconds : Long.MAX_VALUE;
+		synchronized (signalLock) {
+			while (!changed) {
+				long remaining = limit - System.currentTimeMillis();
+				if (remaining <= 0) {
+					return false;
+				}
+				signalLock.wait(remaining);
+			}
+			changed = false;
+			return true;
+		}
+	}
+
+	/**
+	 * Wakes up the thread waiting in {@link #awaitChange(long)}. Can be called
+	 * from any thread.
+	 */
+	protected void signalChange() {
+		synchronized (signalLock) {
+			changed = true;
+			signalLock.notifyAll();
+		}
+	}
+}
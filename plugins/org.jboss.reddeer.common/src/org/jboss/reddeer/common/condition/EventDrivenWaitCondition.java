@@ -0,0 +1,43 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.condition;
+
+/**
+ * Wait condition which is able to notify a waiter about changes of the state
+ * it tests. Instead of sleeping between two tests of the condition the waiter
+ * registers the condition via {@link #startListening()} and parks in
+ * {@link #awaitChange(long)} until an event which might change the result of
+ * {@link #test()} occurs. Polling with the given time limit remains as a fallback
+ * for events which are not covered by the listeners.
+ */
+public interface EventDrivenWaitCondition extends WaitCondition {
+
+	/**
+	 * Registers listeners which signal changes of the tested state.
+	 */
+	void startListening();
+
+	/**
+	 * Unregisters listeners registered by {@link #startListening()}.
+	 */
+	void stopListening();
+
+	/**
+	 * Blocks the calling thread until a change is signalled or the specified
+	 * time elapses. Signal received before calling this method is consumed 
+	 * immediately.
+	 * 
+	 * @param milliseconds maximal time to wait in milliseconds
+	 * @return true if a change was signalled, false if time elapsed
+	 * @throws InterruptedException if waiting thread was interrupted
+	 */
+	boolean awaitChange(long milliseconds) throws InterruptedException;
+}
@@ -0,0 +1,150 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Log sink which stores messages into a bounded buffer and writes them to 
+ * a target sink in a background thread. Logging thread is blocked only if the 
+ * buffer is full. Pending messages are written when {@link #flush()} is called 
+ * and when JVM shuts down.
+ */
+public class AsyncLogSink implements LogSink {
+
+	/**
+	 * Default capacity of the message buffer.
+	 */
+	public static final int DEFAULT_CAPACITY = 8192;
+
+	private static final long FLUSH_TIMEOUT = 10000;
+
+	private final LogSink target;
+
+	private final BlockingQueue<Object> buffer;
+
+	private final Thread writerThread;
+
+	/**
+	 * Creates asynchronous sink with default buffer capacity.
+	 * 
+	 * @param target sink messages are written to
+	 */
+	public AsyncLogSink(LogSink target) {
+		this(target, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates asynchronous sink with specified buffer capacity.
+	 * 
+	 * @param target sink messages are written to
+	 * @param capacity maximal number of pending messages
+	 */
+	public AsyncLogSink(LogSink target, int capacity) {
+		this.target = target;
+		this.buffer = new ArrayBlockingQueue<Object>(capacity);
+		this.writerThread = new Thread(new Writer(), "RedDeer log writer");
+		writerThread.setDaemon(true);
+		writerThread.start();
+		Runtime.getRuntime().addShutdownHook(new Thread("RedDeer log flush") {
+			@Override
+			public void run() {
+				AsyncLogSink.this.flush();
+			}
+		});
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.logging.LogSink#write(java.lang.String)
+	 */
+	@Override
+	public void write(String message) {
+		if (!writerThread.isAlive()) {
+			target.write(message);
+			return;
+		}
+		try {
+			buffer.put(message);
+		} catch (InterruptedException e) {
+			// do not lose the message, write it directly
+			Thread.currentThread().interrupt();
+			target.write(message);
+		}
+	}
+
+	/**
+	 * Blocks until all messages written before this call are written 
+	 * to the target sink and the target sink is flushed.
+	 */
+	@Override
+	public void flush() {
+		if (Thread.currentThread() == writerThread || !writerThread.isAlive()) {
+			target.flush();
+			return;
+		}
+		FlushRequest request = new FlushRequest();
+		try {
+			buffer.put(request);
+			request.latch.await(FLUSH_TIMEOUT, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private class Writer implements Runnable {
+
+		@Override
+		public void run() {
+			List<Object> batch = new ArrayList<Object>();
+			while (true) {
+				try {
+					batch.add(buffer.take());
+				} catch (InterruptedException e) {
+					return;
+				}
+				buffer.drainTo(batch);
+				for (Object item : batch) {
+					try {
+						if (item instanceof FlushRequest) {
+							target.flush();
+						} else {
+							target.write((String) item);
+						}
+					} catch (RuntimeException e) {
+						System.err.println("Cannot write log message: " + e.getMessage());
+					} finally {
+						if (item instanceof FlushRequest) {
+							((FlushRequest) item).latch.countDown();
+						}
+					}
+				}
+				batch.clear();
+				if (buffer.isEmpty()) {
+					try {
+						target.flush();
+					} catch (RuntimeException e) {
+						System.err.println("Cannot flush log messages: " + e.getMessage());
+					}
+				}
+			}
+		}
+	}
+
+	private static class FlushRequest {
+
+		private final CountDownLatch latch = new CountDownLatch(1);
+	}
+}
@@ -0,0 +1,33 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.logging;
+
+/**
+ * Log sink printing messages to standard output in the calling thread.
+ */
+public class ConsoleLogSink implements LogSink {
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.logging.LogSink#write(java.lang.String)
+	 */
+	@Override
+	public void write(String message) {
+		System.out.println(message);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.logging.LogSink#flush()
+	 */
+	@Override
+	public void flush() {
+		System.out.flush();
+	}
+}
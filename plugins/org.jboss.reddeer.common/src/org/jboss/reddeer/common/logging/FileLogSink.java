@@ -0,0 +1,69 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.logging;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+import org.jboss.reddeer.common.exception.RedDeerException;
+
+/**
+ * Log sink appending messages to a file. Messages are buffered until 
+ * {@link #flush()} is called.
+ */
+public class FileLogSink implements LogSink {
+
+	private final Writer writer;
+
+	/**
+	 * Creates sink appending messages to specified file.
+	 * 
+	 * @param file log file
+	 */
+	public FileLogSink(File file) {
+		try {
+			writer = new BufferedWriter(new OutputStreamWriter(
+					new FileOutputStream(file, true), Charset.forName("UTF-8")));
+		} catch (IOException e) {
+			throw new RedDeerException("Cannot open log file " + file.getAbsolutePath(), e);
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.logging.LogSink#write(java.lang.String)
+	 */
+	@Override
+	public synchronized void write(String message) {
+		try {
+			writer.write(message);
+			writer.write(System.lineSeparator());
+		} catch (IOException e) {
+			System.err.println("Cannot write to log file: " + e.getMessage());
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.logging.LogSink#flush()
+	 */
+	@Override
+	public synchronized void flush() {
+		try {
+			writer.flush();
+		} catch (IOException e) {
+			System.err.println("Cannot flush log file: " + e.getMessage());
+		}
+	}
+}
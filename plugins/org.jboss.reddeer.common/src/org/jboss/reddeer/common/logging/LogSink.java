@@ -0,0 +1,30 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.logging;
+
+/**
+ * Destination of messages printed by {@link Logger}. Sink used by all loggers
+ * can be changed via {@link Logger#setSink(LogSink)}.
+ */
+public interface LogSink {
+
+	/**
+	 * Writes formatted log message.
+	 * 
+	 * @param message formatted log message
+	 */
+	void write(String message);
+
+	/**
+	 * Writes all pending messages to their final destination.
+	 */
+	void flush();
+}
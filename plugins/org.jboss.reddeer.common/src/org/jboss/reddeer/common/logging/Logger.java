@@ -10,22 +10,39 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.common.logging;
 
+import java.io.File;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.jboss.reddeer.common.context.ExecutionSetting;
 import org.jboss.reddeer.common.exception.RedDeerException;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
 
 /**
- * Simple console logger for Reddeer
+ * Simple console logger for Reddeer. Messages are written to a {@link LogSink}
+ * shared by all loggers. By default messages are printed to standard output 
+ * (or to the file specified by {@link RedDeerProperties#LOG_FILE}) in 
+ * a background thread, see {@link AsyncLogSink}.
  * 
  * @author Jiri Peterka
  *
  */
 public class Logger {
 
-	private DateFormat dateFormat = new SimpleDateFormat("HH:mm:ss.SSS");
+	private static final ThreadLocal<DateFormat> dateFormat = new ThreadLocal<DateFormat>() {
+		@Override
+		protected DateFormat initialValue() {
+			return new SimpleDateFormat("HH:mm:ss.SSS");
+		}
+	};
+
+	private static final ConcurrentMap<Class<? extends Object>, Logger> loggers = 
+			new ConcurrentHashMap<Class<? extends Object>, Logger>();
+
+	private static volatile LogSink sink;
 
 	private static final String error = "ERROR";
 	private static final String warning = "WARNING";
@@ -39,13 +56,82 @@ public class Logger {
 	private Class<? extends Object> loggerClass;
 
 	/**
-	 * Returns logger based on given class.
+	 * Returns logger based on given class. Loggers are cached so the same 
+	 * instance is returned for the same class.
 	 *
 	 * @param c given class
 	 * @return logger instance
 	 */
 	public static Logger getLogger(Class<? extends Object> c) {
-		return new Logger(c);
+		Logger logger = loggers.get(c);
+		if (logger == null) {
+			Logger newLogger = new Logger(c);
+			logger = loggers.putIfAbsent(c, newLogger);
+			if (logger == null) {
+				logger = newLogger;
+			}
+		}
+		return logger;
+	}
+
+	/**
+	 * Sets sink all loggers write their messages to. Messages pending in the 
+	 * previous sink are flushed.
+	 *
+	 * @param newSink log sink
+	 */
+	public static synchronized void setSink(LogSink newSink) {
+		if (newSink == null) {
+			throw new IllegalArgumentException("Log sink cannot be null");
+		}
+		if (sink != null) {
+			sink.flush();
+		}
+		sink = newSink;
+	}
+
+	/**
+	 * Returns sink all loggers write their messages to. Default sink is created
+	 * according to {@link RedDeerProperties#LOG_SINK} and 
+	 * {@link RedDeerProperties#LOG_FILE} properties.
+	 *
+	 * @return log sink
+	 */
+	public static LogSink getSink() {
+		LogSink result = sink;
+		if (result == null) {
+			synchronized (Logger.class) {
+				if (sink == null) {
+					sink = createDefaultSink();
+				}
+				result = sink;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Writes all pending log messages. Should be called e.g. when a test fails
+	 * so that the log is complete.
+	 */
+	public static void flush() {
+		LogSink result = sink;
+		if (result != null) {
+			result.flush();
+		}
+	}
+
+	private static LogSink createDefaultSink() {
+		if (RedDeerProperties.LOG_SINK == null) {
+			// properties are being initialized and want to log
+			return new ConsoleLogSink();
+		}
+		String logFile = RedDeerProperties.LOG_FILE.getValue();
+		LogSink target = logFile == null ? new ConsoleLogSink() : new FileLogSink(new File(logFile));
+		if ("sync".equals(RedDeerProperties.LOG_SINK.getValue())) {
+			return target;
+		}
+		return new AsyncLogSink(target);
 	}
 
 	/**
@@ -74,7 +160,9 @@ public class Logger {
 	 * @see java.lang.String#format(String, Object...)
 	 */
 	public void debug(String fmtString, Object... args) {
-		debug(String.format(fmtString, args));
+		if (isLoggable(MessageType.DEBUG)) {
+			debug(String.format(fmtString, args));
+		}
 	}
 
 	/**
@@ -94,7 +182,9 @@ public class Logger {
 	 * @see java.lang.String#format(String, Object...)
 	 */
 	public void trace(String fmtString, Object... args) {
-		trace(String.format(fmtString, args));
+		if (isLoggable(MessageType.TRACE)) {
+			trace(String.format(fmtString, args));
+		}
 	}
 
 	/**
@@ -114,7 +204,9 @@ public class Logger {
 	 * @see java.lang.String#format(String, Object...)
 	 */
 	public void warn(String fmtString, Object... args) {
-		warn(String.format(fmtString, args));
+		if (isLoggable(MessageType.WARN)) {
+			warn(String.format(fmtString, args));
+		}
 	}
 
 	/**
@@ -134,7 +226,9 @@ public class Logger {
 	 * @see java.lang.String#format(String, Object...)
 	 */
 	public void error(String fmtString, Object... args) {
-		error(String.format(fmtString, args));
+		if (isLoggable(MessageType.ERROR)) {
+			error(String.format(fmtString, args));
+		}
 	}
 
 	/**
@@ -145,6 +239,8 @@ public class Logger {
 	 */
 	public void error(String msg, Throwable t) {
 		print(error, msg, MessageType.ERROR);
+		// stack trace is printed to standard error, keep the order of messages
+		flush();
 		printStackTraceRecursive(t);
 	}
 
@@ -158,7 +254,11 @@ public class Logger {
 	 * @see java.lang.String#format(String, Object...)
 	 */
 	public void error(String fmtString, Throwable t, Object... args) {
-		error(String.format(fmtString, args), t);
+		if (isLoggable(MessageType.ERROR)) {
+			error(String.format(fmtString, args), t);
+		} else {
+			printStackTraceRecursive(t);
+		}
 	}
 
 	/**
@@ -178,7 +278,9 @@ public class Logger {
 	 * @see java.lang.String#format(String, Object...)
 	 */
 	public void info(String fmtString, Object... args) {
-		info(String.format(fmtString, args));
+		if (isLoggable(MessageType.INFO)) {
+			info(String.format(fmtString, args));
+		}
 	}
 
 	/**
@@ -198,7 +300,9 @@ public class Logger {
 	 * @see java.lang.String#format(String, Object...)
 	 */
 	public void dump(String fmtString, Object... args) {
-		dump(String.format(fmtString, args));
+		if (isLoggable(MessageType.DUMP)) {
+			dump(String.format(fmtString, args));
+		}
 	}
 
 	/**
@@ -226,7 +330,9 @@ public class Logger {
 	 * @see java.lang.String#format(String, Object...)
 	 */
 	public void step(String fmtString, Object... args) {
-		step(String.format(fmtString, args));
+		if (isLoggable(MessageType.STEP)) {
+			step(String.format(fmtString, args));
+		}
 	}
 
 	/**
@@ -254,20 +360,71 @@ public class Logger {
 	 * @see java.lang.String#format(String, Object...)
 	 */
 	public void fatal(String fmtString, Object... args) {
-		fatal(String.format(fmtString, args));
+		if (isLoggable(MessageType.FATAL)) {
+			fatal(String.format(fmtString, args));
+		}
 	}
 
-	private void print(String severity, String msg, int type) {
+	/**
+	 * Finds out whether messages of specified type are printed. Use it to avoid
+	 * building of log messages which are expensive to compute, e.g. messages 
+	 * containing texts of widgets obtained in UI thread.
+	 *
+	 * @param type message type, see {@link MessageType}
+	 * @return true if messages of specified type are printed, false otherwise
+	 */
+	public boolean isLoggable(int type) {
 		if ((type & ExecutionSetting.getInstance().getLogMessageFilter()) != type)
-			return;
+			return false;
 		
 		int logLevel = ExecutionSetting.getInstance().getLogLevel();
-		if (logLevel < getLevelFromMsgType(type).getValue()) {
-			return; 
+		return logLevel >= getLevelFromMsgType(type).getValue();
+	}
+
+	/**
+	 * Finds out whether trace messages are printed.
+	 *
+	 * @return true if trace messages are printed, false otherwise
+	 */
+	public boolean isTraceEnabled() {
+		return isLoggable(MessageType.TRACE);
+	}
+
+	/**
+	 * Finds out whether debug messages are printed.
+	 *
+	 * @return true if debug messages are printed, false otherwise
+	 */
+	public boolean isDebugEnabled() {
+		return isLoggable(MessageType.DEBUG);
+	}
+
+	/**
+	 * Finds out whether info messages are printed.
+	 *
+	 * @return true if info messages are printed, false otherwise
+	 */
+	public boolean isInfoEnabled() {
+		return isLoggable(MessageType.INFO);
+	}
+
+	/**
+	 * Finds out whether warning messages are printed.
+	 *
+	 * @return true if warning messages are printed, false otherwise
+	 */
+	public boolean isWarnEnabled() {
+		return isLoggable(MessageType.WARN);
+	}
+
+	private void print(String severity, String msg, int type) {
+		if (!isLoggable(type)) {
+			return;
 		}
 
 		StringBuilder sb = new StringBuilder();
-		sb.append(dateFormat.format(new Date()) + " ");		
+		sb.append(dateFormat.get().format(new Date()));
+		sb.append(" ");
 
 		sb.append(severity);
 		sb.append(" [");
@@ -277,7 +434,7 @@ public class Logger {
 		sb.append(loggerClass.getSimpleName());
 		sb.append("] ");
 		sb.append(msg);
-		System.out.println(sb.toString());
+		getSink().write(sb.toString());
 	}
 
 	private LogLevel getLevelFromMsgType(int msgType) {
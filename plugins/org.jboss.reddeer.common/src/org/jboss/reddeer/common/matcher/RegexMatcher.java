@@ -10,6 +10,8 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.common.matcher;
 
+import java.util.regex.Pattern;
+
 import org.hamcrest.Description;
 import org.hamcrest.TypeSafeMatcher;
 
@@ -24,6 +26,8 @@ public class RegexMatcher extends TypeSafeMatcher<String> {
 
 	private final String regex;
 
+	private final Pattern pattern;
+
 	/**
 	 * Default constructor.
 	 * 
@@ -33,6 +37,7 @@ public class RegexMatcher extends TypeSafeMatcher<String> {
 
 	public RegexMatcher(String regex) {
 		this.regex = regex;
+		this.pattern = regex == null ? null : Pattern.compile(regex);
 	}
 
 	/* (non-Javadoc)
@@ -49,7 +54,7 @@ public class RegexMatcher extends TypeSafeMatcher<String> {
 	 */
 	@Override
 	protected boolean matchesSafely(String textToMatch) {
-		return textToMatch.matches(regex);
+		return pattern.matcher(textToMatch).matches();
 	}
 
 	/* (non-Javadoc)
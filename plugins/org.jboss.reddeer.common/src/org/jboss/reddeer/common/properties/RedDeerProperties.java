@@ -29,6 +29,18 @@ public enum RedDeerProperties {
 
 	LOG_LEVEL("rd.logLevel", "ALL"),
 
+	/**
+	 * Way of printing log messages. Messages are printed by a background thread 
+	 * if set to "async", or directly by the logging thread if set to "sync".
+	 */
+	LOG_SINK("rd.logSink", "async", "async", "sync"),
+
+	/**
+	 * System property pointing to the file log messages are appended to. Messages 
+	 * are printed to standard output if not set.
+	 */
+	LOG_FILE("rd.logFile", (String) null),
+
 	CLOSE_WELCOME_SCREEN("rd.closeWelcomeScreen", true),
 
 	CLOSE_ALL_SHELLS("rd.closeShells", true),
@@ -48,7 +60,66 @@ public enum RedDeerProperties {
 
 	OPEN_ASSOCIATED_PERSPECTIVE("rd.openAssociatedPerspective", "never"),
 
-	TIME_PERIOD_FACTOR("rd.timePeriodFactor", 1.f);
+	TIME_PERIOD_FACTOR("rd.timePeriodFactor", 1.f),
+
+	/**
+	 * Maximal time in milliseconds between two tests of a wait condition when
+	 * the wait polls with an adaptive (exponentially growing) test period.
+	 */
+	MAX_TEST_PERIOD("rd.maxTestPeriod", 1000.f),
+
+	/**
+	 * Collects counts and latencies of round trips to the UI thread per calling
+	 * method and prints them after each test.
+	 */
+	COLLECT_UI_STATISTICS("rd.uiStatistics", false),
+
+	/**
+	 * Looks up widgets in an index of widget tree which is kept up to date by SWT events
+	 * instead of traversing the whole widget tree on every lookup.
+	 */
+	USE_WIDGET_INDEX("rd.widgetIndex", false),
+
+	/**
+	 * Reuses first widgets found by previous lookups with the same parent and matchers
+	 * as long as they are valid and no other shell gets activated and no widget 
+	 * gets created or shown.
+	 */
+	CACHE_WIDGET_LOOKUP("rd.widgetLookupCache", false),
+
+	/**
+	 * Part of test classes executed by this Eclipse instance in format index/count, e.g. 1/4.
+	 * All test classes are executed if not set. Test classes of nested suites are flattened, 
+	 * so class-level fixtures of the suites are not executed.
+	 */
+	SHARD("rd.shard", (String) null),
+
+	/**
+	 * Way of distributing test classes among shards. Classes are distributed one by one 
+	 * if set to "roundrobin", or so the shards have similar estimated duration if set to "duration".
+	 */
+	SHARD_STRATEGY("rd.shardStrategy", "roundrobin", "roundrobin", "duration"),
+
+	/**
+	 * System property pointing to the file durations and outcomes of tests are stored to. 
+	 * Timings are not stored if not set.
+	 */
+	TEST_TIMINGS_FILE("rd.testTimings", (String) null),
+
+	/**
+	 * System property pointing to a read-only copy of the test timings file test classes 
+	 * are scheduled by. Shards sharing a timings file should use the same baseline so they 
+	 * split test classes the same way. The timings file itself is used if not set.
+	 */
+	TEST_TIMINGS_BASELINE("rd.testTimingsBaseline", (String) null),
+
+	/**
+	 * Order of test classes. Classes are run in declared order if set to "declared", the longest 
+	 * first if set to "longest" or the classes failed in the last run first if set to "failed". 
+	 * Unless set to "declared", test classes of nested suites are flattened, so class-level 
+	 * fixtures of the suites are not executed.
+	 */
+	TEST_ORDER("rd.testOrder", "declared", "declared", "longest", "failed");
 
 	private static final Logger log = Logger.getLogger(RedDeerProperties.class);
 
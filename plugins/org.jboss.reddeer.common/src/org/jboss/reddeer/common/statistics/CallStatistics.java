@@ -0,0 +1,119 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.statistics;
+
+/**
+ * Statistics of round trips to the UI thread made by one calling method. 
+ * Time spent waiting for the UI thread and time spent executing on it are
+ * recorded separately. 
+ */
+public class CallStatistics {
+
+	private final String caller;
+
+	private long syncCount;
+
+	private long asyncCount;
+
+	private final LatencyHistogram waitTimes = new LatencyHistogram();
+
+	private final LatencyHistogram executionTimes = new LatencyHistogram();
+
+	/**
+	 * Creates statistics for specified caller.
+	 * 
+	 * @param caller calling method, e.g. "ShellLookup#getActiveShell"
+	 */
+	public CallStatistics(String caller) {
+		this.caller = caller;
+	}
+
+	/**
+	 * Records one round trip to the UI thread.
+	 * 
+	 * @param sync true if the caller waited for the execution, false otherwise
+	 * @param waitNanos time between the call and start of the execution in nanoseconds
+	 * @param executionNanos duration of the execution in nanoseconds
+	 */
+	public synchronized void record(boolean sync, long waitNanos, long executionNanos) {
+		if (sync) {
+			syncCount++;
+		} else {
+			asyncCount++;
+		}
+		waitTimes.record(waitNanos);
+		executionTimes.record(executionNanos);
+	}
+
+	/**
+	 * Gets calling method.
+	 * 
+	 * @return calling method
+	 */
+	public String getCaller() {
+		return caller;
+	}
+
+	/**
+	 * Gets count of synchronous round trips.
+	 * 
+	 * @return count of synchronous round trips
+	 */
+	public synchronized long getSyncCount() {
+		return syncCount;
+	}
+
+	/**
+	 * Gets count of asynchronous round trips.
+	 * 
+	 * @return count of asynchronous round trips
+	 */
+	public synchronized long getAsyncCount() {
+		return asyncCount;
+	}
+
+	/**
+	 * Gets total time of all round trips, i.e. wait and execution time.
+	 * 
+	 * @return total time in nanoseconds
+	 */
+	public synchronized long getTotalTime() {
+		return waitTimes.getTotalValue() + executionTimes.getTotalValue();
+	}
+
+	/**
+	 * Gets copy of histogram of times spent waiting for the UI thread.
+	 * 
+	 * @return histogram of wait times
+	 */
+	public synchronized LatencyHistogram getWaitTimes() {
+		LatencyHistogram copy = new LatencyHistogram();
+		copy.add(waitTimes);
+		return copy;
+	}
+
+	/**
+	 * Gets copy of histogram of times spent executing on the UI thread.
+	 * 
+	 * @return histogram of execution times
+	 */
+	public synchronized LatencyHistogram getExecutionTimes() {
+		LatencyHistogram copy = new LatencyHistogram();
+		copy.add(executionTimes);
+		return copy;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return caller + ": sync=" + syncCount + " async=" + asyncCount + " wait[" + waitTimes.summary() 
+				+ "] exec[" + executionTimes.summary() + "]";
+	}
+}
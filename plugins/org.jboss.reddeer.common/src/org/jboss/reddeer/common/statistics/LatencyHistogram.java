@@ -0,0 +1,143 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.statistics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Histogram of latencies with logarithmic buckets. Each power of two is split
+ * into {@value #SUB_BUCKETS} linear sub-buckets, so recorded values are kept with 
+ * relative precision better than 13% in constant memory, regardless of their range.
+ * Histogram is not thread safe.
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 3;
+
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	private final long[] counts = new long[64 * SUB_BUCKETS];
+
+	private long totalCount;
+
+	private long totalValue;
+
+	private long maxValue;
+
+	/**
+	 * Records a value.
+	 * 
+	 * @param nanos latency in nanoseconds
+	 */
+	public void record(long nanos) {
+		long value = Math.max(0, nanos);
+		counts[bucketIndex(value)]++;
+		totalCount++;
+		totalValue += value;
+		maxValue = Math.max(maxValue, value);
+	}
+
+	/**
+	 * Adds all values recorded by another histogram.
+	 * 
+	 * @param histogram histogram to add
+	 */
+	public void add(LatencyHistogram histogram) {
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] += histogram.counts[i];
+		}
+		totalCount += histogram.totalCount;
+		totalValue += histogram.totalValue;
+		maxValue = Math.max(maxValue, histogram.maxValue);
+	}
+
+	/**
+	 * Gets count of recorded values.
+	 * 
+	 * @return count of recorded values
+	 */
+	public long getTotalCount() {
+		return totalCount;
+	}
+
+	/**
+	 * Gets sum of recorded values.
+	 * 
+	 * @return sum of recorded values in nanoseconds
+	 */
+	public long getTotalValue() {
+		return totalValue;
+	}
+
+	/**
+	 * Gets maximal recorded value.
+	 * 
+	 * @return maximal recorded value in nanoseconds
+	 */
+	public long getMaxValue() {
+		return maxValue;
+	}
+
+	/**
+	 * Gets value at specified percentile. Returned value is the upper bound 
+	 * of the bucket the percentile falls into.
+	 * 
+	 * @param percentile percentile between 0 and 100
+	 * @return value at specified percentile in nanoseconds, 0 if there are no values
+	 */
+	public long getValueAtPercentile(double percentile) {
+		if (totalCount == 0) {
+			return 0;
+		}
+		long countAtPercentile = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+		long cumulative = 0;
+		for (int i = 0; i < counts.length; i++) {
+			cumulative += counts[i];
+			if (cumulative >= countAtPercentile) {
+				return Math.min(bucketUpperBound(i), maxValue);
+			}
+		}
+		return maxValue;
+	}
+
+	/**
+	 * Gets summary of recorded values, e.g. "n=10 total=12.5ms p50=0.8ms p99=3.1ms max=3.2ms".
+	 * 
+	 * @return summary of recorded values
+	 */
+	public String summary() {
+		return "n=" + totalCount + " total=" + format(totalValue) + " p50=" + format(getValueAtPercentile(50))
+				+ " p99=" + format(getValueAtPercentile(99)) + " max=" + format(maxValue);
+	}
+
+	private static String format(long nanos) {
+		return String.format("%.1fms", (double) nanos / TimeUnit.MILLISECONDS.toNanos(1));
+	}
+
+	private static int bucketIndex(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int magnitude = 63 - Long.numberOfLeadingZeros(value);
+		int subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	private static long bucketUpperBound(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int magnitude = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		int subBucket = index % SUB_BUCKETS;
+		long lowerBound = (1L << magnitude) + ((long) subBucket << (magnitude - SUB_BUCKET_BITS));
+		return lowerBound + (1L << (magnitude - SUB_BUCKET_BITS)) - 1;
+	}
+}
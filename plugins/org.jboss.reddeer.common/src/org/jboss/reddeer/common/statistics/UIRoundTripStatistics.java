@@ -0,0 +1,118 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.statistics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jboss.reddeer.common.properties.RedDeerProperties;
+
+/**
+ * Collects statistics of round trips to the UI thread per calling method. 
+ * Collecting is enabled by system property rd.uiStatistics, when disabled
+ * nothing is recorded.
+ */
+public class UIRoundTripStatistics {
+
+	private static UIRoundTripStatistics instance;
+
+	private final ConcurrentMap<String, CallStatistics> statistics = new ConcurrentHashMap<String, CallStatistics>();
+
+	private volatile boolean enabled;
+
+	private UIRoundTripStatistics() {
+		enabled = RedDeerProperties.COLLECT_UI_STATISTICS.getBooleanValue();
+	}
+
+	/**
+	 * Gets instance of UIRoundTripStatistics.
+	 * 
+	 * @return instance of UIRoundTripStatistics
+	 */
+	public static synchronized UIRoundTripStatistics getInstance() {
+		if (instance == null) {
+			instance = new UIRoundTripStatistics();
+		}
+		return instance;
+	}
+
+	/**
+	 * Finds out whether statistics are collected.
+	 * 
+	 * @return true if statistics are collected, false otherwise
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Enables or disables collecting of statistics.
+	 * 
+	 * @param enabled true to collect statistics, false otherwise
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Records one round trip to the UI thread. Nothing is recorded if collecting
+	 * of statistics is disabled.
+	 * 
+	 * @param caller calling method
+	 * @param sync true if the caller waited for the execution, false otherwise
+	 * @param waitNanos time between the call and start of the execution in nanoseconds
+	 * @param executionNanos duration of the execution in nanoseconds
+	 */
+	public void record(String caller, boolean sync, long waitNanos, long executionNanos) {
+		if (!enabled) {
+			return;
+		}
+		CallStatistics callStatistics = statistics.get(caller);
+		if (callStatistics == null) {
+			CallStatistics newStatistics = new CallStatistics(caller);
+			callStatistics = statistics.putIfAbsent(caller, newStatistics);
+			if (callStatistics == null) {
+				callStatistics = newStatistics;
+			}
+		}
+		callStatistics.record(sync, waitNanos, executionNanos);
+	}
+
+	/**
+	 * Gets collected statistics sorted by total time spent in round trips, 
+	 * the most expensive callers first.
+	 * 
+	 * @return collected statistics
+	 */
+	public List<CallStatistics> getStatistics() {
+		List<CallStatistics> result = new ArrayList<CallStatistics>(statistics.values());
+		Collections.sort(result, new Comparator<CallStatistics>() {
+			@Override
+			public int compare(CallStatistics o1, CallStatistics o2) {
+				long t1 = o1.getTotalTime();
+				long t2 = o2.getTotalTime();
+				return t1 < t2 ? 1 : (t1 == t2 ? 0 : -1);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Discards all collected statistics.
+	 */
+	public void reset() {
+		statistics.clear();
+	}
+}
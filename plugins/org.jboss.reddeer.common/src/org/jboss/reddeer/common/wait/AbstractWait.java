@@ -10,13 +10,26 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.common.wait;
 
+import org.jboss.reddeer.common.condition.EventDrivenWaitCondition;
 import org.jboss.reddeer.common.condition.WaitCondition;
 import org.jboss.reddeer.common.exception.WaitTimeoutExpiredException;
 import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
 
 /**
  * Common ancestor for waiting classes. Contains abstract
  * {@link #stopWaiting(WaitCondition)} method that is called in the constructor.
+ * <p>
+ * Unless a test period is specified explicitly, wait condition is tested with
+ * an adaptive test period. It starts at {@link #INITIAL_TEST_PERIOD} 
+ * milliseconds and is doubled after each unsuccessful test up to the ceiling 
+ * defined by {@link RedDeerProperties#MAX_TEST_PERIOD} property. Conditions 
+ * which are met shortly after the wait started are therefore detected without
+ * sleeping for a whole second.
+ * <p>
+ * If the wait condition is an {@link EventDrivenWaitCondition}, the waiting
+ * thread parks until the condition signals a change instead of sleeping. 
+ * Test period is then used only as a fallback.
  * 
  * @author Vlado Pakan
  * @author Lucia Jelinkova
@@ -29,6 +42,11 @@ public abstract class AbstractWait {
 	 */
 	private static final Logger log = Logger.getLogger(AbstractWait.class);
 
+	/**
+	 * Initial test period in milliseconds used by adaptive polling.
+	 */
+	public static final long INITIAL_TEST_PERIOD = 5;
+
 	private TimePeriod timeout;
 
 	private boolean throwTimeoutException = true;
@@ -68,7 +86,10 @@ public abstract class AbstractWait {
 	 */
 	public AbstractWait(WaitCondition condition, TimePeriod timePeriod,
 			boolean throwRuntimeException) {
-		this(condition, timePeriod, throwRuntimeException, TimePeriod.SHORT);
+		checkArguments(condition, timePeriod);
+		this.timeout = timePeriod;
+		this.throwTimeoutException = throwRuntimeException;
+		wait(condition, INITIAL_TEST_PERIOD, getMaxTestPeriod());
 	}
 	
 	/**
@@ -87,18 +108,13 @@ public abstract class AbstractWait {
 	 */
 	public AbstractWait(WaitCondition condition, TimePeriod timePeriod, 
 			boolean throwRuntimeException, TimePeriod testPeriod) {
-		if(condition == null) {
-			throw new IllegalArgumentException("condition can't be null");
-		}
-		if(timePeriod == null) {
-			throw new IllegalArgumentException("timePeriod can't be null");
-		}
+		checkArguments(condition, timePeriod);
 		if (testPeriod == null) {
 			throw new IllegalArgumentException("testPeriod cannot be null.");
 		}
 		this.timeout = timePeriod;
 		this.throwTimeoutException = throwRuntimeException;
-		wait(condition, testPeriod);
+		wait(condition, testPeriod.getMilliseconds(), testPeriod.getMilliseconds());
 	}
 
 	/**
@@ -118,30 +134,80 @@ public abstract class AbstractWait {
 	 */
 	protected abstract String description();
 	
-	private void wait(WaitCondition condition, TimePeriod testPeriod) {
-		log.debug(this.description() + condition.description() + "...");
+	private void checkArguments(WaitCondition condition, TimePeriod timePeriod) {
+		if(condition == null) {
+			throw new IllegalArgumentException("condition can't be null");
+		}
+		if(timePeriod == null) {
+			throw new IllegalArgumentException("timePeriod can't be null");
+		}
+	}
+
+	private static long getMaxTestPeriod() {
+		long maxTestPeriod = Math.round((double) RedDeerProperties.MAX_TEST_PERIOD.getFloatValue());
+		return Math.max(INITIAL_TEST_PERIOD, maxTestPeriod);
+	}
+
+	/*
+	 * Tests the wait condition until waiting should stop or timeout expires.
+	 * Test period starts at initialTestPeriod and is doubled after each 
+	 * unsuccessful test up to maxTestPeriod. Equal values result in a fixed
+	 * test period.
+	 */
+	private void wait(WaitCondition condition, long initialTestPeriod, long maxTestPeriod) {
+		if (log.isDebugEnabled()) {
+			log.debug(this.description() + condition.description() + "...");
+		}
 		
+		long timeoutMillis = getTimeout().getMilliseconds();
 		long limit;
-		if((Long.MAX_VALUE - System.currentTimeMillis()) / 1000 > getTimeout().getSeconds()){
-			limit = System.currentTimeMillis() + getTimeout().getSeconds() * 1000;
+		if(Long.MAX_VALUE - System.currentTimeMillis() > timeoutMillis){
+			limit = System.currentTimeMillis() + timeoutMillis;
 		} else {
 			limit = Long.MAX_VALUE;
 		}
 
-		while (true) {
-			if (stopWaiting(condition)){
-				break;
+		EventDrivenWaitCondition eventCondition = null;
+		long testPeriod = initialTestPeriod;
+		try {
+			while (true) {
+				if (stopWaiting(condition)){
+					break;
+				}
+				
+				if (timeoutExceeded(condition, limit)){
+					return;
+				}
+				
+				if (eventCondition == null && condition instanceof EventDrivenWaitCondition) {
+					// state could change before listeners were registered, test it again
+					eventCondition = (EventDrivenWaitCondition) condition;
+					eventCondition.startListening();
+					continue;
+				}
+				
+				// do not oversleep the timeout, test the condition once more instead
+				long remaining = limit - System.currentTimeMillis() + 1;
+				long period = Math.max(0, Math.min(testPeriod, remaining));
+				if (eventCondition != null) {
+					awaitChange(eventCondition, period);
+				} else {
+					sleep(period);
+				}
+				if (testPeriod < maxTestPeriod) {
+					testPeriod = Math.min(testPeriod * 2, maxTestPeriod);
+				}
 			}
-			
-			if (timeoutExceeded(condition, limit)){
-				return;
+		} finally {
+			if (eventCondition != null) {
+				eventCondition.stopListening();
 			}
-			
-			sleep(testPeriod);
 		}
 		
-		log.debug(this.description() + condition.description()
-				+ " finished successfully");
+		if (log.isDebugEnabled()) {
+			log.debug(this.description() + condition.description()
+					+ " finished successfully");
+		}
 	}
 
 	/**
@@ -169,8 +235,20 @@ public abstract class AbstractWait {
 	 * @param timePeriod time period to sleep
 	 */
 	public static void sleep(TimePeriod timePeriod) {
+		sleep(timePeriod.getMilliseconds());
+	}
+
+	private static void sleep(long milliseconds) {
 		try {
-			Thread.sleep(timePeriod.getSeconds() * 1000);
+			Thread.sleep(milliseconds);
+		} catch (InterruptedException e) {
+			throw new RuntimeException("Sleep interrupted", e);
+		}
+	}
+
+	private static void awaitChange(EventDrivenWaitCondition condition, long milliseconds) {
+		try {
+			condition.awaitChange(milliseconds);
 		} catch (InterruptedException e) {
 			throw new RuntimeException("Sleep interrupted", e);
 		}
@@ -181,7 +259,7 @@ public abstract class AbstractWait {
 			if (throwTimeoutException()) {
 				log.debug(this.description()  + condition.description() + " failed, an exception will be thrown");
 				throw new WaitTimeoutExpiredException("Timeout after: "
-						+ timeout.getSeconds() + " s.: " + condition.errorMessage());
+						+ formatTimeout() + ": " + condition.errorMessage());
 			} else {
 				log.debug(this.description()  + condition.description() + " failed, NO exception will be thrown");
 				return true;
@@ -189,4 +267,12 @@ public abstract class AbstractWait {
 		}
 		return false;
 	}
-}
\ No newline at end of file
+
+	private String formatTimeout() {
+		long milliseconds = timeout.getMilliseconds();
+		if (milliseconds < 1000) {
+			return milliseconds + " ms.";
+		}
+		return timeout.getSeconds() + " s.";
+	}
+}
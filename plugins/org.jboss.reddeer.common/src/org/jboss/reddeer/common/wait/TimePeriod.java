@@ -16,6 +16,8 @@ import org.jboss.reddeer.common.properties.RedDeerProperties;
  * Represents the time period for how long the user operation might last. 
  * Predefined values should cover most of the use cases. There is also a 
  * possibility to define own time period - see {@link #getCustom(long)} method. 
+ * Time periods shorter than a second can be defined by 
+ * {@link #getCustomMilliseconds(long)} method.
  * 
  * @author Lucia Jelinkova
  *
@@ -44,8 +46,21 @@ public class TimePeriod {
 
 	private long seconds;
 
+	private long milliseconds;
+
 	private TimePeriod(long seconds) {
 		this.seconds = seconds;
+		// do not exceed max value of Long
+		if (seconds >= Long.MAX_VALUE / 1000) {
+			this.milliseconds = Long.MAX_VALUE;
+		} else {
+			this.milliseconds = seconds * 1000;
+		}
+	}
+
+	private TimePeriod(long seconds, long milliseconds) {
+		this.seconds = seconds;
+		this.milliseconds = milliseconds;
 	}
 
 	/**
@@ -70,6 +85,28 @@ public class TimePeriod {
 		}
 	}
 
+	/**
+	 * Gets duration of a time period in milliseconds.
+	 * 
+	 * @return duration of time period in milliseconds
+	 */
+	public long getMilliseconds() {
+		if (milliseconds == Long.MAX_VALUE || milliseconds == 0) {
+			return milliseconds;
+		}
+
+		if (FACTOR == 1) {
+			return milliseconds;
+		}
+
+		// do not exceed max value of Long
+		if (milliseconds >= Long.MAX_VALUE / FACTOR) {
+			return Long.MAX_VALUE;
+		} else {
+			return Math.round((double) milliseconds * FACTOR);
+		}
+	}
+
 	/**
 	 * Gets custom duration of a time period specified by seconds.
 	 * 
@@ -83,11 +120,27 @@ public class TimePeriod {
 		return new TimePeriod(seconds);
 	}
 
+	/**
+	 * Gets custom duration of a time period specified by milliseconds.
+	 * 
+	 * @param milliseconds how many milliseconds should time period last
+	 * @return time period with custom time frame in milliseconds
+	 */
+	public static TimePeriod getCustomMilliseconds(long milliseconds) {
+		if (milliseconds < 0) {
+			throw new IllegalArgumentException("Time in milliseconds has to be positive number");
+		}
+		return new TimePeriod(Math.round(milliseconds / 1000d), milliseconds);
+	}
+
 	/* (non-Javadoc)
 	 * @see java.lang.Object#toString()
 	 */
 	@Override
 	public String toString() {
+		if (milliseconds % 1000 != 0) {
+			return "Time period " + milliseconds + " ms (factor " + FACTOR + " was used).";
+		}
 		return "Time period " + seconds + " s (factor " + FACTOR + " was used).";
 	}
 	
@@ -0,0 +1,83 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.condition;
+
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.jboss.reddeer.common.condition.AbstractEventDrivenWaitCondition;
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.core.exception.CoreLayerException;
+import org.jboss.reddeer.core.util.Display;
+
+/**
+ * Event driven wait condition which is signalled by SWT events of specified
+ * types. Listener is registered as a display filter so it is notified about
+ * events of all widgets.
+ */
+public abstract class AbstractDisplayEventWaitCondition extends AbstractEventDrivenWaitCondition {
+
+	private static final Logger log = Logger.getLogger(AbstractDisplayEventWaitCondition.class);
+
+	private final int[] eventTypes;
+
+	private final Listener listener = new Listener() {
+
+		@Override
+		public void handleEvent(Event event) {
+			signalChange();
+		}
+	};
+
+	/**
+	 * Constructs condition signalled by SWT events of specified types.
+	 * 
+	 * @param eventTypes SWT event types, e.g. SWT.Activate, SWT.Dispose
+	 */
+	protected AbstractDisplayEventWaitCondition(int... eventTypes) {
+		this.eventTypes = eventTypes.clone();
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.condition.AbstractEventDrivenWaitCondition#registerListeners()
+	 */
+	@Override
+	protected void registerListeners() {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				for (int eventType : eventTypes) {
+					Display.getDisplay().addFilter(eventType, listener);
+				}
+			}
+		});
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.condition.AbstractEventDrivenWaitCondition#unregisterListeners()
+	 */
+	@Override
+	protected void unregisterListeners() {
+		try {
+			Display.syncExec(new Runnable() {
+
+				@Override
+				public void run() {
+					for (int eventType : eventTypes) {
+						Display.getDisplay().removeFilter(eventType, listener);
+					}
+				}
+			});
+		} catch (CoreLayerException e) {
+			log.debug("Unable to remove display filter, display is not available anymore");
+		}
+	}
+}
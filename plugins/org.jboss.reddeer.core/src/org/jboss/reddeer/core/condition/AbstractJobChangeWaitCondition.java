@@ -0,0 +1,67 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.condition;
+
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.jboss.reddeer.common.condition.AbstractEventDrivenWaitCondition;
+
+/**
+ * Event driven wait condition which is signalled whenever a job is scheduled,
+ * starts running, is put to sleep, woken up or is done.
+ */
+public abstract class AbstractJobChangeWaitCondition extends AbstractEventDrivenWaitCondition {
+
+	private final JobChangeAdapter listener = new JobChangeAdapter() {
+
+		@Override
+		public void scheduled(IJobChangeEvent event) {
+			signalChange();
+		}
+
+		@Override
+		public void running(IJobChangeEvent event) {
+			signalChange();
+		}
+
+		@Override
+		public void sleeping(IJobChangeEvent event) {
+			signalChange();
+		}
+
+		@Override
+		public void awake(IJobChangeEvent event) {
+			signalChange();
+		}
+
+		@Override
+		public void done(IJobChangeEvent event) {
+			signalChange();
+		}
+	};
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.condition.AbstractEventDrivenWaitCondition#registerListeners()
+	 */
+	@Override
+	protected void registerListeners() {
+		Job.getJobManager().addJobChangeListener(listener);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.condition.AbstractEventDrivenWaitCondition#unregisterListeners()
+	 */
+	@Override
+	protected void unregisterListeners() {
+		Job.getJobManager().removeJobChangeListener(listener);
+	}
+}
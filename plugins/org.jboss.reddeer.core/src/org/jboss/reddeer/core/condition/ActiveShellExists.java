@@ -10,7 +10,7 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.core.condition;
 
-import org.jboss.reddeer.common.condition.AbstractWaitCondition;
+import org.eclipse.swt.SWT;
 import org.jboss.reddeer.core.lookup.ShellLookup;
 
 /**
@@ -20,7 +20,15 @@ import org.jboss.reddeer.core.lookup.ShellLookup;
  * @since 0.8.0
  */
 
-public class ActiveShellExists extends AbstractWaitCondition {
+public class ActiveShellExists extends AbstractDisplayEventWaitCondition {
+
+	/**
+	 * Constructs ActiveShellExists wait condition. Condition is met when
+	 * there is an active shell.
+	 */
+	public ActiveShellExists() {
+		super(SWT.Activate, SWT.Deactivate, SWT.Dispose);
+	}
 
 	/* (non-Javadoc)
 	 * @see org.jboss.reddeer.common.condition.WaitCondition#test()
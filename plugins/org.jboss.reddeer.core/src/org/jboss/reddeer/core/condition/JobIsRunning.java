@@ -10,26 +10,33 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.core.condition;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.eclipse.core.runtime.jobs.Job;
 import org.hamcrest.CoreMatchers;
 import org.hamcrest.Matcher;
-import org.jboss.reddeer.common.condition.AbstractWaitCondition;
 import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.core.util.JobTracker;
 
 /**
  * Condition is met when there is/are running non-system job(s).
- * List of jobs can be filtered using matchers.
+ * List of jobs can be filtered using matchers. Waiting for the condition
+ * is woken up by job change events. Active jobs are obtained from 
+ * {@link JobTracker}.
  * 
  * @author Lucia Jelinkova
  */
 @SuppressWarnings("rawtypes")
-public class JobIsRunning extends AbstractWaitCondition {
+public class JobIsRunning extends AbstractJobChangeWaitCondition {
 	private static final Logger log = Logger.getLogger(JobIsRunning.class);
 
 	private Matcher[] consideredJobs;
 	private Matcher[] excludeJobs;
 	private boolean skipSystemJobs;
-	private Job[] currentJobs;
+	private List<Job> currentJobs;
+	private Map<String, Boolean> consideredJobNames = new HashMap<String, Boolean>();
 
 	/**
 	 * Constructs JobIsRunning wait condition. Condition is met when job is running.
@@ -95,18 +102,12 @@ public class JobIsRunning extends AbstractWaitCondition {
 	/* (non-Javadoc)
 	 * @see org.jboss.reddeer.common.condition.WaitCondition#test()
 	 */
-	@SuppressWarnings("unchecked")
 	@Override
 	public boolean test() {
-		currentJobs = Job.getJobManager().find(null);
+		currentJobs = JobTracker.getInstance().getActiveJobs();
 		for (Job job: currentJobs) {
-			if (excludeJobs != null && CoreMatchers.anyOf(excludeJobs).matches(job.getName())) {
-				log.debug("  job '%s' specified by excludeJobs matchers, skipped", job.getName());
-				continue;
-			}
-
-			if (consideredJobs != null && !CoreMatchers.anyOf(consideredJobs).matches(job.getName())) {
-				log.debug("  job '%s' is not listed in considered jobs, ignore it", job.getName());
+			if (!isConsidered(job.getName())) {
+				log.debug("  job '%s' is excluded or not listed in considered jobs, skipped", job.getName());
 				continue;
 			}
 
@@ -114,11 +115,6 @@ public class JobIsRunning extends AbstractWaitCondition {
 				log.debug("  job '%s' is a system job, skipped", job.getName());
 				continue;
 			}
-			
-			if (job.getState() == Job.SLEEPING) {
-				log.debug("  job '%s' is not running, skipped", job.getName());
-				continue;
-			}
 
 			/* there's no reason why this one should be ignored, lets wait... */
 			log.debug("  job '%s' has no excuses, wait for it", job.getName());
@@ -139,14 +135,14 @@ public class JobIsRunning extends AbstractWaitCondition {
 	/* (non-Javadoc)
 	 * @see org.jboss.reddeer.common.condition.AbstractWaitCondition#errorMessage()
 	 */
-	@SuppressWarnings("unchecked")
 	@Override
 	public String errorMessage() {
 		StringBuilder msg = new StringBuilder("The following jobs are still running\n");
+		if (currentJobs == null) {
+			return msg.toString();
+		}
 		for (Job job: currentJobs) {
-			if (excludeJobs != null && CoreMatchers.anyOf(excludeJobs).matches(job.getName()))
-				continue;
-			if (consideredJobs != null && !CoreMatchers.anyOf(consideredJobs).matches(job.getName()))
+			if (!isConsidered(job.getName()))
 				continue;
 			if (skipSystemJobs && job.isSystem()) 
 				continue;
@@ -156,4 +152,19 @@ public class JobIsRunning extends AbstractWaitCondition {
 		}
 		return msg.toString();
 	}
+
+	/**
+	 * Finds out whether job with specified name is matched by considered jobs 
+	 * matchers and not matched by exclude jobs matchers. Result is cached per job name.
+	 */
+	@SuppressWarnings("unchecked")
+	private boolean isConsidered(String jobName) {
+		Boolean considered = consideredJobNames.get(jobName);
+		if (considered == null) {
+			considered = (excludeJobs == null || !CoreMatchers.anyOf(excludeJobs).matches(jobName))
+					&& (consideredJobs == null || CoreMatchers.anyOf(consideredJobs).matches(jobName));
+			consideredJobNames.put(jobName, considered);
+		}
+		return considered;
+	}
 }
@@ -10,10 +10,10 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.core.condition;
 
-import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.SWT;
 import org.hamcrest.Matcher;
-import org.jboss.reddeer.common.condition.AbstractWaitCondition;
 import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.wait.TimePeriod;
 import org.jboss.reddeer.core.lookup.ShellLookup;
 import org.jboss.reddeer.core.util.InstanceValidator;
 
@@ -23,7 +23,7 @@ import org.jboss.reddeer.core.util.InstanceValidator;
  * @author mlabuda@redhat.com
  *
  */
-public class ShellMatchingMatcherIsAvailable extends AbstractWaitCondition {
+public class ShellMatchingMatcherIsAvailable extends AbstractDisplayEventWaitCondition {
 
 	private Matcher<String> matcher;
 	private Logger logger = Logger.getLogger(ShellMatchingMatcherIsAvailable.class);
@@ -33,6 +33,7 @@ public class ShellMatchingMatcherIsAvailable extends AbstractWaitCondition {
 	 * @param matcher matcher to match shell title
 	 */
 	public ShellMatchingMatcherIsAvailable(Matcher<String> matcher) {
+		super(SWT.Show, SWT.Hide, SWT.Dispose);
 		InstanceValidator.checkNotNull(matcher, "matcher");
 		this.matcher = matcher;
 	}
@@ -43,13 +44,7 @@ public class ShellMatchingMatcherIsAvailable extends AbstractWaitCondition {
 	@Override
 	public boolean test() {
 		logger.debug("Looking for shell with title matching matcher");
-		Shell[] availableShells = ShellLookup.getInstance().getShells();
-		for (Shell shell: availableShells) { 
-			if (matcher.matches(shell)) {
-				return true;
-			}
-		}
-		return false;
+		return ShellLookup.getInstance().getShell(matcher, TimePeriod.NONE) != null;
 	}
 
 	/* (non-Javadoc)
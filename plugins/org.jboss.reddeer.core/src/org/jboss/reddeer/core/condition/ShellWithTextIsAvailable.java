@@ -10,9 +10,9 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.core.condition;
 
+import org.eclipse.swt.SWT;
 import org.eclipse.swt.widgets.Shell;
 import org.hamcrest.Matcher;
-import org.jboss.reddeer.common.condition.AbstractWaitCondition;
 import org.jboss.reddeer.common.logging.Logger;
 import org.jboss.reddeer.common.wait.TimePeriod;
 import org.jboss.reddeer.core.lookup.ShellLookup;
@@ -25,7 +25,7 @@ import org.jboss.reddeer.core.util.InstanceValidator;
  * @author Andrej Podhradsky (andrej.podhradsky@gmail.com)
  * @author jniederm
  */
-public class ShellWithTextIsAvailable extends AbstractWaitCondition { 
+public class ShellWithTextIsAvailable extends AbstractDisplayEventWaitCondition { 
 	private Matcher<String> matcher;
 	private static final Logger log = Logger.getLogger(ShellWithTextIsAvailable.class);
 
@@ -36,6 +36,7 @@ public class ShellWithTextIsAvailable extends AbstractWaitCondition {
 	 * @param title the title
 	 */
 	public ShellWithTextIsAvailable(String title) {
+		super(SWT.Show, SWT.Hide, SWT.Dispose);
 		InstanceValidator.checkNotNull(title, "title");
 		this.matcher = new WithTextMatcher(title);
 	}
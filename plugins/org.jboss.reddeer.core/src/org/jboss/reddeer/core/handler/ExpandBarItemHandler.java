@@ -59,7 +59,9 @@ public class ExpandBarItemHandler {
 	 */
 	public static void expand(TimePeriod timePeriod,
 			final ExpandItem expandItem) {
-		logger.debug("Expand Expand Bar Item " + WidgetHandler.getInstance().getText(expandItem));
+		if (logger.isDebugEnabled()) {
+			logger.debug("Expand Expand Bar Item " + WidgetHandler.getInstance().getText(expandItem));
+		}
 		if (!ExpandBarItemHandler.getInstance().isExpanded(expandItem)) {
 			ExpandBarItemHandler.notifyExpandBar(ExpandBarItemHandler
 					.createEventForExpandBar(SWT.Expand, expandItem),
@@ -71,11 +73,15 @@ public class ExpandBarItemHandler {
 				}
 			});
 			AbstractWait.sleep(timePeriod);
-			logger.info("Expand Bar Item " + WidgetHandler.getInstance().getText(expandItem)
-					+ " has been expanded");
+			if (logger.isInfoEnabled()) {
+				logger.info("Expand Bar Item " + WidgetHandler.getInstance().getText(expandItem)
+						+ " has been expanded");
+			}
 		} else {
-			logger.debug("Expand Bar Item " + WidgetHandler.getInstance().getText(expandItem)
-					+ " is already expanded. No action performed");
+			if (logger.isDebugEnabled()) {
+				logger.debug("Expand Bar Item " + WidgetHandler.getInstance().getText(expandItem)
+						+ " is already expanded. No action performed");
+			}
 		}
 	}
 
@@ -85,7 +91,9 @@ public class ExpandBarItemHandler {
 	 * @param expandItem expand item to handle
 	 */
 	public static void collapse(final ExpandItem expandItem) {
-		logger.debug("Collapse Expand Bar Item " + WidgetHandler.getInstance().getText(expandItem));
+		if (logger.isDebugEnabled()) {
+			logger.debug("Collapse Expand Bar Item " + WidgetHandler.getInstance().getText(expandItem));
+		}
 		if (ExpandBarItemHandler.getInstance().isExpanded(expandItem)) {
 			Display.syncExec(new Runnable() {
 				@Override
@@ -96,11 +104,15 @@ public class ExpandBarItemHandler {
 			ExpandBarItemHandler.notifyExpandBar(ExpandBarItemHandler
 					.createEventForExpandBar(SWT.Collapse, expandItem),
 					expandItem);
-			logger.info("Expand Bar Item " + WidgetHandler.getInstance().getText(expandItem)
-					+ " has been collapsed");
+			if (logger.isInfoEnabled()) {
+				logger.info("Expand Bar Item " + WidgetHandler.getInstance().getText(expandItem)
+						+ " has been collapsed");
+			}
 		} else {
-			logger.debug("Expand Bar Item " + WidgetHandler.getInstance().getText(expandItem)
-					+ " is already collapsed. No action performed");
+			if (logger.isDebugEnabled()) {
+				logger.debug("Expand Bar Item " + WidgetHandler.getInstance().getText(expandItem)
+						+ " is already collapsed. No action performed");
+			}
 		}
 	}
 
@@ -162,7 +162,7 @@ public class ShellHandler {
 	public void closeAllNonWorbenchShells(IBeforeShellIsClosed beforeShellIsClosed) {
 		log.info("Closing all shells...");
 		List<Shell> shells = getNonWorbenchShellsToClose();
-		long timeOut = System.currentTimeMillis() + (TimePeriod.VERY_LONG.getSeconds() * 1000);
+		long timeOut = System.currentTimeMillis() + TimePeriod.VERY_LONG.getMilliseconds();
 		do {
 			// first try to close active shell and reload shells list
 			Shell s = getFilteredActiveShell(shells);
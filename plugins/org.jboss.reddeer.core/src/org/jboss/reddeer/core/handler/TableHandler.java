@@ -132,23 +132,79 @@ public class TableHandler {
 	 */
 	public int indexOf(final Table table, final String item,
 			final int columnIndex) {
-		final TableItem[] tableItems = getSWTItems(table);
+		int index = snapshot(table, columnIndex).indexOf(item, columnIndex);
+		if (index < 0) {
+			throw new CoreLayerException("Item " + item + " does not exist in table");
+		}
+		return index;
+	}
 
-		for (int i = 0; i < tableItems.length; i++) {
-			final int y = i;
-			String itemText = Display.syncExec(new ResultRunnable<String>() {
+	/**
+	 * Takes snapshot of texts of specified columns and of checked, selected and grayed 
+	 * state of all rows of specified {@link Table} in a single UI round trip. 
+	 * All columns are captured if no column is specified.
+	 * 
+	 * @param table table to handle
+	 * @param columns indices of columns to capture
+	 * @return snapshot of rows of specified table
+	 */
+	public TableSnapshot snapshot(final Table table, final int... columns) {
+		return snapshot(table, 0, -1, columns);
+	}
 
-				@Override
-				public String run() {
-					return tableItems[y].getText(columnIndex);
-				}
-			});
+	/**
+	 * Takes snapshot of texts of specified columns and of checked, selected and grayed 
+	 * state of rows in specified range of specified {@link Table} in a single UI round trip. 
+	 * Only items in the range are created, so items of a virtual table out of the range 
+	 * are not populated. All columns are captured if no column is specified. Indices of 
+	 * rows in the snapshot are relative to the beginning of the range.
+	 * 
+	 * @param table table to handle
+	 * @param from index of the first row of the range
+	 * @param count maximal count of rows in the range
+	 * @param columns indices of columns to capture
+	 * @return snapshot of rows in the range
+	 */
+	public TableSnapshot snapshotRange(final Table table, final int from, final int count, 
+			final int... columns) {
+		return snapshot(table, from, count, columns);
+	}
 
-			if (itemText.equals(item)) {
-				return y;
+	private TableSnapshot snapshot(final Table table, final int from, final int count, 
+			final int[] columns) {
+		return Display.syncExec(new ResultRunnable<TableSnapshot>() {
+
+			@Override
+			public TableSnapshot run() {
+				TableItem[] items = count < 0 ? table.getItems() : getItems(table, from, count);
+				int columnCount = Math.max(1, table.getColumnCount());
+				String[][] texts = new String[items.length][columnCount];
+				boolean[] checked = new boolean[items.length];
+				boolean[] selected = new boolean[items.length];
+				boolean[] grayed = new boolean[items.length];
+				for (int index : table.getSelectionIndices()) {
+					if (index >= from && index - from < items.length) {
+						selected[index - from] = true;
+					}
+				}
+				for (int i = 0; i < items.length; i++) {
+					if (columns.length == 0) {
+						for (int column = 0; column < columnCount; column++) {
+							texts[i][column] = items[i].getText(column);
+						}
+					} else {
+						for (int column : columns) {
+							if (column >= 0 && column < columnCount) {
+								texts[i][column] = items[i].getText(column);
+							}
+						}
+					}
+					checked[i] = items[i].getChecked();
+					grayed[i] = items[i].getGrayed();
+				}
+				return new TableSnapshot(items, texts, checked, selected, grayed, columnCount);
 			}
-		}
-		throw new CoreLayerException("Item " + item + " does not exist in table");
+		});
 	}
 
 	/**
@@ -252,6 +308,35 @@ public class TableHandler {
 		});
 	}
 
+	/**
+	 * Gets {@link TableItem}s in specified range from specified {@link Table}. 
+	 * Only items in the range are created, so items of a virtual table out of 
+	 * the range are not populated.
+	 * 
+	 * @param table table to handle
+	 * @param from index of the first item of the range
+	 * @param count maximal count of items in the range
+	 * @return table items in the range
+	 */
+	public TableItem[] getSWTItems(final Table table, final int from, final int count) {
+		return Display.syncExec(new ResultRunnable<TableItem[]>() {
+
+			@Override
+			public TableItem[] run() {
+				return getItems(table, from, count);
+			}
+		});
+	}
+
+	private static TableItem[] getItems(Table table, int from, int count) {
+		int to = Math.min(table.getItemCount(), from + count);
+		TableItem[] items = new TableItem[Math.max(0, to - from)];
+		for (int i = 0; i < items.length; i++) {
+			items[i] = table.getItem(from + i);
+		}
+		return items;
+	}
+
 	/**
 	 * Gets {@link TableItem} from the position specified by index from
 	 * specified {@link Table}.
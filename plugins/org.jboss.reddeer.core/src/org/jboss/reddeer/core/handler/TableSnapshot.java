@@ -0,0 +1,129 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.handler;
+
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableItem;
+import org.jboss.reddeer.core.exception.CoreLayerException;
+
+/**
+ * Immutable snapshot of rows of a {@link Table}. Snapshot contains texts of captured 
+ * columns and checked, selected and grayed state of each row at the time it was taken.
+ * Snapshot is taken by {@link TableHandler#snapshot(Table, int...)}.
+ */
+public class TableSnapshot {
+
+	private final TableItem[] items;
+
+	private final String[][] texts;
+
+	private final boolean[] checked;
+
+	private final boolean[] selected;
+
+	private final boolean[] grayed;
+
+	private final int columnCount;
+
+	TableSnapshot(TableItem[] items, String[][] texts, boolean[] checked, boolean[] selected, 
+			boolean[] grayed, int columnCount) {
+		this.items = items;
+		this.texts = texts;
+		this.checked = checked;
+		this.selected = selected;
+		this.grayed = grayed;
+		this.columnCount = columnCount;
+	}
+
+	/**
+	 * Gets count of rows in the snapshot.
+	 * 
+	 * @return count of rows
+	 */
+	public int getRowCount() {
+		return items.length;
+	}
+
+	/**
+	 * Gets table item of the row specified by index.
+	 * 
+	 * @param row index of row
+	 * @return table item of the row
+	 */
+	public TableItem getItem(int row) {
+		return items[row];
+	}
+
+	/**
+	 * Gets text of the row in the column specified by index. Text of a column 
+	 * out of range of table columns is empty as it is in SWT.
+	 * 
+	 * @param row index of row
+	 * @param column index of column
+	 * @return text of the row in the column
+	 */
+	public String getText(int row, int column) {
+		if (column < 0 || column >= columnCount) {
+			return "";
+		}
+		String text = texts[row][column];
+		if (text == null) {
+			throw new CoreLayerException("Column " + column + " was not captured in table snapshot");
+		}
+		return text;
+	}
+
+	/**
+	 * Finds out whether the row specified by index is checked.
+	 * 
+	 * @param row index of row
+	 * @return true if the row is checked, false otherwise
+	 */
+	public boolean isChecked(int row) {
+		return checked[row];
+	}
+
+	/**
+	 * Finds out whether the row specified by index is selected.
+	 * 
+	 * @param row index of row
+	 * @return true if the row is selected, false otherwise
+	 */
+	public boolean isSelected(int row) {
+		return selected[row];
+	}
+
+	/**
+	 * Finds out whether the row specified by index is grayed.
+	 * 
+	 * @param row index of row
+	 * @return true if the row is grayed, false otherwise
+	 */
+	public boolean isGrayed(int row) {
+		return grayed[row];
+	}
+
+	/**
+	 * Finds out index of the first row with specified text in the column specified by index.
+	 * 
+	 * @param text text of row
+	 * @param column index of column
+	 * @return index of the row or -1 if there is no such row
+	 */
+	public int indexOf(String text, int column) {
+		for (int i = 0; i < items.length; i++) {
+			if (getText(i, column).equals(text)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
@@ -65,6 +65,46 @@ public class TreeHandler {
 		});
 	}
 
+	/**
+	 * Gets count of top level items of specified {@link org.eclipse.swt.widgets.Tree}.
+	 * 
+	 * @param swtTree tree to handle
+	 * @return count of top level items
+	 */
+	public int getItemCount(final org.eclipse.swt.widgets.Tree swtTree) {
+		return Display.syncExec(new ResultRunnable<Integer>() {
+			@Override
+			public Integer run() {
+				return swtTree.getItemCount();
+			}
+		});
+	}
+
+	/**
+	 * Gets top level items in specified range of specified {@link org.eclipse.swt.widgets.Tree}.
+	 * Only items in the range are created, so items of a virtual tree out of the range
+	 * are not populated.
+	 * 
+	 * @param swtTree tree to handle
+	 * @param from index of the first item of the range
+	 * @param count maximal count of items in the range
+	 * @return top level items in the range
+	 */
+	public List<org.eclipse.swt.widgets.TreeItem> getSWTItems(final org.eclipse.swt.widgets.Tree swtTree,
+			final int from, final int count) {
+		return Display.syncExec(new ResultRunnable<List<org.eclipse.swt.widgets.TreeItem>>() {
+			@Override
+			public List<org.eclipse.swt.widgets.TreeItem> run() {
+				int to = Math.min(swtTree.getItemCount(), from + count);
+				List<org.eclipse.swt.widgets.TreeItem> items = new ArrayList<org.eclipse.swt.widgets.TreeItem>();
+				for (int i = from; i < to; i++) {
+					items.add(swtTree.getItem(i));
+				}
+				return items;
+			}
+		});
+	}
+
 	/**
 	 * Sets focus on specified {@link org.eclipse.swt.widgets.Tree}.
 	 * 
@@ -10,6 +10,7 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.core.handler;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
@@ -149,7 +150,9 @@ public class TreeItemHandler {
 		TreeHandler.getInstance().notifySelect(swtTree);
 		logger.debug("Selected Tree Items:");
 		for (TreeItem treeItem : selection) {
-			logger.debug("  " + WidgetHandler.getInstance().getText(treeItem));
+			if (logger.isDebugEnabled()) {
+				logger.debug("  " + WidgetHandler.getInstance().getText(treeItem));
+			}
 		}
 	}
 	
@@ -167,11 +170,15 @@ public class TreeItemHandler {
 				swtTreeItem.getParent().setSelection(swtTreeItem);
 			}
 		});
-		logger.debug("Notify tree item "
-				+ WidgetHandler.getInstance().getText(swtTreeItem)
-				+ " about selection");
+		if (logger.isDebugEnabled()) {
+			logger.debug("Notify tree item "
+					+ WidgetHandler.getInstance().getText(swtTreeItem)
+					+ " about selection");
+		}
 		TreeHandler.getInstance().notifyTree(swtTreeItem, TreeHandler.getInstance().createEventForTree(swtTreeItem, SWT.Selection));
-		logger.info("Selected tree item: " + WidgetHandler.getInstance().getText(swtTreeItem));
+		if (logger.isInfoEnabled()) {
+			logger.info("Selected tree item: " + WidgetHandler.getInstance().getText(swtTreeItem));
+		}
 	}
 	
 	/**
@@ -183,9 +190,20 @@ public class TreeItemHandler {
 	 */
 	public TreeItem getItem(final TreeItem swtTreeItem,
 			final String text) {
-		logger.debug("Get child tree item " + text + " of tree item "
-				+ WidgetHandler.getInstance().getText(swtTreeItem));
-		expand(swtTreeItem);
+		if (logger.isDebugEnabled()) {
+			logger.debug("Get child tree item " + text + " of tree item "
+					+ WidgetHandler.getInstance().getText(swtTreeItem));
+		}
+		TreeItem[] children = Display.batch(new ResultRunnable<TreeItem[]>() {
+			@Override
+			public TreeItem[] run() {
+				return expandUI(swtTreeItem);
+			}
+		});
+		if (children.length == 0) {
+			// children are populated lazily, wait for them
+			expand(swtTreeItem);
+		}
 		TreeItem result = Display.syncExec(new ResultRunnable<TreeItem>() {
 			@Override
 			public TreeItem run() {
@@ -237,6 +255,65 @@ public class TreeItemHandler {
 		});
 	}
 	
+	/**
+	 * Gets count of children items of specified {@link TreeItem}.
+	 * 
+	 * @param swtTreeItem tree item to handle
+	 * @return count of children items
+	 */
+	public int getItemCount(final TreeItem swtTreeItem) {
+		return Display.syncExec(new ResultRunnable<Integer>() {
+			@Override
+			public Integer run() {
+				return swtTreeItem.getItemCount();
+			}
+		});
+	}
+
+	/**
+	 * Gets children items in specified range of specified {@link TreeItem}. Tree item 
+	 * is not expanded. Only items in the range are created, so items of a virtual tree 
+	 * out of the range are not populated.
+	 * 
+	 * @param swtTreeItem tree item to handle
+	 * @param from index of the first item of the range
+	 * @param count maximal count of items in the range
+	 * @return children items in the range
+	 */
+	public List<TreeItem> getChildrenItems(final TreeItem swtTreeItem, final int from, final int count) {
+		return Display.syncExec(new ResultRunnable<List<TreeItem>>() {
+			@Override
+			public List<TreeItem> run() {
+				int to = Math.min(swtTreeItem.getItemCount(), from + count);
+				List<TreeItem> items = new ArrayList<TreeItem>();
+				for (int i = from; i < to; i++) {
+					items.add(swtTreeItem.getItem(i));
+				}
+				return items;
+			}
+		});
+	}
+
+	/**
+	 * Gets texts of specified {@link TreeItem}s in the column specified by index.
+	 * 
+	 * @param swtTreeItems tree items to handle
+	 * @param cellIndex index of column
+	 * @return texts of tree items in the same order as the tree items
+	 */
+	public List<String> getTexts(final List<TreeItem> swtTreeItems, final int cellIndex) {
+		return Display.syncExec(new ResultRunnable<List<String>>() {
+			@Override
+			public List<String> run() {
+				List<String> texts = new ArrayList<String>(swtTreeItems.size());
+				for (TreeItem item : swtTreeItems) {
+					texts.add(item.getText(cellIndex));
+				}
+				return texts;
+			}
+		});
+	}
+
 	/**
 	 * See {@link TreeItem#getParent()}.
 	 * @param swtTreeItem tree item to handle
@@ -293,8 +370,10 @@ public class TreeItemHandler {
 	 */
 	public void setChecked(final TreeItem swtTreeItem,
 			final boolean check) {
-		logger.debug((check ? "Check" : "Uncheck") + "Tree Item "
-				+ WidgetHandler.getInstance().getText(swtTreeItem) + ":");
+		if (logger.isDebugEnabled()) {
+			logger.debug((check ? "Check" : "Uncheck") + "Tree Item "
+					+ WidgetHandler.getInstance().getText(swtTreeItem) + ":");
+		}
 		Display.syncExec(new Runnable() {
 			@Override
 			public void run() {
@@ -304,7 +383,9 @@ public class TreeItemHandler {
 		logger.debug("Notify tree about check event");
 		TreeHandler.getInstance().notifyTree(swtTreeItem,
 				TreeHandler.getInstance().createEventForTree(swtTreeItem, SWT.Selection, SWT.CHECK));
-		logger.info((check ? "Checked: " : "Unchecked: ") + WidgetHandler.getInstance().getText(swtTreeItem));
+		if (logger.isInfoEnabled()) {
+			logger.info((check ? "Checked: " : "Unchecked: ") + WidgetHandler.getInstance().getText(swtTreeItem));
+		}
 	}
 	
 	/**
@@ -328,8 +409,10 @@ public class TreeItemHandler {
 	 * @param swtTreeItem tree item to handle
 	 */
 	public void collapse(final TreeItem swtTreeItem) {
-		logger.debug("Collapse Tree Item "
-				+ WidgetHandler.getInstance().getText(swtTreeItem));
+		if (logger.isDebugEnabled()) {
+			logger.debug("Collapse Tree Item "
+					+ WidgetHandler.getInstance().getText(swtTreeItem));
+		}
 		if (isExpanded(swtTreeItem)) {
 			Display.syncExec(new Runnable() {
 				@Override
@@ -343,11 +426,15 @@ public class TreeItemHandler {
 			TreeHandler.getInstance().notifyTree(swtTreeItem,
 					TreeHandler.getInstance().createEventForTree(swtTreeItem, SWT.Collapse));
 		} else {
-			logger.debug("Tree Item "
-					+ WidgetHandler.getInstance().getText(swtTreeItem)
-					+ " is already collapsed. No action performed");
+			if (logger.isDebugEnabled()) {
+				logger.debug("Tree Item "
+						+ WidgetHandler.getInstance().getText(swtTreeItem)
+						+ " is already collapsed. No action performed");
+			}
+		}
+		if (logger.isInfoEnabled()) {
+			logger.info("Collapsed: " + WidgetHandler.getInstance().getText(swtTreeItem));
 		}
-		logger.info("Collapsed: " + WidgetHandler.getInstance().getText(swtTreeItem));
 	}
 	
 	/**
@@ -364,8 +451,10 @@ public class TreeItemHandler {
 	 * @param timePeriod time period to wait for
 	 */
 	public void expand(final TreeItem swtTreeItem, TimePeriod timePeriod) {
-		logger.debug("Expand Tree Item "
-				+ WidgetHandler.getInstance().getText(swtTreeItem));
+		if (logger.isDebugEnabled()) {
+			logger.debug("Expand Tree Item "
+					+ WidgetHandler.getInstance().getText(swtTreeItem));
+		}
 
 		final TreeExpandListener tel = new TreeExpandListener();
 
@@ -383,7 +472,9 @@ public class TreeItemHandler {
 			new WaitUntil(new TreeHeardExpandNotification(swtTreeItem, tel,
 					true), timePeriod);
 		}
-		logger.info("Expanded: " + WidgetHandler.getInstance().getText(swtTreeItem));
+		if (logger.isInfoEnabled()) {
+			logger.info("Expanded: " + WidgetHandler.getInstance().getText(swtTreeItem));
+		}
 
 		Display.syncExec(new Runnable() {
 			@Override
@@ -394,6 +485,29 @@ public class TreeItemHandler {
 		});
 	}
 	
+	/**
+	 * Expands specified {@link TreeItem} and returns its children. Tree is notified 
+	 * about the expansion synchronously, so children created by listeners of the tree 
+	 * are returned. Children populated asynchronously are not waited for.
+	 * Note: Must be used in UI Thread
+	 * 
+	 * @param swtTreeItem tree item to expand
+	 * @return children of specified tree item
+	 */
+	public TreeItem[] expandUI(TreeItem swtTreeItem) {
+		if (!swtTreeItem.getExpanded()) {
+			Event event = new Event();
+			event.type = SWT.Expand;
+			event.display = swtTreeItem.getDisplay();
+			event.time = (int) System.currentTimeMillis();
+			event.item = swtTreeItem;
+			event.widget = swtTreeItem.getParent();
+			swtTreeItem.getParent().notifyListeners(SWT.Expand, event);
+			swtTreeItem.setExpanded(true);
+		}
+		return swtTreeItem.getItems();
+	}
+
 	/**
 	 * Clicks on specified TreeItem.
 	 *
@@ -498,9 +612,11 @@ public class TreeItemHandler {
 				}
 				return listener.isHeard();
 			} else {
-				logger.debug("Tree Item "
-						+ WidgetHandler.getInstance().getText(treeItem)
-						+ " is already expanded. No action performed");
+				if (logger.isDebugEnabled()) {
+					logger.debug("Tree Item "
+							+ WidgetHandler.getInstance().getText(treeItem)
+							+ " is already expanded. No action performed");
+				}
 			}
 			return true;
 		}
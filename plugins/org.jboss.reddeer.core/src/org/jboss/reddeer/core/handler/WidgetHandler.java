@@ -197,6 +197,21 @@ public class WidgetHandler {
 	 * @return label of specified widget
 	 */
 	public <T extends Widget> String getLabel(final T w) {
+		return getLabel(w, null);
+	}
+
+	/**
+	 * Gets label of specified widget. Label is looked up among given widgets
+	 * of active parent, so that they need not be looked up again when labels of
+	 * several widgets are resolved.
+	 *
+	 * @param <T> the generic type
+	 * @param w widget to handle
+	 * @param parentWidgets all widgets of active parent as found by 
+	 * {@link WidgetLookup#findAllParentWidgets()} or null to look them up 
+	 * @return label of specified widget
+	 */
+	public <T extends Widget> String getLabel(final T w, final List<? extends Widget> parentWidgets) {
 		String label = Display.syncExec(new ResultRunnable<String>() {
 
 			@Override
@@ -220,7 +235,8 @@ public class WidgetHandler {
 						}
 					}
 				}
-				List<Control> allWidgets = WidgetLookup.getInstance().findAllParentWidgets();
+				List<? extends Widget> allWidgets = parentWidgets != null ? parentWidgets 
+						: WidgetLookup.getInstance().findAllParentWidgets();
 				int widgetIndex = allWidgets.indexOf(w);
 				if (widgetIndex < 0) {
 					return null;
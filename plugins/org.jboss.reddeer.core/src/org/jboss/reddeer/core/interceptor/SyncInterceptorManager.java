@@ -10,8 +10,7 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.core.interceptor;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.Arrays;
 
 import org.jboss.reddeer.common.exception.RedDeerException;
 import org.jboss.reddeer.common.logging.Logger;
@@ -25,8 +24,11 @@ import org.jboss.reddeer.common.logging.Logger;
  * It's strongly advised to don't provide UI operation that changes UI state. Such action
  * could cause breaking state and it is required to restore original state manually.
  * 
- * Should be used from single working thread. Otherwise synchronization is up to
- * a user.
+ * Registered interceptors are kept in an immutable array which is replaced on 
+ * each registration or unregistration, so interceptors can be registered from
+ * any thread, even while another thread performs them. Whether intercepted code 
+ * is being executed is tracked per thread and carried over to UI thread by 
+ * Display when intercepted code executes a runnable there.
  * 
  * @author Jiri Peterka
  *
@@ -35,9 +37,16 @@ public class SyncInterceptorManager {
 
 	public static SyncInterceptorManager instance = null;;
 	
+	private static final RegisteredInterceptor[] NO_INTERCEPTORS = new RegisteredInterceptor[0];
+
 	private Logger log = Logger.getLogger(SyncInterceptorManager.class);
-	private Map<String, ISyncInterceptor> syncInterceptors = new LinkedHashMap<String, ISyncInterceptor>();
-	private boolean isIntercepted = false;
+	private volatile RegisteredInterceptor[] syncInterceptors = NO_INTERCEPTORS;
+	private final ThreadLocal<Boolean> isIntercepted = new ThreadLocal<Boolean>() {
+		@Override
+		protected Boolean initialValue() {
+			return Boolean.FALSE;
+		}
+	};
 
 	/**
 	 * Registers interceptor if it doesn't exist.
@@ -45,9 +54,12 @@ public class SyncInterceptorManager {
 	 * @param name interceptor name 
 	 * @param interceptor implementation of interceptor
 	 */
-	public void register(String name, ISyncInterceptor interceptor) {
-		if (!syncInterceptors.containsKey(name)) {
-			syncInterceptors.put(name, interceptor);
+	public synchronized void register(String name, ISyncInterceptor interceptor) {
+		if (indexOf(name) < 0) {
+			RegisteredInterceptor[] current = syncInterceptors;
+			RegisteredInterceptor[] updated = Arrays.copyOf(current, current.length + 1);
+			updated[current.length] = new RegisteredInterceptor(name, interceptor);
+			syncInterceptors = updated;
 		} else {
 			throw new RedDeerException("Interceptor " + name + " is already registered");
 		}
@@ -58,9 +70,14 @@ public class SyncInterceptorManager {
 	 * 
 	 * @param name interceptor name 
 	 */
-	public void unregister(String name) {
-		if (syncInterceptors.containsKey(name)) {
-			syncInterceptors.remove(name);
+	public synchronized void unregister(String name) {
+		int index = indexOf(name);
+		if (index >= 0) {
+			RegisteredInterceptor[] current = syncInterceptors;
+			RegisteredInterceptor[] updated = new RegisteredInterceptor[current.length - 1];
+			System.arraycopy(current, 0, updated, 0, index);
+			System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+			syncInterceptors = updated;
 		} else {
 			throw new RedDeerException("Interceptor " + name + " doesn't exist registered");
 		}
@@ -69,8 +86,8 @@ public class SyncInterceptorManager {
 	/**
 	 * Unregister all registered interceptors.
 	 */
-	public void unregisterAll() {
-		syncInterceptors.clear();
+	public synchronized void unregisterAll() {
+		syncInterceptors = NO_INTERCEPTORS;
 	}
 	
 	/**
@@ -81,14 +98,14 @@ public class SyncInterceptorManager {
 	 * @return true, if is registered
 	 */
 	public boolean isRegistered(String name) {
-		return syncInterceptors.containsKey(name);
+		return indexOf(name) >= 0;
 	}
 	
 	/**
 	 * Returns SyncInterceptorManager instance.
 	 * @return SyncInterceptorManager instance
 	 */
-	public static SyncInterceptorManager getInstance() {
+	public static synchronized SyncInterceptorManager getInstance() {
 		if (instance == null) {
 			instance = new SyncInterceptorManager();
 		}
@@ -97,53 +114,98 @@ public class SyncInterceptorManager {
 
 	
 	/**
-	 * Performs registered operation(s) before sync.
+	 * Performs registered operation(s) before sync. Does nothing if called
+	 * from intercepted code.
 	 */
 	public void performBeforeSync() {
-		for (Map.Entry<String, ISyncInterceptor> op : syncInterceptors
-				.entrySet()) {
-			isIntercepted = true;
-			log.trace("SyncExec intercepted before by " + op.getKey());
-			try {
-				op.getValue().beforeSyncOp();
-			} catch (Exception e) {
-				log.error("BeforeSync interceptor error: " + op.getKey() + " :"
-						+ e.getMessage());
-				isIntercepted = false;
-				throw e;
+		RegisteredInterceptor[] interceptors = syncInterceptors;
+		if (interceptors.length == 0 || isIntercepted()) {
+			return;
+		}
+		isIntercepted.set(Boolean.TRUE);
+		try {
+			for (RegisteredInterceptor op : interceptors) {
+				log.trace("SyncExec intercepted before by " + op.name);
+				try {
+					op.interceptor.beforeSyncOp();
+				} catch (RuntimeException e) {
+					log.error("BeforeSync interceptor error: " + op.name + " :"
+							+ e.getMessage());
+					throw e;
+				}
 			}
-			isIntercepted = false;
-		}	
+		} finally {
+			isIntercepted.set(Boolean.FALSE);
+		}
 	}
 	
 	/**
-	 * Performs registered operation(s) after sync. 
+	 * Performs registered operation(s) after sync. Does nothing if called
+	 * from intercepted code.
 	 */
 	public void performAfterSync() {
-
-		for (Map.Entry<String, ISyncInterceptor> op : syncInterceptors
-				.entrySet()) {
-			isIntercepted = true;
-			log.trace("SyncExec intercepted after by " + op.getKey());
-			try {
-				op.getValue().afterSyncOp();
-			} catch (Exception e) {
-				log.error("AfterSync interceptor error: " + op.getKey() + " :"
-						+ e.getMessage());
-				isIntercepted = false;
-				throw e;
+		RegisteredInterceptor[] interceptors = syncInterceptors;
+		if (interceptors.length == 0 || isIntercepted()) {
+			return;
+		}
+		isIntercepted.set(Boolean.TRUE);
+		try {
+			for (RegisteredInterceptor op : interceptors) {
+				log.trace("SyncExec intercepted after by " + op.name);
+				try {
+					op.interceptor.afterSyncOp();
+				} catch (RuntimeException e) {
+					log.error("AfterSync interceptor error: " + op.name + " :"
+							+ e.getMessage());
+					throw e;
+				}
 			}
-			isIntercepted = false;
+		} finally {
+			isIntercepted.set(Boolean.FALSE);
 		}
 	}
 	
 	/**
-	 * Finds out whether intercepted code is being executed or not.
+	 * Finds out whether intercepted code is being executed or not in the current thread.
 	 * 
 	 * @return true if intercepted code is being executed, false otherwise
 	 */
 	public boolean isIntercepted() {
-		return isIntercepted;
+		return isIntercepted.get();
+	}
+
+	/**
+	 * Sets whether intercepted code is being executed in the current thread, e.g. when
+	 * intercepted code continues in UI thread.
+	 * 
+	 * @param intercepted true if intercepted code is being executed, false otherwise
+	 * @return previous value which should be restored afterwards
+	 */
+	public boolean setIntercepted(boolean intercepted) {
+		boolean previous = isIntercepted.get();
+		isIntercepted.set(intercepted);
+		return previous;
+	}
+
+	private int indexOf(String name) {
+		RegisteredInterceptor[] interceptors = syncInterceptors;
+		for (int i = 0; i < interceptors.length; i++) {
+			if (interceptors[i].name.equals(name)) {
+				return i;
+			}
+		}
+		return -1;
 	}
 
+	private static class RegisteredInterceptor {
+
+		private final String name;
+
+		private final ISyncInterceptor interceptor;
+
+		private RegisteredInterceptor(String name, ISyncInterceptor interceptor) {
+			this.name = name;
+			this.interceptor = interceptor;
+		}
+	}
 }
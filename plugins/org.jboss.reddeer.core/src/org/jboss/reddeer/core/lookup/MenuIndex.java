@@ -0,0 +1,242 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.lookup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jface.action.ActionContributionItem;
+import org.eclipse.jface.action.IAction;
+import org.eclipse.jface.action.IContributionItem;
+import org.eclipse.jface.action.MenuManager;
+import org.eclipse.jface.util.IPropertyChangeListener;
+import org.eclipse.jface.util.PropertyChangeEvent;
+import org.eclipse.swt.events.DisposeEvent;
+import org.eclipse.swt.events.DisposeListener;
+import org.eclipse.swt.widgets.Menu;
+import org.hamcrest.Matcher;
+
+/**
+ * Index of contribution items of a menu manager. Texts of items and submenus are 
+ * normalized once and resolved menu paths are remembered, so that repeated lookups 
+ * of the same path are answered by a single map lookup instead of walking the contribution 
+ * items and reading their texts again. Paths which could not be resolved are not remembered.
+ * <p>
+ * Index is checked before each lookup. It is rebuilt if items of any indexed menu manager 
+ * were added, removed or recreated (e.g. items of dynamic menus when the menu is shown), 
+ * which is found out by comparing item identities, or if text of any indexed action 
+ * has changed, which is reported by a property change listener of the action.
+ * <p>
+ * Index is stored in data of menu of the menu manager, so it lives as long as the menu.
+ * Property change listeners of the index are removed from all indexed actions when the 
+ * index is replaced or the menu is disposed.
+ * Note: Must be used in UI Thread
+ */
+class MenuIndex implements IPropertyChangeListener {
+
+	private static final String INDEX_KEY = MenuIndex.class.getName();
+
+	private final Node root;
+
+	private final List<Node> managerNodes = new ArrayList<Node>();
+
+	private final List<IAction> actions = new ArrayList<IAction>();
+
+	private final Map<List<Matcher<String>>, ActionContributionItem> resolvedPaths = 
+			new HashMap<List<Matcher<String>>, ActionContributionItem>();
+
+	private boolean textChanged;
+
+	private MenuIndex(MenuManager manager, boolean listen) {
+		root = new Node(manager, null);
+		build(manager, root);
+		if (listen) {
+			for (IAction action : actions) {
+				action.addPropertyChangeListener(this);
+			}
+		}
+	}
+
+	/**
+	 * Gets index of specified menu manager. Index is built if it does not exist 
+	 * or items of the menu manager have changed.
+	 * 
+	 * @param manager menu manager
+	 * @return index of menu manager
+	 */
+	static MenuIndex getIndex(MenuManager manager) {
+		final Menu menu = manager.getMenu();
+		if (menu == null || menu.isDisposed()) {
+			// there is no menu to hold the index, so it is not kept up to date
+			return new MenuIndex(manager, false);
+		}
+		Object data = menu.getData(INDEX_KEY);
+		if (data instanceof MenuIndex) {
+			MenuIndex index = (MenuIndex) data;
+			if (index.isValid()) {
+				return index;
+			}
+			index.dispose();
+		}
+		final MenuIndex index = new MenuIndex(manager, true);
+		menu.setData(INDEX_KEY, index);
+		if (data == null) {
+			menu.addDisposeListener(new DisposeListener() {
+
+				@Override
+				public void widgetDisposed(DisposeEvent e) {
+					Object current = menu.getData(INDEX_KEY);
+					if (current instanceof MenuIndex) {
+						((MenuIndex) current).dispose();
+					}
+				}
+			});
+		}
+		return index;
+	}
+
+	/**
+	 * Finds out whether specified menu manager has an index which reflects its current items.
+	 * 
+	 * @param manager menu manager
+	 * @return true if the menu manager has a valid index, false otherwise
+	 */
+	static boolean hasValidIndex(MenuManager manager) {
+		Menu menu = manager.getMenu();
+		if (menu == null || menu.isDisposed()) {
+			return false;
+		}
+		Object data = menu.getData(INDEX_KEY);
+		return data instanceof MenuIndex && ((MenuIndex) data).isValid();
+	}
+
+	/**
+	 * Looks for action contribution item on path specified by matchers. Each matcher 
+	 * matches normalized text (without mnemonics) of an item on one level of the path.
+	 * 
+	 * @param matchers matchers of menu path
+	 * @return action contribution item or null if there is no such item
+	 */
+	ActionContributionItem lookFor(Matcher<String>[] matchers) {
+		// matchers not implementing equals are equal only to themselves
+		List<Matcher<String>> path = Arrays.asList(matchers.clone());
+		ActionContributionItem resolved = resolvedPaths.get(path);
+		if (resolved != null) {
+			return resolved;
+		}
+		ActionContributionItem currentItem = null;
+		List<Node> currentNodes = root.children;
+		for (Matcher<String> m : matchers) {
+			currentItem = null;
+			for (Node node : currentNodes) {
+				if (node.text != null && m.matches(node.text)) {
+					if (node.children == null) {
+						currentItem = (ActionContributionItem) node.item;
+						break;
+					}
+					currentNodes = node.children;
+				}
+			}
+		}
+		if (currentItem != null) {
+			resolvedPaths.put(path, currentItem);
+		}
+		return currentItem;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.eclipse.jface.util.IPropertyChangeListener#propertyChange(org.eclipse.jface.util.PropertyChangeEvent)
+	 */
+	@Override
+	public void propertyChange(PropertyChangeEvent event) {
+		if (IAction.TEXT.equals(event.getProperty())) {
+			textChanged = true;
+		}
+	}
+
+	/*
+	 * Index is valid if no indexed action text has changed and all indexed menu managers 
+	 * still have the same items. Items are compared by identity, texts are not read.
+	 */
+	private boolean isValid() {
+		if (textChanged) {
+			return false;
+		}
+		for (Node node : managerNodes) {
+			if (!Arrays.equals(node.items, ((MenuManager) node.item).getItems())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/*
+	 * Removes listeners of the index from all indexed actions.
+	 */
+	private void dispose() {
+		for (IAction action : actions) {
+			action.removePropertyChangeListener(this);
+		}
+		actions.clear();
+	}
+
+	private void build(MenuManager manager, Node node) {
+		managerNodes.add(node);
+		node.items = manager.getItems();
+		node.children = new ArrayList<Node>();
+		for (IContributionItem item : node.items) {
+			if (item instanceof ActionContributionItem) {
+				actions.add(((ActionContributionItem) item).getAction());
+				node.children.add(new Node(item, getText(item)));
+			} else if (item instanceof MenuManager) {
+				Node child = new Node(item, getText(item));
+				node.children.add(child);
+				build((MenuManager) item, child);
+			}
+		}
+	}
+
+	private static String getText(IContributionItem item) {
+		String text = item instanceof MenuManager ? ((MenuManager) item).getMenuText() 
+				: ((ActionContributionItem) item).getAction().getText();
+		return text == null ? null : text.replace("&", "");
+	}
+
+	/**
+	 * Finds out whether specified items are all items of specified menu manager in the same order.
+	 * 
+	 * @param manager menu manager
+	 * @param items contribution items
+	 * @return true if the items are items of the menu manager, false otherwise
+	 */
+	static boolean hasItems(MenuManager manager, List<IContributionItem> items) {
+		return Arrays.asList(manager.getItems()).equals(items);
+	}
+
+	private static class Node {
+
+		private final IContributionItem item;
+
+		private final String text;
+
+		private IContributionItem[] items;
+
+		private List<Node> children;
+
+		public Node(IContributionItem item, String text) {
+			this.item = item;
+			this.text = text;
+		}
+	}
+}
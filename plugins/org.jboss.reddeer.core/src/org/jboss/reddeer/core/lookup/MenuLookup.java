@@ -15,6 +15,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.jface.action.ActionContributionItem;
+import org.eclipse.jface.action.ContributionItem;
 import org.eclipse.jface.action.IContributionItem;
 import org.eclipse.jface.action.IMenuManager;
 import org.eclipse.jface.action.MenuManager;
@@ -92,7 +93,8 @@ public class MenuLookup {
 	}
 	
 	/**
-	 * Looks for ActionContributionItem matching matchers.
+	 * Looks for ActionContributionItem matching matchers. If contribution items are items
+	 * of a menu manager, they are looked up in index of the menu manager.
 	 *
 	 * @param contItems the cont items
 	 * @param matchers menu item text matchers
@@ -103,6 +105,14 @@ public class MenuLookup {
 
 			@Override
 			public ActionContributionItem run() {
+				MenuManager manager = getMenuManager(contItems);
+				if (manager != null) {
+					ActionContributionItem item = MenuIndex.getIndex(manager).lookFor(matchers);
+					if (item != null && log.isInfoEnabled()) {
+						log.info("Item match:'" + item.getAction().getText().replace("&", "") + "'");
+					}
+					return item;
+				}
 				ActionContributionItem currentItem = null;
 				List<IContributionItem> currentMenuContributionItems = contItems;
 				for (Matcher<String> m : matchers) {
@@ -133,6 +143,18 @@ public class MenuLookup {
 		return contItem;
 	}
 	
+	/*
+	 * Gets menu manager whose items are specified contribution items or null if there is no such menu manager.
+	 */
+	private MenuManager getMenuManager(List<IContributionItem> contItems) {
+		if (contItems.isEmpty() || !(contItems.get(0) instanceof ContributionItem)
+				|| !(((ContributionItem) contItems.get(0)).getParent() instanceof MenuManager)) {
+			return null;
+		}
+		MenuManager manager = (MenuManager) ((ContributionItem) contItems.get(0)).getParent();
+		return MenuIndex.hasItems(manager, contItems) ? manager : null;
+	}
+
 	public MenuItem lookForViewMenu(final List<IContributionItem> contItems, final Matcher<String>... matchers) {
 		IWorkbenchPart part = getActivePart(false);
 		final IMenuManager m = ((IViewSite) part.getSite()).getActionBars().getMenuManager();
@@ -177,7 +199,9 @@ public class MenuLookup {
 	
 	/**
 	 * Gets contribution items from focused control.
-	 * Used in situation when menu could contain dynamic menu from e4.
+	 * Used in situation when menu could contain dynamic menu from e4. Menu is shown 
+	 * to populate its items unless its menu manager has a valid index, i.e. its items 
+	 * have not changed since they were indexed.
 	 * 
 	 * @return list of menu contribution items
 	 */
@@ -190,8 +214,10 @@ public class MenuLookup {
 			@Override
 			public List<IContributionItem> run() {
 				List<IContributionItem> contItemsRun = new ArrayList<IContributionItem>();
-				sendHide(menu, true);
-				sendShowUI(menu);
+				if (!(menu.getData() instanceof MenuManager) || !MenuIndex.hasValidIndex((MenuManager) menu.getData())) {
+					sendHide(menu, true);
+					sendShowUI(menu);
+				}
 				if(menu.getData() != null && menu.getData() instanceof MenuManager){
 					contItemsRun.addAll(Arrays.asList(((MenuManager)menu.getData()).getItems()));
 					log.debug("Menu manager found");
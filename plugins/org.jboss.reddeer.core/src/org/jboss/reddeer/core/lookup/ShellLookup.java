@@ -10,9 +10,6 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.core.lookup;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.ui.PlatformUI;
 import org.hamcrest.Matcher;
@@ -21,6 +18,7 @@ import org.jboss.reddeer.common.wait.TimePeriod;
 import org.jboss.reddeer.common.wait.WaitUntil;
 import org.jboss.reddeer.core.condition.ActiveShellExists;
 import org.jboss.reddeer.core.condition.ShellMatchingMatcherIsAvailable;
+import org.jboss.reddeer.core.matcher.AbstractWidgetWithTextMatcher;
 import org.jboss.reddeer.core.matcher.WithTextMatcher;
 import org.jboss.reddeer.core.util.Display;
 import org.jboss.reddeer.core.util.ResultRunnable;
@@ -81,6 +79,10 @@ public class ShellLookup {
 	 * @return active shell or null if there is no active shell
 	 */
 	public Shell getCurrentActiveShell () {
+		Shell activeShell = ShellRegistry.getInstance().getActiveShell();
+		if (activeShell != null) {
+			return activeShell;
+		}
 		return Display.syncExec(new ResultRunnable<Shell>() {
 			
 			@Override
@@ -121,22 +123,7 @@ public class ShellLookup {
 	 * @return array of all visible shells
 	 */
 	public Shell[] getShells() {
-		
-		return Display.syncExec(new ResultRunnable<Shell[]>() {
-			
-			@Override
-			public Shell[] run() {
-				List<Shell> visibleShells = new ArrayList<Shell>();
-				Shell[] shells = Display.getDisplay().getShells();
-				for (Shell s : shells) {
-					if (!s.isDisposed() && s.isVisible()) {
-						visibleShells.add(s);
-					}
-				}
-				return visibleShells.toArray(new Shell[visibleShells.size()]);
-			}
-			
-		});
+		return ShellRegistry.getInstance().getShells();
 	}
 	
 	/**
@@ -147,7 +134,15 @@ public class ShellLookup {
 	 * @return shell matching specified matcher
 	 */
 	public Shell getShell(final Matcher<String> matcher , TimePeriod timePeriod) {
-		if (!timePeriod.equals(TimePeriod.NONE)){
+		if (matcher instanceof AbstractWidgetWithTextMatcher) {
+			// title matchers can be evaluated on titles known by shell registry
+			ShellRegistry registry = ShellRegistry.getInstance();
+			Shell shell = timePeriod.equals(TimePeriod.NONE) ? registry.getShell(matcher) 
+					: registry.awaitShell(matcher, timePeriod.getMilliseconds());
+			if (shell != null) {
+				return shell;
+			}
+		} else if (!timePeriod.equals(TimePeriod.NONE)){
 			new WaitUntil(new ShellMatchingMatcherIsAvailable(matcher), timePeriod, false);
 		}
 		
@@ -186,6 +181,10 @@ public class ShellLookup {
 	 * @return shell with specified title
 	 */
 	public Shell getShell(String title , TimePeriod timePeriod) {
+		Shell shell = ShellRegistry.getInstance().getShell(title);
+		if (shell != null) {
+			return shell;
+		}
 		return getShell(new WithTextMatcher(title) , timePeriod);		
 	}
 	
@@ -196,7 +195,7 @@ public class ShellLookup {
 	 * @return shell with specified title
 	 */
 	public Shell getShell(String title) {
-		return getShell(new WithTextMatcher(title) , TimePeriod.NORMAL);		
+		return getShell(title, TimePeriod.NORMAL);
 	}
 	
 	private Shell getLastVisibleShell() {
@@ -0,0 +1,365 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.lookup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Shell;
+import org.hamcrest.Matcher;
+import org.hamcrest.core.IsEqual;
+import org.jboss.reddeer.core.util.Display;
+import org.jboss.reddeer.core.util.ResultRunnable;
+
+/**
+ * Registry of visible shells, their titles and active shell. Registry is kept up to date 
+ * by display filters of events {@link SWT#Show}, {@link SWT#Hide}, {@link SWT#Activate},
+ * {@link SWT#Deactivate} and {@link SWT#Dispose}, so it can be queried from any thread
+ * without executing code in UI thread.
+ * <p>
+ * SWT does not notify about changes of shell titles. Titles are refreshed whenever
+ * a shell is shown or activated and by {@link #refresh()}. Shells found by their 
+ * registered title are verified against their current title and visibility in UI thread,
+ * but a shell which is not found by its title should be looked up in the display 
+ * before being reported as missing.
+ */
+public class ShellRegistry {
+
+	private static final long REFRESH_PERIOD = 500;
+
+	private static ShellRegistry instance;
+
+	private final Map<Shell, String> shells = new LinkedHashMap<Shell, String>();
+
+	private final Map<String, List<Shell>> shellsByTitle = new HashMap<String, List<Shell>>();
+
+	private Shell activeShell;
+
+	/*
+	 * Incremented on every change so that waiting threads do not miss changes.
+	 */
+	private long version;
+
+	private volatile org.eclipse.swt.widgets.Display display;
+
+	private ShellRegistry() {
+	}
+
+	/**
+	 * Gets instance of ShellRegistry.
+	 * 
+	 * @return ShellRegistry instance
+	 */
+	public static synchronized ShellRegistry getInstance() {
+		if (instance == null) {
+			instance = new ShellRegistry();
+		}
+		return instance;
+	}
+
+	/**
+	 * Gets active shell.
+	 * 
+	 * @return active visible shell or null if there is no such shell
+	 */
+	public Shell getActiveShell() {
+		start();
+		synchronized (this) {
+			if (activeShell != null && (activeShell.isDisposed() || !shells.containsKey(activeShell))) {
+				return null;
+			}
+			return activeShell;
+		}
+	}
+
+	/**
+	 * Gets all visible shells in the order they were shown.
+	 * 
+	 * @return array of visible shells
+	 */
+	public Shell[] getShells() {
+		start();
+		synchronized (this) {
+			List<Shell> result = new ArrayList<Shell>(shells.size());
+			for (Shell shell : shells.keySet()) {
+				if (!shell.isDisposed()) {
+					result.add(shell);
+				}
+			}
+			return result.toArray(new Shell[result.size()]);
+		}
+	}
+
+	/**
+	 * Gets title of specified shell as it was known when the shell was shown,
+	 * activated or refreshed.
+	 * 
+	 * @param shell shell
+	 * @return title of shell or null if the shell is not visible
+	 */
+	public synchronized String getTitle(Shell shell) {
+		return shells.get(shell);
+	}
+
+	/**
+	 * Gets visible shell with specified title. Shell registered with the title
+	 * is returned only if it is still visible and has the title.
+	 * 
+	 * @param title title of shell
+	 * @return shell with specified title or null if there is no such shell
+	 * registered
+	 */
+	public Shell getShell(String title) {
+		start();
+		List<Shell> candidates;
+		synchronized (this) {
+			List<Shell> titled = shellsByTitle.get(title);
+			if (titled == null) {
+				return null;
+			}
+			candidates = new ArrayList<Shell>(titled);
+		}
+		return getMatchingShell(candidates, new IsEqual<String>(title));
+	}
+
+	/**
+	 * Gets visible shell with title matching specified matcher. Shell registered with 
+	 * matching title is returned only if it is still visible and its title matches. 
+	 * 
+	 * @param titleMatcher matcher matching title of shell
+	 * @return matching shell or null if there is no such shell registered
+	 */
+	public Shell getShell(Matcher<?> titleMatcher) {
+		start();
+		List<Shell> candidates = new ArrayList<Shell>();
+		synchronized (this) {
+			for (Map.Entry<Shell, String> entry : shells.entrySet()) {
+				if (!entry.getKey().isDisposed() && entry.getValue() != null && titleMatcher.matches(entry.getValue())) {
+					candidates.add(entry.getKey());
+				}
+			}
+		}
+		return getMatchingShell(candidates, titleMatcher);
+	}
+
+	/**
+	 * Finds out whether specified shell is visible and its current title matches 
+	 * specified matcher. Registered title of the shell is updated if it has changed.
+	 * 
+	 * @param shell shell
+	 * @param titleMatcher matcher matching title of shell
+	 * @return true if shell is visible and its title matches, false otherwise
+	 */
+	public boolean matchesTitle(final Shell shell, final Matcher<?> titleMatcher) {
+		return Display.syncExec(new ResultRunnable<Boolean>() {
+
+			@Override
+			public Boolean run() {
+				if (shell.isDisposed()) {
+					return false;
+				}
+				synchronized (ShellRegistry.this) {
+					if (!shell.isVisible()) {
+						hidden(shell);
+						return false;
+					}
+					// registry is not notified about changed titles
+					shown(shell);
+					return titleMatcher.matches(shell.getText());
+				}
+			}
+		});
+	}
+
+	/*
+	 * Must not be called while holding the lock of registry, UI thread could wait for it.
+	 */
+	private Shell getMatchingShell(List<Shell> candidates, Matcher<?> titleMatcher) {
+		for (Shell shell : candidates) {
+			if (matchesTitle(shell, titleMatcher)) {
+				return shell;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Waits until there is a visible shell with title matching specified matcher. 
+	 * Titles of shells are refreshed periodically while waiting. 
+	 * If called in UI thread, the method does not wait.
+	 * 
+	 * @param titleMatcher matcher matching title of shell
+	 * @param timeout maximal time to wait in milliseconds
+	 * @return matching shell or null if there is no such shell after timeout
+	 */
+	public Shell awaitShell(Matcher<?> titleMatcher, long timeout) {
+		Shell shell = getShell(titleMatcher);
+		if (shell != null || isUIThread()) {
+			return shell;
+		}
+		long deadline = System.currentTimeMillis() + timeout;
+		long nextRefresh = System.currentTimeMillis() + REFRESH_PERIOD;
+		while (true) {
+			long now = System.currentTimeMillis();
+			if (now >= nextRefresh || now >= deadline) {
+				refresh();
+				nextRefresh = now + REFRESH_PERIOD;
+			}
+			long checkedVersion;
+			synchronized (this) {
+				checkedVersion = version;
+			}
+			shell = getShell(titleMatcher);
+			if (shell != null || now >= deadline) {
+				return shell;
+			}
+			synchronized (this) {
+				if (version != checkedVersion) {
+					continue;
+				}
+				try {
+					wait(Math.max(1, Math.min(deadline, nextRefresh) - now));
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return null;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads visible shells, their titles and active shell from display.
+	 */
+	public void refresh() {
+		final org.eclipse.swt.widgets.Display currentDisplay = Display.getDisplay();
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				if (display != currentDisplay) {
+					registerFilters(currentDisplay);
+				}
+				synchronized (ShellRegistry.this) {
+					shells.clear();
+					shellsByTitle.clear();
+					for (Shell shell : currentDisplay.getShells()) {
+						if (!shell.isDisposed() && shell.isVisible()) {
+							shown(shell);
+						}
+					}
+					Shell active = currentDisplay.getActiveShell();
+					activeShell = active != null && active.isVisible() ? active : null;
+					version++;
+					ShellRegistry.this.notifyAll();
+				}
+			}
+		});
+	}
+
+	private boolean isUIThread() {
+		return Display.getDisplay().getThread() == Thread.currentThread();
+	}
+
+	private void start() {
+		org.eclipse.swt.widgets.Display current = display;
+		if (current == null || current != Display.getDisplay()) {
+			refresh();
+		}
+	}
+
+	/*
+	 * Called in UI thread.
+	 */
+	private void registerFilters(org.eclipse.swt.widgets.Display newDisplay) {
+		Listener listener = new Listener() {
+
+			@Override
+			public void handleEvent(Event event) {
+				if (event.widget instanceof Shell) {
+					shellChanged((Shell) event.widget, event.type);
+				}
+			}
+		};
+		for (int eventType : new int[] {SWT.Show, SWT.Hide, SWT.Activate, SWT.Deactivate, SWT.Dispose}) {
+			newDisplay.addFilter(eventType, listener);
+		}
+		display = newDisplay;
+	}
+
+	/*
+	 * Called in UI thread.
+	 */
+	private synchronized void shellChanged(Shell shell, int eventType) {
+		switch (eventType) {
+		case SWT.Show:
+			shown(shell);
+			break;
+		case SWT.Activate:
+			shown(shell);
+			activeShell = shell;
+			break;
+		case SWT.Deactivate:
+			if (activeShell == shell) {
+				activeShell = null;
+			}
+			break;
+		default:
+			hidden(shell);
+			if (activeShell == shell) {
+				activeShell = null;
+			}
+		}
+		version++;
+		notifyAll();
+	}
+
+	private void shown(Shell shell) {
+		String title = shell.getText();
+		if (shells.containsKey(shell)) {
+			String oldTitle = shells.get(shell);
+			if (title == null ? oldTitle == null : title.equals(oldTitle)) {
+				return;
+			}
+			removeTitle(shell, oldTitle);
+		}
+		// order of shells is preserved when title is updated
+		shells.put(shell, title);
+		List<Shell> titled = shellsByTitle.get(title);
+		if (titled == null) {
+			titled = new ArrayList<Shell>(1);
+			shellsByTitle.put(title, titled);
+		}
+		titled.add(shell);
+	}
+
+	private void hidden(Shell shell) {
+		if (!shells.containsKey(shell)) {
+			return;
+		}
+		removeTitle(shell, shells.remove(shell));
+	}
+
+	private void removeTitle(Shell shell, String title) {
+		List<Shell> titled = shellsByTitle.get(title);
+		if (titled != null) {
+			titled.remove(shell);
+			if (titled.isEmpty()) {
+				shellsByTitle.remove(title);
+			}
+		}
+	}
+}
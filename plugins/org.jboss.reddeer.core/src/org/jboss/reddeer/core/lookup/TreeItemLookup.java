@@ -11,6 +11,7 @@
 package org.jboss.reddeer.core.lookup;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.swt.widgets.Tree;
@@ -22,6 +23,8 @@ import org.jboss.reddeer.common.wait.WaitUntil;
 import org.jboss.reddeer.core.exception.CoreLayerException;
 import org.jboss.reddeer.core.handler.TreeHandler;
 import org.jboss.reddeer.core.handler.TreeItemHandler;
+import org.jboss.reddeer.core.util.Display;
+import org.jboss.reddeer.core.util.ResultRunnable;
 
 /**
  * Tree item lookup provides methods for looking up tree items located within trees.
@@ -116,39 +119,81 @@ public class TreeItemLookup {
 	 * @return tree items matching specified matchers in specified tree item
 	 */
 	public List<TreeItem> getTreeItems(TreeItem treeItem, Matcher<TreeItem>... pathItemMatchers){
-		List<TreeItem> items = TreeItemHandler.getInstance().getChildrenItems(treeItem);
-		return getTreeItems(items, pathItemMatchers);
+		if (pathItemMatchers.length == 0){
+			return TreeItemHandler.getInstance().getChildrenItems(treeItem);
+		}
+		return resolvePath(PathResolution.pending(Arrays.asList(treeItem), 0, false), pathItemMatchers);
 	}
 	
 	private List<TreeItem> getTreeItems(List<TreeItem> items, Matcher<TreeItem>... pathItemMatchers) {
 		if (pathItemMatchers.length == 0){
 			return items;
 		}
+		return resolvePath(PathResolution.started(items), pathItemMatchers);
+	}
+
+	/*
+	 * Resolves the whole path in one UI thread runnable. Runnable is left only if some 
+	 * tree item on the path has no children after expansion, because its children are 
+	 * populated lazily. Then their population is waited for and resolution continues 
+	 * from the same level.
+	 */
+	private List<TreeItem> resolvePath(PathResolution resolution, final Matcher<TreeItem>... pathItemMatchers) {
+		while (true) {
+			final PathResolution current = resolution;
+			resolution = Display.batch(new ResultRunnable<PathResolution>() {
 
-		for(int index = 0; index < pathItemMatchers.length; index++) {
-			List<TreeItem> matchingItems = getMatchingTreeItems(items, pathItemMatchers[index]);
+				@Override
+				public PathResolution run() {
+					return resolvePathUI(current, pathItemMatchers);
+				}
+			});
 			
-			if (matchingItems.isEmpty()){
-				throw new CoreLayerException("There are no items matching matcher " + pathItemMatchers[index]);
+			if (resolution.result != null) {
+				return resolution.result;
 			}
-
-			if (index == pathItemMatchers.length - 1) {
-				return matchingItems;
+			if (resolution.parents == null) {
+				throw new CoreLayerException("There are no items matching matcher " + pathItemMatchers[resolution.level]);
+			}
+			for (TreeItem parentItem : resolution.parents) {
+				new WaitUntil(new TreeItemHasChildren(parentItem), TimePeriod.NORMAL, false);
 			}
-
-			items = getChildItems(matchingItems);
 		}
-		
-		throw new IllegalStateException("It should never get here. This is probably flaw in lookup algoritnus");
 	}
+
+	private PathResolution resolvePathUI(PathResolution resolution, Matcher<TreeItem>... pathItemMatchers) {
+		List<TreeItem> items = resolution.items;
+		if (items == null) {
+			items = new ArrayList<TreeItem>();
+			for (TreeItem parentItem : resolution.parents) {
+				TreeItem[] children = TreeItemHandler.getInstance().expandUI(parentItem);
+				if (children.length == 0 && !resolution.waited) {
+					return PathResolution.pending(resolution.parents, resolution.level, true);
+				}
+				items.addAll(Arrays.asList(children));
+			}
+		}
 		
-	private List<TreeItem> getChildItems(List<TreeItem> parentItems) {
-		List<TreeItem> children = new ArrayList<TreeItem>();
-		for (TreeItem parentItem : parentItems){
-			new WaitUntil(new TreeItemHasChildren(parentItem), TimePeriod.NORMAL, false);	
-			children.addAll(TreeItemHandler.getInstance().getChildrenItems(parentItem));
+		for (int level = resolution.level; ; level++) {
+			List<TreeItem> matchingItems = getMatchingTreeItems(items, pathItemMatchers[level]);
+			
+			if (matchingItems.isEmpty()){
+				return PathResolution.failed(level);
+			}
+
+			if (level == pathItemMatchers.length - 1) {
+				return PathResolution.resolved(matchingItems);
+			}
+
+			items = new ArrayList<TreeItem>();
+			for (TreeItem parentItem : matchingItems) {
+				TreeItem[] children = TreeItemHandler.getInstance().expandUI(parentItem);
+				if (children.length == 0) {
+					return PathResolution.pending(matchingItems, level + 1, true);
+				}
+				items.addAll(Arrays.asList(children));
+			}
 		}
-		return children;
 	}
 
 	private List<TreeItem> getMatchingTreeItems(List<TreeItem> items, Matcher<TreeItem> matcher){
@@ -161,6 +206,50 @@ public class TreeItemLookup {
 		return matchingitems;
 	}
 	
+	/**
+	 * State of resolution of a tree item path. It contains either resolved tree items, 
+	 * or parent items whose children are used to continue resolution on a level, or 
+	 * items to match on a level, or the level which has no matching items.
+	 */
+	private static class PathResolution {
+		
+		private List<TreeItem> result;
+		
+		private List<TreeItem> items;
+		
+		private List<TreeItem> parents;
+		
+		private int level;
+		
+		private boolean waited;
+		
+		static PathResolution started(List<TreeItem> items) {
+			PathResolution resolution = new PathResolution();
+			resolution.items = items;
+			return resolution;
+		}
+		
+		static PathResolution pending(List<TreeItem> parents, int level, boolean waited) {
+			PathResolution resolution = new PathResolution();
+			resolution.parents = parents;
+			resolution.level = level;
+			resolution.waited = waited;
+			return resolution;
+		}
+		
+		static PathResolution resolved(List<TreeItem> result) {
+			PathResolution resolution = new PathResolution();
+			resolution.result = result;
+			return resolution;
+		}
+		
+		static PathResolution failed(int level) {
+			PathResolution resolution = new PathResolution();
+			resolution.level = level;
+			return resolution;
+		}
+	}
+	
 	/**
 	 * Condition is met when tree has at least one child. 
 	 * 
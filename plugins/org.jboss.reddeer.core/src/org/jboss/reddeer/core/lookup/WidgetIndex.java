@@ -0,0 +1,477 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.lookup;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.CCombo;
+import org.eclipse.swt.custom.CLabel;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.layout.FormData;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Text;
+import org.eclipse.swt.widgets.Widget;
+import org.hamcrest.Matcher;
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.core.matcher.AndMatcher;
+import org.jboss.reddeer.core.matcher.ClassMatcher;
+import org.jboss.reddeer.core.matcher.CompiledMatcher;
+import org.jboss.reddeer.core.matcher.WithLabelMatcher;
+import org.jboss.reddeer.core.matcher.WithTextMatcher;
+import org.jboss.reddeer.core.resolver.WidgetResolver;
+import org.jboss.reddeer.core.util.Display;
+
+/**
+ * Index of visible widgets located under a root widget. Widgets are indexed by class,
+ * text and label in one pass through the widget tree, so that repeated lookups of 
+ * widgets under the same root need not traverse the whole tree again.
+ * <p>
+ * Indexes are kept up to date by display filters: disposed widgets are skipped,
+ * modified texts are reindexed and indexes of a shell are discarded when a widget
+ * in the shell is shown, hidden or created. Index is used only to preselect candidates, 
+ * every candidate is still matched by all matchers. Keys which can change without
+ * notification are not used for preselection: texts of widgets not sending modify 
+ * events (e.g. buttons) are always candidates and labels are used only if no label 
+ * text has changed since the index was built.
+ * <p>
+ * Note: Must be used in UI Thread
+ */
+class WidgetIndex {
+
+	private static final Logger log = Logger.getLogger(WidgetIndex.class);
+
+	private static final int MAX_INDEXES = 16;
+
+	private static final Method NO_METHOD;
+
+	static {
+		try {
+			NO_METHOD = Object.class.getMethod("toString");
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static final Map<Widget, WidgetIndex> indexes = new LinkedHashMap<Widget, WidgetIndex>(MAX_INDEXES, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Widget, WidgetIndex> eldest) {
+			return size() > MAX_INDEXES;
+		}
+	};
+
+	private static final Map<Class<?>, Method> textMethods = new HashMap<Class<?>, Method>();
+
+	private static org.eclipse.swt.widgets.Display filteredDisplay;
+
+	private final Widget root;
+
+	private final Shell shell;
+
+	private final List<Entry> entries = new ArrayList<Entry>();
+
+	private final Map<Widget, List<Entry>> entriesByWidget = new IdentityHashMap<Widget, List<Entry>>();
+
+	private final Map<Class<?>, List<Entry>> byClass = new HashMap<Class<?>, List<Entry>>();
+
+	private final Map<String, List<Entry>> byText = new HashMap<String, List<Entry>>();
+
+	private final List<Entry> untrackedTexts = new ArrayList<Entry>();
+
+	private final Map<String, List<Entry>> byLabel = new HashMap<String, List<Entry>>();
+
+	private final List<Entry> labelSources = new ArrayList<Entry>();
+
+	private WidgetIndex(Widget root) {
+		this.root = root;
+		this.shell = root instanceof Control ? ((Control) root).getShell() : null;
+		build();
+	}
+
+	/**
+	 * Gets index of widgets located under specified root widget. Index is built if it
+	 * does not exist yet.
+	 * 
+	 * @param root root widget
+	 * @return index of widgets under root widget
+	 */
+	static WidgetIndex getIndex(Widget root) {
+		registerFilters();
+		WidgetIndex index = indexes.get(root);
+		if (index == null) {
+			index = new WidgetIndex(root);
+			indexes.put(root, index);
+		}
+		return index;
+	}
+
+	/**
+	 * Discards index of specified root widget, e.g. when the index turns out to be out of date.
+	 * 
+	 * @param root root widget
+	 */
+	static void discard(Widget root) {
+		indexes.remove(root);
+	}
+
+	/**
+	 * Finds widget matching specified matcher with given index among matching widgets.
+	 * Widgets are returned in the same order as by traversal of the widget tree.
+	 * 
+	 * @param matcher matcher to match widget
+	 * @param index index of widget among matching widgets
+	 * @return matching widget or null if there is no such widget or matcher cannot be 
+	 * evaluated using the index
+	 */
+	Widget find(Matcher<?> matcher, int index) {
+		List<Entry> candidates = null;
+		for (Matcher<?> m : flatten(matcher, new ArrayList<Matcher<?>>())) {
+			List<Entry> mCandidates = getCandidates(m);
+			if (mCandidates != null && (candidates == null || mCandidates.size() < candidates.size())) {
+				candidates = mCandidates;
+			}
+		}
+		if (candidates == null) {
+			return null;
+		}
+		Collections.sort(candidates, ENTRY_ORDER);
+		Matcher<?> plan = new CompiledMatcher(matcher);
+		int remaining = index;
+		for (Entry entry : candidates) {
+			if (entry.isFirst() && !entry.widget.isDisposed() && plan.matches(entry.widget)) {
+				if (remaining <= 0) {
+					return entry.widget;
+				}
+				remaining--;
+			}
+		}
+		return null;
+	}
+
+	private List<Matcher<?>> flatten(Matcher<?> matcher, List<Matcher<?>> result) {
+		if (matcher instanceof AndMatcher) {
+			for (Matcher<?> m : ((AndMatcher) matcher).getMatchers()) {
+				flatten(m, result);
+			}
+		} else {
+			result.add(matcher);
+		}
+		return result;
+	}
+
+	/*
+	 * Returns new list of entries possibly matching specified matcher or null if the matcher 
+	 * is not supported by the index. Key matchers are evaluated on keys only, not on widgets.
+	 */
+	private List<Entry> getCandidates(Matcher<?> matcher) {
+		if (matcher instanceof ClassMatcher) {
+			List<Entry> result = new ArrayList<Entry>();
+			for (List<Entry> classEntries : byClass.values()) {
+				// class matcher depends only on class of matched widget
+				if (matcher.matches(classEntries.get(0).widget)) {
+					result.addAll(classEntries);
+				}
+			}
+			return result;
+		}
+		if (matcher.getClass() == WithTextMatcher.class) {
+			List<Entry> result = getCandidates(byText, matcher);
+			// texts set without modify event are not known, widgets are matched by their current text
+			result.addAll(untrackedTexts);
+			return result;
+		}
+		if (matcher.getClass() == WithLabelMatcher.class && labelsUpToDate()) {
+			return getCandidates(byLabel, matcher);
+		}
+		return null;
+	}
+
+	/*
+	 * Labels are computed from texts of labels which change without notification.
+	 */
+	private boolean labelsUpToDate() {
+		for (Entry entry : labelSources) {
+			if (entry.widget.isDisposed()) {
+				return false;
+			}
+			String text = invoke(textMethods, entry.widget, "getText");
+			if (!equals(entry.text, text) || !equals(entry.labelText, getLabelText(entry.widget))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean equals(String s1, String s2) {
+		return s1 == null ? s2 == null : s1.equals(s2);
+	}
+
+	private List<Entry> getCandidates(Map<String, List<Entry>> keys, Matcher<?> matcher) {
+		List<Entry> result = new ArrayList<Entry>();
+		for (Map.Entry<String, List<Entry>> key : keys.entrySet()) {
+			if (matcher.matches(key.getKey())) {
+				result.addAll(key.getValue());
+			}
+		}
+		return result;
+	}
+
+	/*
+	 * Traverses widget tree in the same order as WidgetLookup does.
+	 */
+	private void build() {
+		long start = System.currentTimeMillis();
+		Map<Widget, String> formLabels = new IdentityHashMap<Widget, String>();
+		List<Widget> stack = new ArrayList<Widget>();
+		String previousLabel = null;
+		stack.add(root);
+		while (!stack.isEmpty()) {
+			Widget widget = stack.remove(stack.size() - 1);
+			if (widget == null || widget.isDisposed() || 
+					(widget instanceof Control && !((Control) widget).getVisible())) {
+				continue;
+			}
+			Entry entry = new Entry(widget, entries.size());
+			entries.add(entry);
+			add(entry);
+			add(byClass, widget.getClass(), entry);
+			entry.text = invoke(textMethods, widget, "getText");
+			entry.textTracked = isTextTracked(widget);
+			if (entry.textTracked) {
+				add(byText, entry.text, entry);
+			} else if (entry.text != null) {
+				untrackedTexts.add(entry);
+			}
+			if (WithLabelMatcher.canHaveLabel(widget)) {
+				entry.label = previousLabel;
+			}
+
+			String labelText = getLabelText(widget);
+			if (labelText != null) {
+				previousLabel = labelText;
+			}
+			if (widget instanceof Label || widget instanceof CLabel) {
+				entry.labelText = labelText;
+				labelSources.add(entry);
+			}
+			if ((widget instanceof Label || widget instanceof CLabel) 
+					&& ((Control) widget).getLayoutData() instanceof FormData) {
+				FormData formData = (FormData) ((Control) widget).getLayoutData();
+				if (formData.right != null && formData.right.control != null 
+						&& !formLabels.containsKey(formData.right.control)) {
+					formLabels.put(formData.right.control, entry.text);
+				}
+			}
+
+			List<Widget> children = WidgetResolver.getInstance().getChildren(widget);
+			for (int i = children.size() - 1; i >= 0; i--) {
+				stack.add(children.get(i));
+			}
+		}
+		for (Entry entry : entries) {
+			if (WithLabelMatcher.canHaveLabel(entry.widget)) {
+				String label = formLabels.containsKey(entry.widget) ? formLabels.get(entry.widget) : entry.label;
+				entry.label = label == null ? null : label.replaceAll("&", "").split("\t")[0];
+				add(byLabel, entry.label, entry);
+			}
+		}
+		if (log.isTraceEnabled()) {
+			log.trace("Indexed " + entries.size() + " widgets in " + (System.currentTimeMillis() - start) + " ms");
+		}
+	}
+
+	private void add(Entry entry) {
+		List<Entry> widgetEntries = entriesByWidget.get(entry.widget);
+		if (widgetEntries == null) {
+			widgetEntries = new ArrayList<Entry>(1);
+			entriesByWidget.put(entry.widget, widgetEntries);
+			entry.first = true;
+		}
+		widgetEntries.add(entry);
+	}
+
+	private <K> void add(Map<K, List<Entry>> map, K key, Entry entry) {
+		if (key == null) {
+			return;
+		}
+		List<Entry> keyEntries = map.get(key);
+		if (keyEntries == null) {
+			keyEntries = new ArrayList<Entry>();
+			map.put(key, keyEntries);
+		}
+		keyEntries.add(entry);
+	}
+
+	private void textModified(Widget widget) {
+		List<Entry> widgetEntries = entriesByWidget.get(widget);
+		if (widgetEntries == null) {
+			return;
+		}
+		String text = invoke(textMethods, widget, "getText");
+		for (Entry entry : widgetEntries) {
+			if (!entry.textTracked) {
+				// always a candidate
+				continue;
+			}
+			if (entry.text != null) {
+				List<Entry> keyEntries = byText.get(entry.text);
+				keyEntries.remove(entry);
+				if (keyEntries.isEmpty()) {
+					byText.remove(entry.text);
+				}
+			}
+			entry.text = text;
+			add(byText, text, entry);
+		}
+	}
+
+	/*
+	 * Finds out whether text of widget is kept up to date in the index, i.e. whether 
+	 * the widget sends modify event whenever its text changes.
+	 */
+	private static boolean isTextTracked(Widget widget) {
+		return widget instanceof Text || widget instanceof StyledText || widget instanceof CCombo;
+	}
+
+	private static String getLabelText(Widget widget) {
+		if (widget instanceof Label && ((Label) widget).getImage() == null) {
+			return ((Label) widget).getText();
+		}
+		if (widget instanceof CLabel && ((CLabel) widget).getImage() == null) {
+			return ((CLabel) widget).getText();
+		}
+		return null;
+	}
+
+	private static String invoke(Map<Class<?>, Method> methods, Widget widget, String methodName) {
+		Method method = methods.get(widget.getClass());
+		if (method == null) {
+			try {
+				method = widget.getClass().getMethod(methodName);
+			} catch (NoSuchMethodException e) {
+				method = NO_METHOD;
+			}
+			methods.put(widget.getClass(), method);
+		}
+		if (method == NO_METHOD) {
+			return null;
+		}
+		try {
+			Object result = method.invoke(widget);
+			return result instanceof String ? (String) result : null;
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	private static void registerFilters() {
+		org.eclipse.swt.widgets.Display display = Display.getDisplay();
+		if (display == filteredDisplay) {
+			return;
+		}
+		indexes.clear();
+		Listener listener = new IndexUpdater();
+		for (int eventType : new int[] {SWT.Dispose, SWT.Show, SWT.Hide, SWT.Skin, SWT.Modify}) {
+			display.addFilter(eventType, listener);
+		}
+		filteredDisplay = display;
+	}
+
+	/**
+	 * Updates indexes according to changes in widget tree.
+	 */
+	private static class IndexUpdater implements Listener {
+
+		@Override
+		public void handleEvent(Event event) {
+			if (indexes.isEmpty() || event.widget == null) {
+				return;
+			}
+			switch (event.type) {
+			case SWT.Dispose:
+				// disposed widgets are skipped when looking up
+				indexes.remove(event.widget);
+				break;
+			case SWT.Modify:
+				for (WidgetIndex index : indexes.values()) {
+					index.textModified(event.widget);
+				}
+				break;
+			default:
+				discardIndexes(event.widget);
+			}
+		}
+
+		private void discardIndexes(Widget widget) {
+			Shell widgetShell = widget instanceof Control && !widget.isDisposed() ? ((Control) widget).getShell() : null;
+			Iterator<WidgetIndex> iterator = indexes.values().iterator();
+			while (iterator.hasNext()) {
+				WidgetIndex index = iterator.next();
+				if (widgetShell == null || index.shell == null || index.shell == widgetShell) {
+					iterator.remove();
+				}
+			}
+		}
+	}
+
+	private static final Comparator<Entry> ENTRY_ORDER = new Comparator<Entry>() {
+
+		@Override
+		public int compare(Entry e1, Entry e2) {
+			return e1.position < e2.position ? -1 : (e1.position == e2.position ? 0 : 1);
+		}
+	};
+
+	private static class Entry {
+
+		private final Widget widget;
+
+		private final int position;
+
+		private String text;
+
+		private String label;
+
+		private String labelText;
+
+		private boolean textTracked;
+
+		private boolean first;
+
+		public Entry(Widget widget, int position) {
+			this.widget = widget;
+			this.position = position;
+		}
+
+		/*
+		 * Widget can be reached more than once by traversal, only its first occurrence is looked up.
+		 */
+		public boolean isFirst() {
+			return first;
+		}
+	}
+}
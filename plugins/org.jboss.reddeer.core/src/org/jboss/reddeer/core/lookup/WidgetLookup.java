@@ -11,8 +11,10 @@
 package org.jboss.reddeer.core.lookup;
 
 import java.util.ArrayList;
-import java.util.LinkedHashSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Shell;
@@ -25,6 +27,7 @@ import org.hamcrest.Description;
 import org.hamcrest.Matcher;
 import org.jboss.reddeer.common.exception.WaitTimeoutExpiredException;
 import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
 import org.jboss.reddeer.common.wait.TimePeriod;
 import org.jboss.reddeer.common.wait.WaitUntil;
 import org.jboss.reddeer.core.condition.WidgetIsFound;
@@ -32,6 +35,7 @@ import org.jboss.reddeer.core.exception.CoreLayerException;
 import org.jboss.reddeer.core.handler.WidgetHandler;
 import org.jboss.reddeer.core.matcher.AndMatcher;
 import org.jboss.reddeer.core.matcher.ClassMatcher;
+import org.jboss.reddeer.core.matcher.CompiledMatcher;
 import org.jboss.reddeer.core.matcher.MatcherBuilder;
 import org.jboss.reddeer.core.reference.ReferencedComposite;
 import org.jboss.reddeer.core.resolver.WidgetResolver;
@@ -49,6 +53,8 @@ public class WidgetLookup {
 
 	private static WidgetLookup instance = null;
 	private static final Logger logger = Logger.getLogger(WidgetLookup.class);
+	private static final boolean USE_WIDGET_INDEX = RedDeerProperties.USE_WIDGET_INDEX.getBooleanValue();
+	private static final boolean USE_LOOKUP_CACHE = RedDeerProperties.CACHE_WIDGET_LOOKUP.getBooleanValue();
 
 	private WidgetLookup() {
 	}
@@ -206,7 +212,9 @@ public class WidgetLookup {
 
 		if ((activeWorkbenchParentShell == null || !activeWorkbenchParentShell.equals(activeShell))
 				&& activeShell != null){
-			logger.trace("Setting active shell with title \"" + WidgetHandler.getInstance().getText(activeShell) + "\" as the parent");
+			if (logger.isTraceEnabled()) {
+				logger.trace("Setting active shell with title \"" + WidgetHandler.getInstance().getText(activeShell) + "\" as the parent");
+			}
 			control = activeShell;	
 		}			
 		else {
@@ -296,28 +304,44 @@ public class WidgetLookup {
 			final Matcher<T> matcher, final boolean recursive, final int index) {
 		T ret = Display.syncExec(new ResultRunnable<T>() {
 
+			@SuppressWarnings("unchecked")
 			@Override
 			public T run() {
-				return findControlUI(parentWidget, matcher, recursive, new Index(index));
+				if (!USE_LOOKUP_CACHE || !recursive || index != 0) {
+					return findControlUI(parentWidget, matcher, recursive, index);
+				}
+				T control = (T) WidgetLookupCache.get(parentWidget, matcher);
+				if (control == null) {
+					control = findControlUI(parentWidget, matcher, recursive, index);
+					if (control != null) {
+						WidgetLookupCache.put(parentWidget, matcher, control);
+					}
+				}
+				return control;
 			}
 		});
 		return ret;
 	}
 
-	private static class Index {
-		private int value;
-
-		public Index(int index) {
-			value = index;
-		}
-
-		public boolean isFirst() {
-			return value <= 0;
+	/**
+	 * Finds control using index of widget tree. If no control is found in the index,
+	 * widget tree is traversed and the index is discarded if the traversal finds a control
+	 * missing in the index.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T extends Widget> T findIndexedControlUI(final Widget parentWidget, final Matcher<T> matcher, int index) {
+		if ((parentWidget == null) || parentWidget.isDisposed() || !visible(parentWidget)) {
+			return null;
 		}
-
-		public void passed() {
-			value--;
+		T control = (T) WidgetIndex.getIndex(parentWidget).find(matcher, index);
+		if (control == null) {
+			control = findTraversedControlUI(parentWidget, matcher, true, index);
+			if (control != null) {
+				logger.trace("Widget index is out of date, discarding it");
+				WidgetIndex.discard(parentWidget);
+			}
 		}
+		return control;
 	}
 
 	/**
@@ -346,83 +370,73 @@ public class WidgetLookup {
 	 * @param recursive true for recursive search, false otherwise
 	 * @return children control widget matching specified matcher
 	 */
-	@SuppressWarnings("unchecked")
 	private <T extends Widget> List<T> findControlsUI(final Widget parentWidget, final Matcher<T> matcher, final boolean recursive) {
-
-		if ((parentWidget == null) || parentWidget.isDisposed())
-			return new ArrayList<T>();
-
-
-		if (!visible(parentWidget)) {
-			return new ArrayList<T>();
-		}
-
-		LinkedHashSet<T> controls = new LinkedHashSet<T>();
-
-		if (matcher.matches(parentWidget) && !controls.contains(parentWidget))
-			try {
-				controls.add((T) parentWidget);
-			} catch (ClassCastException exception) {
-				throw new IllegalArgumentException("The specified matcher should only match against is declared type.", exception);
-			}
-		if (recursive) {
-			List<Widget> children = WidgetResolver.getInstance().getChildren(parentWidget);
-			controls.addAll(findControlsUI(children, matcher, recursive));
-		}
-		return new ArrayList<T>(controls);
+		return findControlsUI(parentWidget, matcher, recursive, Integer.MAX_VALUE);
 	}
 
-	@SuppressWarnings("unchecked")
-	private <T extends Widget> T findControlUI(final Widget parentWidget, final Matcher<T> matcher, final boolean recursive, Index index) {
-		if ((parentWidget == null) || parentWidget.isDisposed() || !visible(parentWidget)) {
-			return null;
+	private <T extends Widget> T findControlUI(final Widget parentWidget, final Matcher<T> matcher, final boolean recursive, int index) {
+		if (USE_WIDGET_INDEX && recursive) {
+			return findIndexedControlUI(parentWidget, matcher, index);
 		}
+		return findTraversedControlUI(parentWidget, matcher, recursive, index);
+	}
 
-		if (matcher.matches(parentWidget))
-			try {
-				T control = (T) parentWidget;
-				if(index.isFirst()) {
-					return control;
-				} else {
-					index.passed();
-				}
-			} catch (ClassCastException exception) {
-				throw new IllegalArgumentException("The specified matcher should only match against is declared type.", exception);
-			}
-		if (recursive) {
-			List<Widget> children = WidgetResolver.getInstance().getChildren(parentWidget);
-			return findControlUI(children, matcher, recursive, index);
+	private <T extends Widget> T findTraversedControlUI(final Widget parentWidget, final Matcher<T> matcher, final boolean recursive, int index) {
+		if (index < 0) {
+			index = 0;
 		}
-		return null;
+		List<T> controls = findControlsUI(parentWidget, matcher, recursive, index == Integer.MAX_VALUE ? index : index + 1);
+		return controls.size() > index ? controls.get(index) : null;
 	}
 
 	/**
-	 * Gets list of children control widgets matching specified matcher from specified list of widgets. Method
-	 * can be used recursively to get all children in descendants.
+	 * Gets list of widgets matching specified matcher located within specified parent widget
+	 * (including the parent widget). Widget tree is traversed depth first in the order of children
+	 * and invisible controls are skipped together with their children. Traversal stops once 
+	 * the limit of matching widgets is reached.
 	 * 
 	 * Note: Must be used in UI Thread
 	 * 
-	 * @param widgets list of widgets to get children from
+	 * @param parentWidget parent widget
 	 * @param matcher matcher to match widgets
 	 * @param recursive true for recursive search, false otherwise
-	 * @return list of children widgets of widgets from specified list
+	 * @param limit maximal count of returned widgets
+	 * @return list of widgets matching specified matcher
 	 */
-	private <T extends Widget> List<T> findControlsUI(final List<Widget> widgets, final Matcher<T> matcher, final boolean recursive) {
-		LinkedHashSet<T> list = new LinkedHashSet<T>();
-		for (Widget w : widgets) {
-			list.addAll(findControlsUI(w, matcher, recursive));
-		}
-		return new ArrayList<T>(list);
-	}
-
-	private <T extends Widget> T findControlUI(final List<Widget> widgets, final Matcher<T> matcher, final boolean recursive, Index index) {
-		for (Widget w : widgets) {
-			T control = findControlUI(w, matcher, recursive, index);
-			if(control != null) {
-				return control;
+	@SuppressWarnings("unchecked")
+	private <T extends Widget> List<T> findControlsUI(final Widget parentWidget, final Matcher<T> matcher, 
+			final boolean recursive, final int limit) {
+		Matcher<?> plan = new CompiledMatcher(matcher);
+		List<T> controls = new ArrayList<T>();
+		// a widget can be reached more than once (e.g. control of CTabItem is also child of CTabFolder)
+		Set<Widget> found = null;
+		List<Widget> stack = new ArrayList<Widget>();
+		stack.add(parentWidget);
+		while (!stack.isEmpty() && controls.size() < limit) {
+			Widget widget = stack.remove(stack.size() - 1);
+			if ((widget == null) || widget.isDisposed() || !visible(widget)) {
+				continue;
+			}
+			if (plan.matches(widget)) {
+				if (found == null) {
+					found = Collections.newSetFromMap(new IdentityHashMap<Widget, Boolean>());
+				}
+				if (found.add(widget)) {
+					try {
+						controls.add((T) widget);
+					} catch (ClassCastException exception) {
+						throw new IllegalArgumentException("The specified matcher should only match against is declared type.", exception);
+					}
+				}
+			}
+			if (recursive) {
+				List<Widget> children = WidgetResolver.getInstance().getChildren(widget);
+				for (int i = children.size() - 1; i >= 0; i--) {
+					stack.add(children.get(i));
+				}
 			}
 		}
-		return null;
+		return controls;
 	}
 
 	/**
@@ -0,0 +1,139 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.lookup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Widget;
+import org.hamcrest.Matcher;
+import org.jboss.reddeer.core.matcher.CompiledMatcher;
+import org.jboss.reddeer.core.util.Display;
+
+/**
+ * Cache of first widgets found by {@link WidgetLookup}. Widgets are cached by parent
+ * and matcher of the lookup, matchers are compared by {@link Object#equals(Object)}. 
+ * Cached widget is returned only if it is still not disposed, visible and matching 
+ * the matcher. Cache is cleared whenever a shell is activated or a widget is created 
+ * or shown, so that no other widget can precede the cached one. 
+ * <p>
+ * Only first matching widgets are cached. Whether a widget is still the n-th matching 
+ * one cannot be verified without traversal of preceding widgets.
+ * <p>
+ * Note: Must be used in UI Thread
+ */
+class WidgetLookupCache {
+
+	private static final int MAX_SIZE = 64;
+
+	private static final Map<Key, Widget> widgets = new LinkedHashMap<Key, Widget>(MAX_SIZE, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Widget> eldest) {
+			return size() > MAX_SIZE;
+		}
+	};
+
+	private static org.eclipse.swt.widgets.Display filteredDisplay;
+
+	private WidgetLookupCache() {
+	}
+
+	/**
+	 * Gets first widget found by previous lookup with the same parent and matcher.
+	 * 
+	 * @param parent parent widget of the lookup
+	 * @param matcher matcher of the lookup
+	 * @return cached widget or null if there is no valid widget cached
+	 */
+	static Widget get(Widget parent, Matcher<?> matcher) {
+		registerFilter();
+		Key key = new Key(parent, matcher);
+		Widget widget = widgets.get(key);
+		if (widget == null) {
+			return null;
+		}
+		if (widget.isDisposed() || (widget instanceof Control && !((Control) widget).isVisible())
+				|| !new CompiledMatcher(matcher).matches(widget)) {
+			widgets.remove(key);
+			return null;
+		}
+		return widget;
+	}
+
+	/**
+	 * Caches first widget found by a lookup.
+	 * 
+	 * @param parent parent widget of the lookup
+	 * @param matcher matcher of the lookup
+	 * @param widget found widget
+	 */
+	static void put(Widget parent, Matcher<?> matcher, Widget widget) {
+		registerFilter();
+		widgets.put(new Key(parent, matcher), widget);
+	}
+
+	private static void registerFilter() {
+		org.eclipse.swt.widgets.Display display = Display.getDisplay();
+		if (display == filteredDisplay) {
+			return;
+		}
+		widgets.clear();
+		Listener listener = new Listener() {
+
+			@Override
+			public void handleEvent(Event event) {
+				if (event.type != SWT.Activate || event.widget instanceof org.eclipse.swt.widgets.Shell) {
+					widgets.clear();
+				}
+			}
+		};
+		for (int eventType : new int[] {SWT.Activate, SWT.Show, SWT.Skin}) {
+			display.addFilter(eventType, listener);
+		}
+		filteredDisplay = display;
+	}
+
+	/*
+	 * Matchers not implementing equals are equal only to themselves.
+	 */
+	private static class Key {
+
+		private final Widget parent;
+
+		private final Matcher<?> matcher;
+
+		public Key(Widget parent, Matcher<?> matcher) {
+			this.parent = parent;
+			this.matcher = matcher;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(parent) * 31 + matcher.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return parent == other.parent && matcher.equals(other.matcher);
+		}
+	}
+}
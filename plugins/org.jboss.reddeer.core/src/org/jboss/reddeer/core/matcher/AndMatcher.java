@@ -28,9 +28,12 @@ import org.hamcrest.Matcher;
 public class AndMatcher extends BaseMatcher {
 
 	private Matcher[] matchers;
+
+	private Matcher[] orderedMatchers;
 	
 	/**
-	 * Constructs new AndMatcher.
+	 * Constructs new AndMatcher. Matchers are evaluated from the cheapest ones,
+	 * see {@link CompiledMatcher#orderByCost(Matcher[])}.
 	 * 
 	 * @param matchers matchers to be evaluated conjunctively
 	 */
@@ -38,6 +41,7 @@ public class AndMatcher extends BaseMatcher {
 		if(matchers == null)
 			throw new NullPointerException("matchers");
 		this.matchers = matchers;
+		this.orderedMatchers = CompiledMatcher.orderByCost(matchers);
 	}
 	
 	/* (non-Javadoc)
@@ -45,7 +49,7 @@ public class AndMatcher extends BaseMatcher {
 	 */
 	@Override
 	public boolean matches(Object item) {
-		for (Matcher m : matchers) {
+		for (Matcher m : orderedMatchers) {
 			if (!m.matches(item))
 				return false;
 		}
@@ -76,4 +80,24 @@ public class AndMatcher extends BaseMatcher {
 	public String toString() {
 		return "Matcher matching when all matchers match: " + Arrays.toString(matchers);
 	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == null || obj.getClass() != getClass()) {
+			return false;
+		}
+		AndMatcher other = (AndMatcher) obj;
+		return Arrays.equals(matchers, other.matchers);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(matchers);
+	}
 }
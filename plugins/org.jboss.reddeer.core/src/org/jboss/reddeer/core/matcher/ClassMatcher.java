@@ -66,4 +66,24 @@ public class ClassMatcher extends BaseMatcher {
 	public String toString() {
 		return "Matcher matching widget with the same type as or type extending " + c;
 	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == null || obj.getClass() != getClass()) {
+			return false;
+		}
+		ClassMatcher other = (ClassMatcher) obj;
+		return c.equals(other.c);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return c.hashCode();
+	}
 }
@@ -0,0 +1,167 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.matcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Widget;
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.jboss.reddeer.core.handler.WidgetHandler;
+import org.jboss.reddeer.core.lookup.WidgetLookup;
+
+/**
+ * Matcher plan compiled from a matcher for one lookup of widgets. Nested {@link AndMatcher}s
+ * are flattened and matchers are evaluated from the cheapest ones, so that e.g. class and
+ * style of a widget are checked before its text or label. Labels of widgets are resolved 
+ * among widgets of active parent which are looked up only once per plan.
+ * <p>
+ * Plan caches values derived from widgets, so it should be used only within one lookup.
+ * Note: Must be used in UI Thread.
+ */
+@SuppressWarnings("rawtypes")
+public class CompiledMatcher extends BaseMatcher {
+
+	private static final int CLASS_COST = 0;
+	private static final int STYLE_COST = 1;
+	private static final int TEXT_COST = 2;
+	private static final int DEFAULT_COST = 3;
+	private static final int LABEL_COST = 4;
+
+	private static final Comparator<Matcher> COST_ORDER = new Comparator<Matcher>() {
+
+		@Override
+		public int compare(Matcher m1, Matcher m2) {
+			return getCost(m1) - getCost(m2);
+		}
+	};
+
+	private final Matcher matcher;
+
+	private final Matcher[] plan;
+
+	private final Map<Widget, String> labels = new IdentityHashMap<Widget, String>();
+
+	private List<Control> parentWidgets;
+
+	/**
+	 * Compiles plan of specified matcher.
+	 * 
+	 * @param matcher matcher to compile
+	 */
+	public CompiledMatcher(Matcher matcher) {
+		if (matcher == null)
+			throw new NullPointerException("matcher");
+		this.matcher = matcher;
+		List<Matcher> matchers = new ArrayList<Matcher>();
+		flatten(matcher, matchers);
+		this.plan = orderByCost(matchers.toArray(new Matcher[matchers.size()]));
+	}
+
+	/**
+	 * Orders matchers by estimated cost of their evaluation, the cheapest first. 
+	 * Order of matchers with the same cost is preserved.
+	 * 
+	 * @param matchers matchers to order
+	 * @return new array of ordered matchers
+	 */
+	public static Matcher[] orderByCost(Matcher[] matchers) {
+		Matcher[] ordered = Arrays.copyOf(matchers, matchers.length);
+		Arrays.sort(ordered, COST_ORDER);
+		return ordered;
+	}
+
+	private static int getCost(Matcher matcher) {
+		if (matcher instanceof ClassMatcher || matcher instanceof WithClassNameMatcher) {
+			return CLASS_COST;
+		}
+		if (matcher instanceof WithStyleMatcher) {
+			return STYLE_COST;
+		}
+		if (matcher instanceof AbstractWidgetWithTextMatcher) {
+			return TEXT_COST;
+		}
+		if (matcher instanceof WithLabelMatcher) {
+			return LABEL_COST;
+		}
+		return DEFAULT_COST;
+	}
+
+	private static void flatten(Matcher matcher, List<Matcher> result) {
+		if (matcher instanceof AndMatcher) {
+			for (Matcher m : ((AndMatcher) matcher).getMatchers()) {
+				flatten(m, result);
+			}
+		} else if (matcher instanceof CompiledMatcher) {
+			Collections.addAll(result, ((CompiledMatcher) matcher).plan);
+		} else {
+			result.add(matcher);
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see org.hamcrest.Matcher#matches(java.lang.Object)
+	 */
+	@Override
+	public boolean matches(Object item) {
+		for (Matcher m : plan) {
+			if (m instanceof WithLabelMatcher && item instanceof Widget) {
+				if (!matchesLabel((WithLabelMatcher) m, (Widget) item)) {
+					return false;
+				}
+			} else if (!m.matches(item)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean matchesLabel(WithLabelMatcher labelMatcher, Widget widget) {
+		if (!WithLabelMatcher.canHaveLabel(widget)) {
+			return false;
+		}
+		String label;
+		if (labels.containsKey(widget)) {
+			label = labels.get(widget);
+		} else {
+			if (parentWidgets == null) {
+				parentWidgets = WidgetLookup.getInstance().findAllParentWidgets();
+			}
+			label = WidgetHandler.getInstance().getLabel(widget, parentWidgets);
+			labels.put(widget, label);
+		}
+		return labelMatcher.matchesLabel(label);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.hamcrest.SelfDescribing#describeTo(org.hamcrest.Description)
+	 */
+	@Override
+	public void describeTo(Description description) {
+		matcher.describeTo(description);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.hamcrest.BaseMatcher#toString()
+	 */
+	@Override
+	public String toString() {
+		return matcher.toString();
+	}
+}
@@ -33,6 +33,11 @@ import org.jboss.reddeer.core.handler.WidgetHandler;
 public class WithLabelMatcher extends BaseMatcher<String> {
 
 	private Matcher<String> matcher;
+
+	/*
+	 * Text of matcher created from a text, matchers with the same text are equal.
+	 */
+	private String text;
 	
 	/**
 	 * Constructs new WithLabelMatcher matching specified text to label of {@link Widget}
@@ -43,6 +48,7 @@ public class WithLabelMatcher extends BaseMatcher<String> {
 	 */
 	public WithLabelMatcher(String text) {
 		this(Is.<String>is(text));
+		this.text = text;
 	}
 	
 	/**
@@ -68,6 +74,7 @@ public class WithLabelMatcher extends BaseMatcher<String> {
 
 	/**
 	 * Matches specified object to text or text matcher provided in constructor of this object.
+	 * If specified object is a string, it is matched as a label itself.
 	 *
 	 * @param item the item
 	 * @return true, if successful
@@ -76,16 +83,36 @@ public class WithLabelMatcher extends BaseMatcher<String> {
 	 */
 	@Override
 	public boolean matches(Object item) {		
-		if ((item instanceof List) || (item instanceof Text) || (item instanceof Button)
-				|| (item instanceof Combo) || (item instanceof CCombo) || (item instanceof Spinner)) {
-			String widgetLabel = WidgetHandler.getInstance().getLabel((Widget)item);
-			if (widgetLabel != null && matcher.matches(widgetLabel)) {
-				return true;
-			}
+		if (item instanceof String) {
+			return matchesLabel((String) item);
+		}
+		if (canHaveLabel(item)) {
+			return matchesLabel(WidgetHandler.getInstance().getLabel((Widget)item));
 		}
 		return false;
 	}
 	
+	/**
+	 * Matches specified label to text or text matcher provided in constructor of this object.
+	 *
+	 * @param label label of a widget
+	 * @return true if label is matching text or text matcher of this object, false otherwise
+	 */
+	public boolean matchesLabel(String label) {
+		return label != null && matcher.matches(label);
+	}
+
+	/**
+	 * Finds out whether specified object is a widget which can be matched by label.
+	 *
+	 * @param item the item
+	 * @return true if object is a widget with label, false otherwise
+	 */
+	public static boolean canHaveLabel(Object item) {
+		return (item instanceof List) || (item instanceof Text) || (item instanceof Button)
+				|| (item instanceof Combo) || (item instanceof CCombo) || (item instanceof Spinner);
+	}
+
 	/* (non-Javadoc)
 	 * @see org.hamcrest.BaseMatcher#toString()
 	 */
@@ -93,5 +120,24 @@ public class WithLabelMatcher extends BaseMatcher<String> {
 	public String toString() {
 		return "Matcher matching widget with label:\n" + matcher.toString();
 	}
-}
 
+	/* (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == null || obj.getClass() != getClass()) {
+			return false;
+		}
+		WithLabelMatcher other = (WithLabelMatcher) obj;
+		return text != null || other.text != null ? text != null && text.equals(other.text) : matcher.equals(other.matcher);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return text != null ? text.hashCode() : matcher.hashCode();
+	}
+}
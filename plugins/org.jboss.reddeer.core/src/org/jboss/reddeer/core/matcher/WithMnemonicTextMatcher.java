@@ -28,6 +28,11 @@ import org.hamcrest.core.Is;
 public class WithMnemonicTextMatcher extends AbstractWidgetWithTextMatcher {
 
 	private Matcher<String> matcher;
+
+	/*
+	 * Text of matcher created from a text, matchers with the same text are equal.
+	 */
+	private String text;
 	
 	/**
 	 * Constructs new WithMnemonicTextMatcher matcher matching mnemonic text of {@link Widget} 
@@ -37,6 +42,7 @@ public class WithMnemonicTextMatcher extends AbstractWidgetWithTextMatcher {
 	 */
 	public WithMnemonicTextMatcher(String text) {
 		this(Is.is(text));
+		this.text = text;
 	}
 	
 	/**
@@ -75,4 +81,24 @@ public class WithMnemonicTextMatcher extends AbstractWidgetWithTextMatcher {
 	public String toString() {
 		return "Matcher matching widgets with text that without mnenomic matches: " + matcher;
 	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == null || obj.getClass() != getClass()) {
+			return false;
+		}
+		WithMnemonicTextMatcher other = (WithMnemonicTextMatcher) obj;
+		return text != null || other.text != null ? text != null && text.equals(other.text) : matcher.equals(other.matcher);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return text != null ? text.hashCode() : matcher.hashCode();
+	}
 }
@@ -69,4 +69,24 @@ public class WithStyleMatcher extends BaseMatcher<Integer> {
 	public String toString() {
 		return "Widget matcher matching widgets with style: " + style;
 	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == null || obj.getClass() != getClass()) {
+			return false;
+		}
+		WithStyleMatcher other = (WithStyleMatcher) obj;
+		return style == other.style;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return style;
+	}
 }
@@ -25,6 +25,11 @@ import org.hamcrest.core.IsEqual;
 public class WithTextMatcher extends AbstractWidgetWithTextMatcher {
 
 	private Matcher<String> matcher;
+
+	/*
+	 * Text of matcher created from a text, matchers with the same text are equal.
+	 */
+	private String text;
 	
 	/**
 	 * Constructs new WithTextMatcher matching text of {@link Widget} to specified text.
@@ -34,6 +39,7 @@ public class WithTextMatcher extends AbstractWidgetWithTextMatcher {
 	 */
 	public WithTextMatcher(String text) {
 		this(new IsEqual<String>(text));
+		this.text = text;
 	}
 
 	/**
@@ -71,4 +77,24 @@ public class WithTextMatcher extends AbstractWidgetWithTextMatcher {
 	public String toString() {
 		return "Matcher matching widget which text matches: "+matcher.toString();
 	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == null || obj.getClass() != getClass()) {
+			return false;
+		}
+		WithTextMatcher other = (WithTextMatcher) obj;
+		return text != null || other.text != null ? text != null && text.equals(other.text) : matcher.equals(other.matcher);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return text != null ? text.hashCode() : matcher.hashCode();
+	}
 }
@@ -27,6 +27,11 @@ import org.jboss.reddeer.core.matcher.AbstractWidgetWithTextMatcher;
 public class WithTooltipTextMatcher extends AbstractWidgetWithTextMatcher {
 
 	private Matcher<String> matcher;
+
+	/*
+	 * Text of matcher created from a text, matchers with the same text are equal.
+	 */
+	private String text;
 	
 	/**
 	 * Creates new WithTooltipTextMatcher matching tool tip of {@link Widget} to specified text.
@@ -35,6 +40,7 @@ public class WithTooltipTextMatcher extends AbstractWidgetWithTextMatcher {
 	 */
 	public WithTooltipTextMatcher(String text) {
 		this(new IsEqual<String>(text));
+		this.text = text;
 	}
 	
 	
@@ -86,4 +92,24 @@ public class WithTooltipTextMatcher extends AbstractWidgetWithTextMatcher {
 	public String toString() {
 		return "Matcher matching widget which tooltip matches: "+matcher.toString();
 	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == null || obj.getClass() != getClass()) {
+			return false;
+		}
+		WithTooltipTextMatcher other = (WithTooltipTextMatcher) obj;
+		return text != null || other.text != null ? text != null && text.equals(other.text) : matcher.equals(other.matcher);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return text != null ? text.hashCode() : matcher.hashCode();
+	}
 }
@@ -12,9 +12,10 @@ package org.jboss.reddeer.core.resolver;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-
-import javax.xml.soap.Text;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.eclipse.swt.custom.CTabFolder;
 import org.eclipse.swt.custom.CTabItem;
@@ -31,7 +32,6 @@ import org.eclipse.swt.widgets.ToolBar;
 import org.eclipse.swt.widgets.ToolItem;
 import org.eclipse.swt.widgets.Widget;
 import org.jboss.reddeer.common.logging.Logger;
-import org.jboss.reddeer.core.exception.CoreLayerException;
 
 /**
  * Widget resolver resolves children and parent of supported type.
@@ -46,11 +46,17 @@ import org.jboss.reddeer.core.exception.CoreLayerException;
  * <li>CTabItem</li>
  * <li>TabItem</li>
  * <li>ToolBar</li>
+ * <li>ToolItem</li>
+ * <li>Table</li>
+ * <li>TableItem</li>
  * <li>Composite</li>
  * <li>Control</li>
- * <li>Text</li>
  * </ul>
  * 
+ * Other widgets can be supported by registering a {@link WidgetResolvingStrategy} via
+ * {@link #registerStrategy(Class, WidgetResolvingStrategy)}. Widget is resolved by the strategy
+ * registered for the nearest class in its class hierarchy.
+ * 
  * @author Jiri Peterka
  *
  */
@@ -59,32 +65,182 @@ public class WidgetResolver  {
 	private static final Logger log = Logger.getLogger(WidgetResolver.class);
 	
 	private static WidgetResolver instance = null;
-	private WidgetResolver() {}
+
+	private static final List<Widget> NO_CHILDREN = Collections.emptyList();
+
+	/*
+	 * Used for widgets with no registered strategy so that unsupported classes are cached as well.
+	 */
+	private static final WidgetResolvingStrategy UNSUPPORTED = new WidgetResolvingStrategy() {
+
+		@Override
+		public Widget getParent(Widget widget) {
+			return null;
+		}
+
+		@Override
+		public List<Widget> getChildren(Widget widget) {
+			return NO_CHILDREN;
+		}
+	};
+
+	private final ConcurrentMap<Class<?>, WidgetResolvingStrategy> registeredStrategies = 
+			new ConcurrentHashMap<Class<?>, WidgetResolvingStrategy>();
+
+	private final ConcurrentMap<Class<?>, WidgetResolvingStrategy> strategies = 
+			new ConcurrentHashMap<Class<?>, WidgetResolvingStrategy>();
+
+	private WidgetResolver() {
+		registerStrategy(Control.class, new ControlStrategy());
+		registerStrategy(Composite.class, new CompositeStrategy());
+		registerStrategy(ExpandBar.class, new ControlStrategy() {
+
+			@Override
+			public List<Widget> getChildren(Widget widget) {
+				return Arrays.<Widget>asList(((ExpandBar) widget).getItems());
+			}
+		});
+		registerStrategy(CTabFolder.class, new ControlStrategy() {
+
+			@Override
+			public List<Widget> getChildren(Widget widget) {
+				CTabFolder folder = (CTabFolder) widget;
+				Control[] children = folder.getChildren();
+				CTabItem[] items = folder.getItems();
+				List<Widget> result = new ArrayList<Widget>(children.length + items.length);
+				result.addAll(Arrays.asList(children));
+				result.addAll(Arrays.asList(items));
+				return result;
+			}
+		});
+		registerStrategy(TabFolder.class, new ControlStrategy() {
+
+			@Override
+			public List<Widget> getChildren(Widget widget) {
+				return Arrays.<Widget>asList(((TabFolder) widget).getItems());
+			}
+		});
+		registerStrategy(ToolBar.class, new ControlStrategy() {
+
+			@Override
+			public List<Widget> getChildren(Widget widget) {
+				return Arrays.<Widget>asList(((ToolBar) widget).getItems());
+			}
+		});
+		registerStrategy(Table.class, new ControlStrategy() {
+
+			@Override
+			public List<Widget> getChildren(Widget widget) {
+				return Arrays.<Widget>asList(((Table) widget).getItems());
+			}
+		});
+		registerStrategy(ExpandItem.class, new ItemStrategy() {
+
+			@Override
+			public Widget getParent(Widget widget) {
+				return ((ExpandItem) widget).getParent();
+			}
+
+			@Override
+			protected Control getControl(Widget widget) {
+				return ((ExpandItem) widget).getControl();
+			}
+		});
+		registerStrategy(CTabItem.class, new ItemStrategy() {
+
+			@Override
+			public Widget getParent(Widget widget) {
+				return ((CTabItem) widget).getParent();
+			}
+
+			@Override
+			protected Control getControl(Widget widget) {
+				return ((CTabItem) widget).getControl();
+			}
+		});
+		registerStrategy(TabItem.class, new ItemStrategy() {
+
+			@Override
+			public Widget getParent(Widget widget) {
+				return ((TabItem) widget).getParent();
+			}
+
+			@Override
+			protected Control getControl(Widget widget) {
+				return ((TabItem) widget).getControl();
+			}
+		});
+		registerStrategy(ToolItem.class, new ItemStrategy() {
+
+			@Override
+			public Widget getParent(Widget widget) {
+				return ((ToolItem) widget).getParent();
+			}
+		});
+		registerStrategy(TableItem.class, new ItemStrategy() {
+
+			@Override
+			public Widget getParent(Widget widget) {
+				return ((TableItem) widget).getParent();
+			}
+		});
+	}
 	
 	/**
 	 * Returns instance of WidgetResolver.
 	 * 
 	 * @return widgetResolver instance
 	 */
-	public static WidgetResolver getInstance() {
+	public static synchronized WidgetResolver getInstance() {
 		if (instance == null) instance = new WidgetResolver();
 		return instance;
 	}
-	
-	private static final Class<?>[] supported = {
-		ExpandBar.class,
-		ExpandItem.class,
-		CTabFolder.class,
-		TabFolder.class,
-		CTabItem.class,
-		TabItem.class,
-		ToolBar.class,
-		Composite.class,
-		Control.class,
-		Text.class
-	};
-	
-	private TabItem[] items;
+
+	/**
+	 * Registers strategy resolving widgets of specified class and its subclasses
+	 * which have no strategy registered. Previously registered strategy of the class
+	 * is replaced.
+	 * 
+	 * @param widgetClass class of widgets to resolve
+	 * @param strategy strategy resolving widgets
+	 */
+	public void registerStrategy(Class<? extends Widget> widgetClass, WidgetResolvingStrategy strategy) {
+		if (widgetClass == null || strategy == null) {
+			throw new IllegalArgumentException("Widget class and strategy cannot be null");
+		}
+		registeredStrategies.put(widgetClass, strategy);
+		strategies.clear();
+	}
+
+	/**
+	 * Unregisters strategy of specified class.
+	 * 
+	 * @param widgetClass class of widgets
+	 */
+	public void unregisterStrategy(Class<? extends Widget> widgetClass) {
+		registeredStrategies.remove(widgetClass);
+		strategies.clear();
+	}
+
+	private WidgetResolvingStrategy getStrategy(Widget w) {
+		Class<?> widgetClass = w.getClass();
+		WidgetResolvingStrategy strategy = strategies.get(widgetClass);
+		if (strategy == null) {
+			strategy = findStrategy(widgetClass);
+			strategies.put(widgetClass, strategy);
+		}
+		return strategy;
+	}
+
+	private WidgetResolvingStrategy findStrategy(Class<?> widgetClass) {
+		for (Class<?> c = widgetClass; c != null; c = c.getSuperclass()) {
+			WidgetResolvingStrategy strategy = registeredStrategies.get(c);
+			if (strategy != null) {
+				return strategy;
+			}
+		}
+		return UNSUPPORTED;
+	}
 
 	/**
 	 * Returns parent of specified widget. If widget is not resolvable, return null.
@@ -94,118 +250,28 @@ public class WidgetResolver  {
 	 * @return parent widget or null
 	 */
 	public Widget getParent(Widget w) {
-		if (isResolvable(w)) {
-			if (w instanceof ExpandBar) {
-				return ((ExpandBar) w).getParent();
-			}
-			if (w instanceof ExpandItem) {
-				return ((ExpandItem) w).getParent();
-			}
-			else if (w instanceof CTabFolder) {
-				return ((CTabFolder) w).getParent();
-			}
-			else if (w instanceof TabFolder) {
-				return ((TabFolder) w).getParent();
-			}
-			else if (w instanceof CTabItem) {
-				return ((CTabItem) w).getParent();
-			}
-			else if (w instanceof TabItem) {
-				return ((TabItem) w).getParent();
-			}
-			else if (w instanceof ToolBar) {
-				return ((ToolBar) w).getParent();
-			}
-			else if (w instanceof Composite) {
-				// Control
-				Composite parent = w instanceof Control ? ((Control) w).getParent() : null;
-				
-				// If composite under TabFolder find widget under TabFolder siblings
-				if ((w instanceof Composite) && (parent instanceof TabFolder)) {
-						
-					if ((parent == null) || parent.isDisposed()) {
-						throw new CoreLayerException("TabFolder is null or disposed while resolving");
-					}
-					TabItem[] tabItems = ((TabFolder) parent).getItems();
-
-					int index = -1;
-					index = Arrays.asList(tabItems).indexOf(w);
-					
-					if (index == -1) throw new CoreLayerException("Widget not found under TabFolder");
-					
-					return items[index];
-				}
-				return parent;
-			}
-			else if (w instanceof Control) {
-				return ((Control) w).getParent();
-			}
+		if (!isResolvable(w)) {
+			log.warn("Cannot find parent of widget. Widget type is not supported (" + w.getClass() + ")");
+			return null;
 		}
-		log.warn("Cannot find parent of widget. Widget type is not supported (" + w.getClass() + ")");
-		return null;
+		return getStrategy(w).getParent(w);
 	}
 
 	
 	/**
-	 * Returns children of specified widget. If widget is not resolvable, return null.
+	 * Returns children of specified widget. If widget is not resolvable, return empty list.
+	 * Returned list can be a view of an array and must not be modified.
 	 * Must be called from UI Thread.
 	 * 
 	 * @param w widget to resolve
 	 * @return list of children widgets
 	 */
 	public List<Widget> getChildren(Widget w) {
-		List<Widget> children = new ArrayList<Widget>();
-		
-		if (w instanceof ExpandBar) {
-			Widget[] items = ((ExpandBar) w).getItems();
-			children = Arrays.asList(items);
-			
-		} else if (w instanceof ExpandItem) {
-			Control control = ((ExpandItem) w).getControl();
-			if (control != null) children.add(control);
-			
-		} else if (w instanceof CTabFolder) {
-			List<Widget> tempList = new ArrayList<>();
-			tempList.addAll(Arrays.asList(((CTabFolder) w).getChildren()));
-			tempList.addAll(Arrays.asList(((CTabFolder) w).getItems()));
-			children = tempList;
-
-		} else if (w instanceof TabFolder) {
-			Widget[] items = ((TabFolder) w).getItems();
-			children = Arrays.asList(items);
-		}
-		else if (w instanceof CTabItem) {
-			Control control = ((CTabItem) w).getControl();
-			if (control != null) children.add(control);
-		}
-		else if (w instanceof TabItem) {
-			Control control = ((TabItem) w).getControl();
-			if (control != null) children.add(control);
-		}
-		else if (w instanceof ToolBar) {
-			Widget[] items = ((ToolBar) w).getItems();
-			children = Arrays.asList(items);
-		} else if (w instanceof ToolItem) {
-			// do nothing
-		} else if (w instanceof Table) {
-			Widget[] items = ((Table) w).getItems();
-			children = Arrays.asList(items);
-		}
-		else if (w instanceof TableItem) {
-			// do nothing
-		}
-		else if (w instanceof Composite)  {
-			Widget[] items = ((Composite) w).getChildren();
-			children = Arrays.asList(items);
-		} 
-		else if (w instanceof Control) {
-			// do nothing
-		}
-		else {
+		WidgetResolvingStrategy strategy = getStrategy(w);
+		if (strategy == UNSUPPORTED) {
 			log.warn("Cannot find children of widget. Widget type is not supported (" + w.getClass() + ")");
 		}
-		
-		return children;
+		return strategy.getChildren(w);
 	}
 
 	/**
@@ -239,6 +305,63 @@ public class WidgetResolver  {
 	public boolean isResolvable(Widget w) {
 		// DateTime is not supported because of eclipse bug https://bugs.eclipse.org/bugs/show_bug.cgi?id=206868
 		if (w instanceof DateTime) return false;
-		return Arrays.asList(supported).contains(w.getClass());
+		return getStrategy(w) != UNSUPPORTED;
+	}
+
+	/**
+	 * Resolves controls, which have no children.
+	 */
+	private static class ControlStrategy implements WidgetResolvingStrategy {
+
+		@Override
+		public Widget getParent(Widget widget) {
+			return ((Control) widget).getParent();
+		}
+
+		@Override
+		public List<Widget> getChildren(Widget widget) {
+			return NO_CHILDREN;
+		}
+	}
+
+	/**
+	 * Resolves composites. Parent of a composite under TabFolder is the tab item 
+	 * which holds the composite.
+	 */
+	private static class CompositeStrategy extends ControlStrategy {
+
+		@Override
+		public Widget getParent(Widget widget) {
+			Composite parent = ((Control) widget).getParent();
+			if (parent instanceof TabFolder) {
+				for (TabItem tabItem : ((TabFolder) parent).getItems()) {
+					if (tabItem.getControl() == widget) {
+						return tabItem;
+					}
+				}
+			}
+			return parent;
+		}
+
+		@Override
+		public List<Widget> getChildren(Widget widget) {
+			return Arrays.<Widget>asList(((Composite) widget).getChildren());
+		}
+	}
+
+	/**
+	 * Resolves items. Child of an item is its control if there is any.
+	 */
+	private abstract static class ItemStrategy implements WidgetResolvingStrategy {
+
+		@Override
+		public List<Widget> getChildren(Widget widget) {
+			Control control = getControl(widget);
+			return control == null ? NO_CHILDREN : Collections.<Widget>singletonList(control);
+		}
+
+		protected Control getControl(Widget widget) {
+			return null;
+		}
 	}
 }
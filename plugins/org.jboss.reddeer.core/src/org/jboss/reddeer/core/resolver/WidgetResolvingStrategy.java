@@ -0,0 +1,41 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.resolver;
+
+import java.util.List;
+
+import org.eclipse.swt.widgets.Widget;
+
+/**
+ * Strategy resolving parent and children of widgets of one type. Strategies 
+ * are registered to {@link WidgetResolver} which allows lookups to traverse also
+ * custom widgets (e.g. widgets with own items). 
+ * Note: Methods are called in UI Thread.
+ */
+public interface WidgetResolvingStrategy {
+
+	/**
+	 * Gets parent of specified widget.
+	 * 
+	 * @param widget widget to resolve
+	 * @return parent widget or null
+	 */
+	Widget getParent(Widget widget);
+
+	/**
+	 * Gets children of specified widget. Returned list can be a view of an array and
+	 * must not be modified.
+	 * 
+	 * @param widget widget to resolve
+	 * @return list of children widgets, empty list if there are no children
+	 */
+	List<Widget> getChildren(Widget widget);
+}
@@ -10,13 +10,20 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.core.util;
 
+import org.eclipse.swt.SWTException;
 import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.statistics.UIRoundTripStatistics;
 import org.jboss.reddeer.core.interceptor.SyncInterceptorManager;
 import org.jboss.reddeer.core.exception.CoreLayerException;
 
 
 /**
  * RedDeer display provider.
+ * <p>
+ * Several UI operations can be executed within one UI thread round-trip via
+ * {@link #batch(ResultRunnable)}. Calls of {@link #syncExec(ResultRunnable)}
+ * made inside a batch (e.g. by handlers) are executed directly without 
+ * performing sync interceptors again.
  * 
  * @author Jiri Peterka
  * @author Lucia Jelinkova
@@ -25,10 +32,18 @@ public class Display {
 
 	private static final Logger log = Logger.getLogger(Display.class);
 
-	private static org.eclipse.swt.widgets.Display display;
+	/*
+	 * Display and its thread are cached and cleared when the display is disposed.
+	 */
+	private static volatile org.eclipse.swt.widgets.Display display;
+	private static volatile Thread uiThread;
 	private static SyncInterceptorManager sim = SyncInterceptorManager.getInstance();
+	private static UIRoundTripStatistics statistics = UIRoundTripStatistics.getInstance();
 
-	private static boolean firstAttempt = true;
+	/*
+	 * Depth of nested batches, accessed only in UI thread.
+	 */
+	private static int batchDepth = 0;
 
 	private Display(){
 		super();
@@ -40,18 +55,53 @@ public class Display {
 	 * @return current Display instance or throws CoreLayerException if there is no display
 	 */
 	public static org.eclipse.swt.widgets.Display getDisplay() {
-		if ((display == null) || display.isDisposed()) {
-			display = null;
-			Thread[] allThreads = allThreads();
-			for (Thread thread : allThreads) {
-				org.eclipse.swt.widgets.Display d = org.eclipse.swt.widgets.Display.findDisplay(thread);
-				if (d != null && !d.isDisposed())
-					display = d;
+		org.eclipse.swt.widgets.Display current = display;
+		if (current != null) {
+			return current;
+		}
+		return findDisplay();
+	}
+
+	private static org.eclipse.swt.widgets.Display findDisplay() {
+		org.eclipse.swt.widgets.Display found = null;
+		for (Thread thread : allThreads()) {
+			org.eclipse.swt.widgets.Display d = org.eclipse.swt.widgets.Display.findDisplay(thread);
+			if (d != null && !d.isDisposed())
+				found = d;
+		}
+		if (found == null)
+			throw new CoreLayerException("Could not find a display");
+
+		final org.eclipse.swt.widgets.Display d = found;
+		Runnable clearCache = new Runnable() {
+
+			@Override
+			public void run() {
+				d.disposeExec(new Runnable() {
+
+					@Override
+					public void run() {
+						if (display == d) {
+							display = null;
+							uiThread = null;
+						}
+					}
+				});
+			}
+		};
+		// dispose hook can be registered only in UI thread
+		try {
+			if (d.getThread() == Thread.currentThread()) {
+				clearCache.run();
+			} else {
+				d.syncExec(clearCache);
 			}
-			if (display == null)
-				throw new CoreLayerException("Could not find a display");
+			uiThread = d.getThread();
+		} catch (SWTException e) {
+			throw new CoreLayerException("Could not find a display", e);
 		}
-		return display;
+		display = d;
+		return d;
 	}
 
 	/**
@@ -73,20 +123,20 @@ public class Display {
 	@SuppressWarnings("unchecked")
 	public static <T> T syncExec(final ResultRunnable<T> runnable) {
 		
-		if (!sim.isIntercepted()) {
-			sim.performBeforeSync();
+		if (isInBatch()) {
+			// interceptors were already performed for the whole batch
+			return runInBatch(runnable);
 		}
+
+		// does nothing if there are no interceptors or if called from an interceptor
+		sim.performBeforeSync();
 		
-		ErrorHandlingRunnable<T> errorHandlingRunnable = new ErrorHandlingRunnable<T>(runnable);
+		ErrorHandlingRunnable<T> errorHandlingRunnable = new ErrorHandlingRunnable<T>(runnable, findCaller(), true);
 
 		if (!isUIThread()) {
-			firstAttempt = true;
 			Display.getDisplay().syncExec(errorHandlingRunnable);
 		} else {
-			if (firstAttempt) {
-				log.debug("UI Call chaining attempt");
-				firstAttempt = false;
-			}
+			log.trace("UI Call chaining attempt");
 			if (runnable instanceof ErrorHandlingRunnable){
 				errorHandlingRunnable = (ErrorHandlingRunnable<T>) runnable;
 			}
@@ -97,21 +147,75 @@ public class Display {
 			throw new CoreLayerException("Exception during sync execution in UI thread", errorHandlingRunnable.getException());
 		}
 
-		if (!sim.isIntercepted()) {
-			sim.performAfterSync();
-		}
+		sim.performAfterSync();
 		
 		return errorHandlingRunnable.getResult();
 
 	}
 
+	/**
+	 * Runs runnable in UI thread within one sync execution. All sync executions
+	 * performed by the runnable are executed directly in UI thread without 
+	 * performing sync interceptors.
+	 * 
+	 * @param runnable runnable
+	 */
+	public static void batch(Runnable runnable) {
+		batch(new VoidResultRunnable(runnable));
+	}
+
+	/**
+	 * Runs runnable in UI thread within one sync execution and returns its 
+	 * result. All sync executions performed by the runnable are executed directly
+	 * in UI thread without performing sync interceptors. Sync interceptors 
+	 * are performed once for the whole batch.
+	 *
+	 * @param <T> the generic type
+	 * @param runnable runnable
+	 * @return result of runnable
+	 */
+	public static <T> T batch(final ResultRunnable<T> runnable) {
+		return syncExec(new ResultRunnable<T>() {
+
+			@Override
+			public T run() {
+				batchDepth++;
+				try {
+					return runnable.run();
+				} finally {
+					batchDepth--;
+				}
+			}
+		});
+	}
+
+	/**
+	 * Finds out whether current thread executes a batch started by 
+	 * {@link #batch(ResultRunnable)}.
+	 * 
+	 * @return true if called within a batch, false otherwise
+	 */
+	public static boolean isInBatch() {
+		return batchDepth > 0 && isUIThread();
+	}
+
+	private static <T> T runInBatch(ResultRunnable<T> runnable) {
+		ErrorHandlingRunnable<T> errorHandlingRunnable = new ErrorHandlingRunnable<T>(runnable, null, true);
+		errorHandlingRunnable.run();
+		if (errorHandlingRunnable.exceptionOccurred()){
+			throw new CoreLayerException("Exception during sync execution in UI thread", errorHandlingRunnable.getException());
+		}
+		return errorHandlingRunnable.getResult();
+	}
+
 	/**
 	 * Run async in UI thread without returning any result.
 	 * 
 	 * @param runnable runnable
 	 */
 	public static void asyncExec(Runnable runnable) {
-		ErrorHandlingRunnable<Void> errorHandlingRunnable = new ErrorHandlingRunnable<Void>(new VoidResultRunnable(runnable));
+		ErrorHandlingRunnable<Void> errorHandlingRunnable = new ErrorHandlingRunnable<Void>(
+				new VoidResultRunnable(runnable), findCaller(), false);
 
 		getDisplay().asyncExec(errorHandlingRunnable);
 
@@ -120,15 +224,41 @@ public class Display {
 		}
 	}
 
+	/*
+	 * Finds method which called Display, e.g. "ShellLookup#getActiveShell". Returns null 
+	 * if UI statistics are not collected so that the stack is walked only when needed.
+	 */
+	private static String findCaller() {
+		if (!statistics.isEnabled()) {
+			return null;
+		}
+		String displayClass = Display.class.getName();
+		for (StackTraceElement element : new Throwable().getStackTrace()) {
+			String className = element.getClassName();
+			if (!className.startsWith(displayClass)) {
+				return className.substring(className.lastIndexOf('.') + 1) + "#" + element.getMethodName();
+			}
+		}
+		return "unknown";
+	}
+
 	private static boolean isUIThread() {
-		return getDisplay().getThread() == Thread.currentThread();			
+		Thread thread = uiThread;
+		if (thread == null) {
+			thread = getDisplay().getThread();
+		}
+		return thread == Thread.currentThread();
 	}
 
 	private static Thread[] allThreads() {
 		ThreadGroup threadGroup = primaryThreadGroup();
 
-		Thread[] threads = new Thread[64];
+		Thread[] threads = new Thread[threadGroup.activeCount() + 16];
 		int enumerate = threadGroup.enumerate(threads, true);
+		while (enumerate == threads.length) {
+			threads = new Thread[threads.length * 2];
+			enumerate = threadGroup.enumerate(threads, true);
+		}
 
 		Thread[] result = new Thread[enumerate];
 		System.arraycopy(threads, 0, result, 0, enumerate);
@@ -145,7 +275,10 @@ public class Display {
 
 	/**
 	 * Decorator around the {@link ResultRunnable} classes. Its purpose is to catch any exception from UI thread and store
-	 * it so it will be thrown in non  UI thread. 
+	 * it so it will be thrown in non  UI thread. If caller is known, time spent waiting for UI thread
+	 * and time of the execution are recorded to {@link UIRoundTripStatistics}. If created by intercepted
+	 * code, the runnable is executed as intercepted code, so sync interceptors are not performed 
+	 * recursively by sync executions chained in UI thread.
 	 * 
 	 * @author Lucia Jelinkova
 	 *
@@ -159,17 +292,38 @@ public class Display {
 
 		private Exception exception;
 
-		private ErrorHandlingRunnable(ResultRunnable<T> runnable) {
+		private final String caller;
+
+		private final boolean sync;
+
+		private final long created;
+
+		private final boolean intercepted;
+
+		private ErrorHandlingRunnable(ResultRunnable<T> runnable, String caller, boolean sync) {
 			super();
 			this.runnable = runnable;
+			this.caller = caller;
+			this.sync = sync;
+			this.created = caller == null ? 0 : System.nanoTime();
+			this.intercepted = sim.isIntercepted();
 		}
 
 		@Override
 		public void run() {
+			long started = caller == null ? 0 : System.nanoTime();
+			boolean wasIntercepted = intercepted && sim.setIntercepted(true);
 			try {
 				result = runnable.run();
 			} catch (Exception e) {
 				exception = e;
+			} finally {
+				if (intercepted) {
+					sim.setIntercepted(wasIntercepted);
+				}
+				if (caller != null) {
+					statistics.record(caller, sync, started - created, System.nanoTime() - started);
+				}
 			}
 		}
 
@@ -0,0 +1,129 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+
+/**
+ * Keeps track of jobs which are waiting or running. Tracker is fed by job 
+ * change events so getting active jobs does not require scanning of all jobs 
+ * known to the job manager.
+ * <p>
+ * Every scheduled job is tracked until it is done, including sleeping jobs, because 
+ * the job manager moves a job whose delay expired from sleeping to waiting state 
+ * without firing any event. Only waiting and running jobs are returned.
+ * <p>
+ * Listener is registered when the tracker instance is obtained for the first 
+ * time. Jobs which were already scheduled at that time are found by a single 
+ * scan of the job manager.
+ */
+public class JobTracker {
+
+	private static JobTracker instance;
+
+	private final Set<Job> scheduledJobs = Collections.newSetFromMap(new ConcurrentHashMap<Job, Boolean>());
+
+	private final JobChangeAdapter listener = new JobChangeAdapter() {
+
+		@Override
+		public void scheduled(IJobChangeEvent event) {
+			scheduledJobs.add(event.getJob());
+		}
+
+		@Override
+		public void aboutToRun(IJobChangeEvent event) {
+			scheduledJobs.add(event.getJob());
+		}
+
+		@Override
+		public void running(IJobChangeEvent event) {
+			scheduledJobs.add(event.getJob());
+		}
+
+		@Override
+		public void awake(IJobChangeEvent event) {
+			scheduledJobs.add(event.getJob());
+		}
+
+		@Override
+		public void done(IJobChangeEvent event) {
+			// job could have been rescheduled meanwhile
+			if (event.getJob().getState() == Job.NONE) {
+				scheduledJobs.remove(event.getJob());
+			}
+		}
+	};
+
+	private JobTracker() {
+		Job.getJobManager().addJobChangeListener(listener);
+		for (Job job : Job.getJobManager().find(null)) {
+			if (job.getState() != Job.NONE) {
+				scheduledJobs.add(job);
+			}
+		}
+	}
+
+	/**
+	 * Gets instance of JobTracker.
+	 * 
+	 * @return instance of JobTracker
+	 */
+	public static synchronized JobTracker getInstance() {
+		if (instance == null) {
+			instance = new JobTracker();
+		}
+		return instance;
+	}
+
+	/**
+	 * Gets jobs which are currently waiting or running.
+	 * 
+	 * @return list of active jobs
+	 */
+	public List<Job> getActiveJobs() {
+		List<Job> result = new ArrayList<Job>();
+		for (Job job : scheduledJobs) {
+			// sleeping jobs are tracked as well, their delay could have expired without an event
+			if (isActive(job)) {
+				result.add(job);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Finds out whether there is a waiting or running job.
+	 * 
+	 * @param skipSystemJobs whether system jobs should be ignored
+	 * @return true if there is at least one active job, false otherwise
+	 */
+	public boolean hasActiveJobs(boolean skipSystemJobs) {
+		for (Job job : getActiveJobs()) {
+			if (!skipSystemJobs || !job.isSystem()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isActive(Job job) {
+		int state = job.getState();
+		return state == Job.WAITING || state == Job.RUNNING;
+	}
+}
@@ -17,7 +17,8 @@ import org.eclipse.core.runtime.jobs.Job;
 import org.jboss.reddeer.common.logging.Logger;
 
 /**
- * Jobs provides utilities to work with Eclipse jobs.
+ * Jobs provides utilities to work with Eclipse jobs. Running jobs are obtained
+ * from {@link JobTracker}.
  * 
  * @author Vlado Pakan
  *
@@ -90,12 +91,8 @@ public class Jobs {
 	 */
 	public static void printAllRunningJobs(){
 		log.debug("Print All Running Jobs");
-		Job[] jobs = Job.getJobManager().find(null);
-		for (Job job : jobs) {
-			if (isJobRunning(job)){
-				log.info(getFormattedJobDescription(job));
-			}
-
+		for (Job job : JobTracker.getInstance().getActiveJobs()) {
+			log.info(getFormattedJobDescription(job));
 		}
 	}
 	
@@ -117,12 +114,9 @@ public class Jobs {
      */
     public static String[] getAllRunningJobs(){
     	log.debug("Get all running jobs");
-    	Job[] jobs = Job.getJobManager().find(null);
     	List<String> jobNames = new ArrayList<String>();
-    	for (Job job: jobs){
-    		if (isJobRunning(job)){
-    			jobNames.add(job.getName());
-    		}
+    	for (Job job: JobTracker.getInstance().getActiveJobs()){
+    		jobNames.add(job.getName());
     	}
     	return jobNames.toArray(new String[0]);
     }
@@ -60,7 +60,7 @@ public class ConsoleHasNoChange extends AbstractWaitCondition {
 			return false;
 		}
 
-		return currentConsoleTime - consoleTime - timePeriod.getSeconds() * 1000 >= 0;
+		return currentConsoleTime - consoleTime - timePeriod.getMilliseconds() >= 0;
 	}
 
 	/* (non-Javadoc)
@@ -99,12 +99,12 @@ public class AbstractExplorer extends WorkbenchView {
 	public List<Project> getProjects(){
 		List<Project> projects = new ArrayList<Project>();
 
-		TreeViewerHandler treeViewerHandler = TreeViewerHandler.getInstance();
+		List<TreeItem> items = getTree().getItems();
+		List<String> names = TreeViewerHandler.getInstance().getNonStyledTexts(items);
 		
-		for (TreeItem item : getTree().getItems()){			
-			if (org.jboss.reddeer.direct.project.Project
-					.isProject(treeViewerHandler.getNonStyledText(item))) {
-				projects.add(new Project(item));
+		for (int i = 0; i < items.size(); i++){			
+			if (org.jboss.reddeer.direct.project.Project.isProject(names.get(i))) {
+				projects.add(new Project(items.get(i)));
 			}
 		}
 		return projects;
@@ -173,9 +173,12 @@ public class AbstractExplorer extends WorkbenchView {
 	 */
 	public Project getProject(String projectName){
 		activate();
-		for (Project project : getProjects()){
-			if (project.getName().equals(projectName)){
-				return project;
+		List<TreeItem> items = getTree().getItems();
+		List<String> names = TreeViewerHandler.getInstance().getNonStyledTexts(items);
+		for (int i = 0; i < items.size(); i++){
+			if (names.get(i).equals(projectName) 
+					&& org.jboss.reddeer.direct.project.Project.isProject(projectName)){
+				return new Project(items.get(i));
 			}
 		}
 		throw new EclipseLayerException("There is no project with name " + projectName);
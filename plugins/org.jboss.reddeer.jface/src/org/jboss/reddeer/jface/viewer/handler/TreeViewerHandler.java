@@ -11,8 +11,11 @@
 package org.jboss.reddeer.jface.viewer.handler;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import org.eclipse.swt.custom.StyleRange;
 import org.jboss.reddeer.jface.exception.JFaceLayerException;
@@ -29,6 +32,9 @@ public class TreeViewerHandler {
 	
 	private static TreeViewerHandler instance;
 	
+	private final Map<org.eclipse.swt.widgets.TreeItem, TreeItemTexts> parsedTexts = 
+			new WeakHashMap<org.eclipse.swt.widgets.TreeItem, TreeItemTexts>();
+	
 	private TreeViewerHandler() {
 	}
 	
@@ -55,12 +61,12 @@ public class TreeViewerHandler {
 	 * @return tree item with specified name placed under specified tree
 	 */
 	public TreeItem getTreeItem(Tree tree, String name) {
-		Iterator<TreeItem> iterator = tree.getItems().iterator();
+		List<TreeItem> items = tree.getItems();
+		List<String> texts = getNonStyledTexts(items);
 		List<TreeItem> foundItems = new ArrayList<TreeItem>();
-		while (iterator.hasNext()) {
-			TreeItem item = iterator.next();
-			if (getNonStyledText(item).equals(name)) {
-				foundItems.add(item);
+		for (int i = 0; i < items.size(); i++) {
+			if (texts.get(i).equals(name)) {
+				foundItems.add(items.get(i));
 			}
 		}
 
@@ -111,12 +117,12 @@ public class TreeViewerHandler {
 	 * @return tree item with specified name
 	 */
 	public TreeItem getTreeItem(TreeItem treeItem, String name) {
-		Iterator<TreeItem> iterator = treeItem.getItems().iterator();
+		List<TreeItem> items = treeItem.getItems();
+		List<String> texts = getNonStyledTexts(items);
 		List<TreeItem> foundItems = new ArrayList<TreeItem>();
-		while (iterator.hasNext()) {
-			TreeItem item = iterator.next();
-			if (getNonStyledText(item).equals(name)) {
-				foundItems.add(item);
+		for (int i = 0; i < items.size(); i++) {
+			if (texts.get(i).equals(name)) {
+				foundItems.add(items.get(i));
 			}
 		}
 
@@ -158,54 +164,75 @@ public class TreeViewerHandler {
 	}
 	
 	private TreeItemTexts parseText(TreeItem item) {
-		final org.eclipse.swt.widgets.TreeItem swtTreeItem = item.getSWTWidget();
-		return Display.syncExec(new ResultRunnable<TreeViewerHandler.TreeItemTexts>() {
+		return parseTexts(Collections.singletonList(item)).get(0);
+	}
+
+	/*
+	 * Reads labels of all tree items in one sync execution and parses them outside of UI thread.
+	 * Parsed labels are cached per tree item and reused as long as the label does not change.
+	 */
+	private List<TreeItemTexts> parseTexts(List<TreeItem> items) {
+		final List<org.eclipse.swt.widgets.TreeItem> swtTreeItems = new ArrayList<org.eclipse.swt.widgets.TreeItem>();
+		for (TreeItem item : items) {
+			swtTreeItems.add(item.getSWTWidget());
+		}
+		List<Label> labels = Display.syncExec(new ResultRunnable<List<Label>>() {
 
 			@Override
-			public TreeViewerHandler.TreeItemTexts run() {
-				String nonStyledText = null;
-				String[] styledTexts = null;
-				StyleRange[] styleRanges = getStyleRanges(swtTreeItem);
-				
-				if (styleRanges == null) {
-					// Everything is ok, there is no styled texts
-					nonStyledText = swtTreeItem.getText().trim();
-					styledTexts = null;
-				} else {
-					// Here it goes. There are some styled texts
-					String rawText = swtTreeItem.getText();
-					String[] tmpStyledTexts = new String[styleRanges.length];
-					String tmpNonStyledText = null;
-					int currentTextIndex = 0;
-					int i = 0;
-					
-					for (StyleRange range: getStyleRanges(swtTreeItem)) {
-						// At some point there is a non-styled text
-						if (range.start > currentTextIndex) {
-							tmpNonStyledText = rawText.substring(currentTextIndex, 
-									range.start).trim();
-						}
-						
-						tmpStyledTexts[i] = rawText.substring(range.start, range.start +
-								range.length).trim();
-						currentTextIndex = range.start + range.length;
-						i++;
-					}
-					
-					if (tmpNonStyledText == null) {
-						tmpNonStyledText = rawText.substring(currentTextIndex).trim();
-					}
-					
-					nonStyledText = tmpNonStyledText;
-					styledTexts = tmpStyledTexts;
+			public List<Label> run() {
+				List<Label> labels = new ArrayList<Label>(swtTreeItems.size());
+				for (org.eclipse.swt.widgets.TreeItem swtTreeItem : swtTreeItems) {
+					labels.add(new Label(swtTreeItem.getText(), getStyleRanges(swtTreeItem)));
 				}
-				
-				return new TreeItemTexts(nonStyledText, styledTexts);
+				return labels;
 			}
 		});
+		
+		List<TreeItemTexts> result = new ArrayList<TreeItemTexts>(labels.size());
+		synchronized (parsedTexts) {
+			for (int i = 0; i < labels.size(); i++) {
+				TreeItemTexts texts = parsedTexts.get(swtTreeItems.get(i));
+				if (texts == null || !texts.getLabel().equals(labels.get(i))) {
+					texts = parseLabel(labels.get(i));
+					parsedTexts.put(swtTreeItems.get(i), texts);
+				}
+				result.add(texts);
+			}
+		}
+		return result;
+	}
+	
+	private TreeItemTexts parseLabel(Label label) {
+		String rawText = label.text;
+		if (label.starts == null) {
+			// Everything is ok, there is no styled texts
+			return new TreeItemTexts(label, rawText.trim(), null);
+		}
+		
+		// Here it goes. There are some styled texts
+		String[] styledTexts = new String[label.starts.length];
+		String nonStyledText = null;
+		int currentTextIndex = 0;
+		
+		for (int i = 0; i < label.starts.length; i++) {
+			int start = label.starts[i];
+			// At some point there is a non-styled text
+			if (start > currentTextIndex) {
+				nonStyledText = rawText.substring(currentTextIndex, start).trim();
+			}
+			
+			styledTexts[i] = rawText.substring(start, start + label.lengths[i]).trim();
+			currentTextIndex = start + label.lengths[i];
+		}
+		
+		if (nonStyledText == null) {
+			nonStyledText = rawText.substring(currentTextIndex).trim();
+		}
+		
+		return new TreeItemTexts(label, nonStyledText, styledTexts);
 	}
 
-	// Should be run inside Display.syncExec method - in parseText method
+	// Should be run inside Display.syncExec method - in parseTexts method
 	// it is also expected, that styled in array are sequential
 	private StyleRange[] getStyleRanges(org.eclipse.swt.widgets.TreeItem swtTreeItem) {
 		Object data = swtTreeItem.getData("org.eclipse.jfacestyled_label_key_0");
@@ -253,21 +280,103 @@ public class TreeViewerHandler {
 		return parseText(item).getStyledTexts();
 	}
 	
+	/**
+	 * Gets non-styled texts of specified tree items. Labels of all tree items
+	 * are read in a single UI round trip.
+	 *
+	 * @param items the items
+	 * @return non-styled texts (without decorators) of the tree items in the same order as the items
+	 */
+	public List<String> getNonStyledTexts(List<TreeItem> items) {
+		List<String> result = new ArrayList<String>(items.size());
+		for (TreeItemTexts texts : parseTexts(items)) {
+			result.add(texts.getNonStyledText());
+		}
+		return result;
+	}
+	
+	/**
+	 * Gets styled texts of specified tree items. Labels of all tree items
+	 * are read in a single UI round trip.
+	 *
+	 * @param items the items
+	 * @return styled texts of the tree items in the same order as the items, an element is null 
+	 * if there are not styled texts on the tree item
+	 */
+	public List<String[]> getStyledTexts(List<TreeItem> items) {
+		List<String[]> result = new ArrayList<String[]>(items.size());
+		for (TreeItemTexts texts : parseTexts(items)) {
+			result.add(texts.getStyledTexts());
+		}
+		return result;
+	}
+	
+	/**
+	 * Raw label of a tree item - its text and bounds of style ranges.
+	 */
+	private static class Label {
+		private final String text;
+		private final int[] starts;
+		private final int[] lengths;
+		
+		public Label(String text, StyleRange[] ranges) {
+			this.text = text;
+			if (ranges == null) {
+				starts = null;
+				lengths = null;
+			} else {
+				starts = new int[ranges.length];
+				lengths = new int[ranges.length];
+				for (int i = 0; i < ranges.length; i++) {
+					starts[i] = ranges[i].start;
+					lengths[i] = ranges[i].length;
+				}
+			}
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Label)) {
+				return false;
+			}
+			Label other = (Label) obj;
+			return text.equals(other.text) && Arrays.equals(starts, other.starts) 
+					&& Arrays.equals(lengths, other.lengths);
+		}
+		
+		@Override
+		public int hashCode() {
+			return text.hashCode();
+		}
+	}
+	
 	class TreeItemTexts {
+		private Label label;
 		private String nonStyledText;
 		private String[] styledTexts;
 		
 		/**
 		 * Instantiates a new tree item texts.
 		 *
+		 * @param label the raw label
 		 * @param nonStyledText the non styled text
 		 * @param styledTexts the styled texts
 		 */
-		public TreeItemTexts(String nonStyledText, String[] styledTexts) {
+		public TreeItemTexts(Label label, String nonStyledText, String[] styledTexts) {
+			this.label = label;
 			this.nonStyledText = nonStyledText;
 			this.styledTexts = styledTexts;
 		}
 		
+		/**
+		 * Gets the raw label the texts were parsed from.
+		 *
+		 * @return the raw label
+		 */
+		Label getLabel() {
+			return label;
+		}
+		
 		/**
 		 * Gets the non styled text.
 		 *
@@ -283,7 +392,7 @@ public class TreeViewerHandler {
 		 * @return the styled texts
 		 */
 		public String[] getStyledTexts() {
-			return styledTexts;
+			return styledTexts == null ? null : styledTexts.clone();
 		}
 	}
 }
@@ -11,6 +11,7 @@
 package org.jboss.reddeer.junit.internal.requirement;
 
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
@@ -30,6 +31,7 @@ public class Requirements implements Requirement<Annotation>, Iterable<Requireme
 	private List<Requirement<?>> requirements;
 	private Class<?> clazz;
 	private String configID;
+	private SharedRequirements sharedRequirements;
 	private Logger log = Logger.getLogger(Requirements.class);
 	
 	/**
@@ -52,6 +54,22 @@ public class Requirements implements Requirement<Annotation>, Iterable<Requireme
 		this.configID = configID;
 	}
 
+	/**
+	 * Replaces requirements which can be shared with other test classes by their shared 
+	 * instances. Shared requirements are fulfilled only if they have not been fulfilled yet 
+	 * and cleaned up only by the last test class using them.
+	 *
+	 * @param sharedRequirements requirements shared by test classes of the suite
+	 */
+	public void share(SharedRequirements sharedRequirements) {
+		List<Requirement<?>> shared = new ArrayList<Requirement<?>>();
+		for (Requirement<?> r : requirements) {
+			shared.add(sharedRequirements.register(r, configID));
+		}
+		this.requirements = shared;
+		this.sharedRequirements = sharedRequirements;
+	}
+
 	/* (non-Javadoc)
 	 * @see java.lang.Iterable#iterator()
 	 */
@@ -101,8 +119,12 @@ public class Requirements implements Requirement<Annotation>, Iterable<Requireme
 	public void fulfill() {
 		for (Requirement<?> r : requirements) {
 			try {
-				log.info("Fulfilling requirement of " + r.getClass());
-				r.fulfill();
+				if (isShared(r)) {
+					sharedRequirements.fulfill(r);
+				} else {
+					log.info("Fulfilling requirement of " + r.getClass());
+					r.fulfill();
+				}
 			} catch (RuntimeException ex) {
 				ScreenshotCapturer screenshotCapturer = ScreenshotCapturer.getInstance();
 				try {
@@ -131,8 +153,12 @@ public class Requirements implements Requirement<Annotation>, Iterable<Requireme
 	public void cleanUp() {
 		for (Requirement<?> r : requirements) {
 			try {
-				log.info("Cleaning up requirement of " + r.getClass());
-				r.cleanUp();
+				if (isShared(r)) {
+					sharedRequirements.cleanUp(r);
+				} else {
+					log.info("Cleaning up requirement of " + r.getClass());
+					r.cleanUp();
+				}
 			} catch (RuntimeException ex) {
 				ScreenshotCapturer screenshotCapturer = ScreenshotCapturer.getInstance();
 				try {
@@ -146,4 +172,8 @@ public class Requirements implements Requirement<Annotation>, Iterable<Requireme
 		}
 		
 	}
+
+	private boolean isShared(Requirement<?> r) {
+		return sharedRequirements != null && sharedRequirements.isShared(r);
+	}
 }
@@ -0,0 +1,177 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.internal.requirement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.junit.requirement.Requirement;
+import org.jboss.reddeer.junit.requirement.RequirementScope;
+import org.jboss.reddeer.junit.requirement.ScopedRequirement;
+
+/**
+ * Keeps requirements shared by test classes of a suite. Each {@link ScopedRequirement} 
+ * with scope other than {@link RequirementScope#CLASS} is registered when a runner of 
+ * a test class is created. Test classes with equal declaration (and test run configuration 
+ * in case of {@link RequirementScope#CONFIGURATION}) get the same requirement instance, 
+ * which is fulfilled only once and cleaned up when the last test class using it finishes.
+ * 
+ */
+public class SharedRequirements {
+
+	private static final Logger log = Logger.getLogger(SharedRequirements.class);
+
+	private final Map<List<Object>, SharedRequirement> shared = new LinkedHashMap<List<Object>, SharedRequirement>();
+
+	private final Map<Requirement<?>, SharedRequirement> byInstance = new IdentityHashMap<Requirement<?>, SharedRequirement>();
+
+	/**
+	 * Registers usage of the requirement by a test class. 
+	 *
+	 * @param requirement requirement of a test class
+	 * @param configID id of test run configuration the test class is run with
+	 * @return the shared instance of an equal requirement if there is any, 
+	 * the specified requirement otherwise
+	 */
+	public synchronized Requirement<?> register(Requirement<?> requirement, String configID) {
+		if (!(requirement instanceof ScopedRequirement)) {
+			return requirement;
+		}
+		ScopedRequirement<?> scopedRequirement = (ScopedRequirement<?>) requirement;
+		RequirementScope scope = scopedRequirement.getScope();
+		if (scope == null || scope == RequirementScope.CLASS) {
+			return requirement;
+		}
+		List<Object> key = Arrays.<Object>asList(requirement.getClass(), scopedRequirement.getDeclaration(),
+				scope == RequirementScope.CONFIGURATION ? configID : null);
+		SharedRequirement sharedRequirement = shared.get(key);
+		if (sharedRequirement == null) {
+			sharedRequirement = new SharedRequirement(requirement);
+			shared.put(key, sharedRequirement);
+			byInstance.put(requirement, sharedRequirement);
+		}
+		sharedRequirement.users++;
+		log.debug("Requirement " + requirement.getClass() + " is shared by " + sharedRequirement.users + " test classes");
+		return sharedRequirement.requirement;
+	}
+
+	/**
+	 * Returns true if the requirement is shared by test classes.
+	 *
+	 * @param requirement requirement
+	 * @return true if the requirement is shared
+	 */
+	public synchronized boolean isShared(Requirement<?> requirement) {
+		return byInstance.containsKey(requirement);
+	}
+
+	/**
+	 * Fulfills the shared requirement if it has not been fulfilled yet, 
+	 * otherwise lets the requirement prepare for reuse (see {@link ScopedRequirement#reuse()}).
+	 *
+	 * @param requirement shared requirement
+	 */
+	public void fulfill(Requirement<?> requirement) {
+		SharedRequirement sharedRequirement = get(requirement);
+		if (sharedRequirement.fulfilled) {
+			log.info("Reusing fulfilled requirement " + requirement.getClass());
+			((ScopedRequirement<?>) requirement).reuse();
+			return;
+		}
+		requirement.fulfill();
+		sharedRequirement.fulfilled = true;
+	}
+
+	/**
+	 * Releases the shared requirement by a test class. The requirement is cleaned up 
+	 * if the test class was the last one using it.
+	 *
+	 * @param requirement shared requirement
+	 */
+	public void cleanUp(Requirement<?> requirement) {
+		SharedRequirement sharedRequirement = get(requirement);
+		synchronized (this) {
+			sharedRequirement.users--;
+			if (sharedRequirement.users > 0) {
+				log.info("Keeping requirement " + requirement.getClass() + " for " 
+						+ sharedRequirement.users + " more test classes");
+				return;
+			}
+			remove(sharedRequirement);
+		}
+		if (sharedRequirement.fulfilled) {
+			requirement.cleanUp();
+		}
+	}
+
+	/**
+	 * Cleans up all fulfilled requirements which have not been cleaned up yet, e.g. 
+	 * because some test classes using them did not run. All requirements are cleaned up 
+	 * even if cleaning up some of them fails, the first failure is rethrown afterwards.
+	 */
+	public void cleanUpAll() {
+		List<SharedRequirement> remaining;
+		synchronized (this) {
+			remaining = new ArrayList<SharedRequirement>(shared.values());
+			shared.clear();
+			byInstance.clear();
+		}
+		RuntimeException failure = null;
+		for (SharedRequirement sharedRequirement : remaining) {
+			if (!sharedRequirement.fulfilled) {
+				continue;
+			}
+			try {
+				log.info("Cleaning up shared requirement " + sharedRequirement.requirement.getClass());
+				sharedRequirement.requirement.cleanUp();
+			} catch (RuntimeException e) {
+				log.error("Cleaning up shared requirement " + sharedRequirement.requirement.getClass() + " failed", e);
+				if (failure == null) {
+					failure = e;
+				}
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	private synchronized SharedRequirement get(Requirement<?> requirement) {
+		SharedRequirement sharedRequirement = byInstance.get(requirement);
+		if (sharedRequirement == null) {
+			throw new IllegalArgumentException("Requirement " + requirement.getClass() + " is not shared");
+		}
+		return sharedRequirement;
+	}
+
+	private void remove(SharedRequirement sharedRequirement) {
+		byInstance.remove(sharedRequirement.requirement);
+		shared.values().remove(sharedRequirement);
+	}
+
+	private static class SharedRequirement {
+
+		private final Requirement<?> requirement;
+
+		private int users;
+
+		private boolean fulfilled;
+
+		SharedRequirement(Requirement<?> requirement) {
+			this.requirement = requirement;
+		}
+	}
+}
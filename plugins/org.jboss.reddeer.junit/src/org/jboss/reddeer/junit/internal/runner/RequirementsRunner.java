@@ -148,6 +148,14 @@ public class RequirementsRunner extends BlockJUnit4ClassRunner {
 		ScreenCastingRunListener screenCastingRunListener = new ScreenCastingRunListener();
 		runNotifier.addListener(loggingRunListener);
 		runNotifier.addListener(screenCastingRunListener);
+		UIStatisticsRunListener uiStatisticsRunListener = new UIStatisticsRunListener();
+		runNotifier.addListener(uiStatisticsRunListener);
+		TestTimings timings = TestTimings.getInstance();
+		TestTimingsRunListener timingsRunListener = null;
+		if (timings.isEnabled()) {
+			timingsRunListener = new TestTimingsRunListener(timings, getTestClass().getJavaClass());
+			runNotifier.addListener(timingsRunListener);
+		}
 		if (runListeners != null){
 			for (RunListener listener : runListeners){
 				runNotifier.addListener(listener);
@@ -159,6 +167,11 @@ public class RequirementsRunner extends BlockJUnit4ClassRunner {
 				runNotifier.removeListener(listener);
 			}
 		}
+		if (timingsRunListener != null) {
+			runNotifier.removeListener(timingsRunListener);
+			timingsRunListener.classFinished();
+		}
+		runNotifier.removeListener(uiStatisticsRunListener);
 		runNotifier.removeListener(screenCastingRunListener);
 		runNotifier.removeListener(loggingRunListener);
 	}
@@ -314,6 +327,7 @@ public class RequirementsRunner extends BlockJUnit4ClassRunner {
 			else {
 				log.error("Exception in test: " + failure.getDescription(),throwable);
 			}
+			Logger.flush();
 			super.testFailure(failure);
 		}
 		
@@ -20,6 +20,7 @@ import org.jboss.reddeer.junit.extensionpoint.IBeforeTest;
 import org.jboss.reddeer.junit.internal.configuration.TestRunConfiguration;
 import org.jboss.reddeer.junit.internal.requirement.Requirements;
 import org.jboss.reddeer.junit.internal.requirement.RequirementsBuilder;
+import org.jboss.reddeer.junit.internal.requirement.SharedRequirements;
 import org.junit.Ignore;
 import org.junit.runner.Runner;
 import org.junit.runner.notification.RunListener;
@@ -40,6 +41,8 @@ public class RequirementsRunnerBuilder extends RunnerBuilder {
 	private Logger log = Logger.getLogger(RequirementsRunnerBuilder.class);
 	
 	private RequirementsBuilder requirementsBuilder = new RequirementsBuilder();
+
+	private SharedRequirements sharedRequirements;
 	
 	private List<IBeforeTest> beforeTestExtensions;
 	private List<IAfterTest> afterTestExtensions;
@@ -100,6 +103,9 @@ public class RequirementsRunnerBuilder extends RunnerBuilder {
 		Requirements requirements = requirementsBuilder.build(clazz, config.getRequirementConfiguration(), config.getId());
 		if (requirements.canFulfill()){
 			log.info("All requirements can be fulfilled, the test will run");
+			if (sharedRequirements != null) {
+				requirements.share(sharedRequirements);
+			}
 			if(testsManager != null) {
 				testsManager.addExecutedTest(clazz);
 			}
@@ -123,6 +129,15 @@ public class RequirementsRunnerBuilder extends RunnerBuilder {
 		this.requirementsBuilder = requirementsBuilder;
 	}
 	
+	/**
+	 * Sets the requirements shared by test classes. Requirements are not shared if not set.
+	 *
+	 * @param sharedRequirements the shared requirements
+	 */
+	public void setSharedRequirements(SharedRequirements sharedRequirements) {
+		this.sharedRequirements = sharedRequirements;
+	}
+	
 	/**
 	 * Check, whether class is parameterized or not.
 	 * @param clazz class to check for.
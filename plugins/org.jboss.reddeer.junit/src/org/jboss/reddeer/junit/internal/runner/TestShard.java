@@ -0,0 +1,231 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.internal.runner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jboss.reddeer.common.exception.RedDeerException;
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.runners.Suite.SuiteClasses;
+import org.junit.runners.model.TestClass;
+
+/**
+ * Part of the test classes executed by one of several Eclipse instances running 
+ * the same suite in parallel. The shard is given by system property 
+ * {@link RedDeerProperties#SHARD} in format <i>index/count</i>, e.g. <i>2/4</i>, 
+ * index starts with 1.<br/><br/>
+ * 
+ * Test classes of a suite (including nested suites) are flattened and distributed 
+ * among shards either in round-robin manner or by their estimated duration 
+ * (see {@link RedDeerProperties#SHARD_STRATEGY}), so each test class is executed 
+ * by exactly one shard.<br/><br/>
+ * 
+ * Since the flattened test classes are run directly, class-level fixtures 
+ * (<i>@BeforeClass</i>, <i>@AfterClass</i> and <i>@ClassRule</i>) of the suites 
+ * are not executed. A warning is logged for each such suite.
+ * 
+ */
+public class TestShard {
+
+	private static final Logger log = Logger.getLogger(TestShard.class);
+
+	private static final String SHARD_DIRECTORY_PREFIX = "shard-";
+
+	private final int index;
+
+	private final int count;
+
+	/**
+	 * Creates a new shard.
+	 *
+	 * @param index 1-based index of the shard
+	 * @param count number of shards
+	 */
+	public TestShard(int index, int count) {
+		if (count < 1 || index < 1 || index > count) {
+			throw new RedDeerException("Invalid shard " + index + "/" + count 
+					+ ". Shard index has to be between 1 and count of shards");
+		}
+		this.index = index;
+		this.count = count;
+	}
+
+	/**
+	 * Returns shard of the currently running instance or <code>null</code> 
+	 * if tests are not sharded.
+	 *
+	 * @return current shard or null
+	 */
+	public static TestShard getCurrentShard() {
+		String value = RedDeerProperties.SHARD.getValue();
+		if (value == null || value.trim().isEmpty()) {
+			return null;
+		}
+		return parse(value.trim());
+	}
+
+	/**
+	 * Parses shard from its string representation <i>index/count</i>.
+	 *
+	 * @param value shard in format index/count
+	 * @return parsed shard
+	 */
+	public static TestShard parse(String value) {
+		String[] parts = value.split("/");
+		if (parts.length != 2) {
+			throw new RedDeerException("System property '" + RedDeerProperties.SHARD.getName() 
+					+ "' has unsupported value '" + value + "'. Value has to be in format index/count");
+		}
+		try {
+			return new TestShard(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+		} catch (NumberFormatException e) {
+			throw new RedDeerException("System property '" + RedDeerProperties.SHARD.getName() 
+					+ "' has unsupported value '" + value + "'. Value has to be in format index/count", e);
+		}
+	}
+
+	/**
+	 * Gets 1-based index of the shard.
+	 *
+	 * @return index of the shard
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * Gets number of shards.
+	 *
+	 * @return number of shards
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * Gets name of the directory in which files specific to this shard 
+	 * (e.g. screenshots or screencasts) are stored.
+	 *
+	 * @return directory name of the shard
+	 */
+	public String getDirectoryName() {
+		return SHARD_DIRECTORY_PREFIX + index;
+	}
+
+	/**
+	 * Selects test classes executed by this shard.
+	 *
+	 * @param testClasses all test classes of the suite
+	 * @return test classes belonging to this shard
+	 */
+	public Class<?>[] select(Class<?>[] testClasses) {
+		List<Class<?>> selected = new ArrayList<Class<?>>();
+		for (int i = index - 1; i < testClasses.length; i += count) {
+			selected.add(testClasses[i]);
+		}
+		return selected.toArray(new Class<?>[selected.size()]);
+	}
+
+	/**
+	 * Selects test classes executed by this shard so all shards have similar estimated duration. 
+	 * Test classes are assigned from the longest one to the shard with the shortest total 
+	 * duration so far, so all shards compute the same distribution from the same timings.
+	 *
+	 * @param testClasses all test classes of the suite
+	 * @param timings timings of previous runs
+	 * @return test classes belonging to this shard in the order of the suite
+	 */
+	public Class<?>[] selectByDuration(Class<?>[] testClasses, TestTimings timings) {
+		long[] shardDurations = new long[count];
+		Set<Class<?>> assigned = new HashSet<Class<?>>();
+		for (Class<?> testClass : timings.sortLongestFirst(testClasses)) {
+			int shortest = 0;
+			for (int i = 1; i < count; i++) {
+				if (shardDurations[i] < shardDurations[shortest]) {
+					shortest = i;
+				}
+			}
+			shardDurations[shortest] += Math.max(1, timings.getEstimatedDuration(testClass));
+			if (shortest == index - 1) {
+				assigned.add(testClass);
+			}
+		}
+		List<Class<?>> selected = new ArrayList<Class<?>>();
+		for (Class<?> testClass : testClasses) {
+			if (assigned.contains(testClass)) {
+				selected.add(testClass);
+			}
+		}
+		return selected.toArray(new Class<?>[selected.size()]);
+	}
+
+	/**
+	 * Gets all test classes of the specified class. If the class is a suite 
+	 * its test classes are collected recursively, otherwise the class itself is returned.
+	 * Class-level fixtures of the suites are not part of the result, see 
+	 * {@link #hasClassFixtures(Class)}.
+	 *
+	 * @param clazz suite or test class
+	 * @return test classes in the order of declaration
+	 */
+	public static Class<?>[] getTestClasses(Class<?> clazz) {
+		Set<Class<?>> testClasses = new LinkedHashSet<Class<?>>();
+		collectTestClasses(clazz, testClasses);
+		return testClasses.toArray(new Class<?>[testClasses.size()]);
+	}
+
+	private static void collectTestClasses(Class<?> clazz, Set<Class<?>> testClasses) {
+		SuiteClasses annotation = clazz.getAnnotation(SuiteClasses.class);
+		if (annotation == null) {
+			testClasses.add(clazz);
+			return;
+		}
+		if (hasClassFixtures(clazz)) {
+			log.warn("Suite " + clazz.getName() + " has class-level fixtures which are not executed" 
+					+ " when its test classes are sharded or reordered");
+		}
+		for (Class<?> suiteClass : Arrays.asList(annotation.value())) {
+			collectTestClasses(suiteClass, testClasses);
+		}
+	}
+
+	/**
+	 * Finds out whether the specified class (or any of its superclasses) declares 
+	 * <i>@BeforeClass</i> or <i>@AfterClass</i> methods or <i>@ClassRule</i> fields or methods.
+	 *
+	 * @param clazz class to check
+	 * @return true if the class has class-level fixtures, false otherwise
+	 */
+	public static boolean hasClassFixtures(Class<?> clazz) {
+		TestClass testClass = new TestClass(clazz);
+		return !testClass.getAnnotatedMethods(BeforeClass.class).isEmpty()
+				|| !testClass.getAnnotatedMethods(AfterClass.class).isEmpty()
+				|| !testClass.getAnnotatedFields(ClassRule.class).isEmpty()
+				|| !testClass.getAnnotatedMethods(ClassRule.class).isEmpty();
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return index + "/" + count;
+	}
+}
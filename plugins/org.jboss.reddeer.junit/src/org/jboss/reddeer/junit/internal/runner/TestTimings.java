@@ -0,0 +1,411 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.internal.runner;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileLock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
+
+/**
+ * Persistent store of durations and outcomes of test classes and test methods. 
+ * The store is a properties file given by system property {@link RedDeerProperties#TEST_TIMINGS_FILE}, 
+ * timings are not stored if the property is not set.<br/><br/>
+ * 
+ * Stored duration is an estimate of the next run - average of the last measured 
+ * duration and the previous estimate. Durations of a test class run several times 
+ * in one run (e.g. for more configurations) are summed up and the class is considered 
+ * failed if any of its runs failed. Outcome is the outcome of the last run. The store 
+ * is saved once when the suite finishes, several Eclipse instances (shards) can share 
+ * the same file.<br/><br/>
+ * 
+ * Timings of previous runs used for scheduling test classes are loaded once when the 
+ * store is created and are not changed by saving. Shards running in parallel should 
+ * load them from the same read-only baseline (see {@link RedDeerProperties#TEST_TIMINGS_BASELINE}), 
+ * otherwise a shard starting after another one saved its timings can split test classes differently.
+ * 
+ */
+public class TestTimings {
+
+	private static final Logger log = Logger.getLogger(TestTimings.class);
+
+	private static final String METHOD_SEPARATOR = "#";
+
+	private static final String PASSED = "passed";
+
+	private static final String FAILED = "failed";
+
+	private static TestTimings instance;
+
+	private final File file;
+
+	private final Map<String, Timing> timings = new HashMap<String, Timing>();
+
+	private final Map<String, Timing> measured = new HashMap<String, Timing>();
+
+	/**
+	 * Creates a new store backed by the specified file and loads timings from it.
+	 *
+	 * @param file file of the store or null if timings should not be persisted
+	 */
+	public TestTimings(File file) {
+		this(file, null);
+	}
+
+	/**
+	 * Creates a new store backed by the specified file and loads timings of previous 
+	 * runs from the baseline file. Timings are loaded from the store file if there is no baseline.
+	 *
+	 * @param file file of the store or null if timings should not be persisted
+	 * @param baseline read-only copy of the store or null
+	 */
+	public TestTimings(File file, File baseline) {
+		this.file = file;
+		if (baseline != null) {
+			read(baseline, timings);
+		} else if (file != null) {
+			load(file, timings);
+		}
+	}
+
+	/**
+	 * Gets the store backed by the file given by {@link RedDeerProperties#TEST_TIMINGS_FILE} 
+	 * with timings of previous runs loaded from {@link RedDeerProperties#TEST_TIMINGS_BASELINE} if set.
+	 *
+	 * @return instance of TestTimings
+	 */
+	public static synchronized TestTimings getInstance() {
+		if (instance == null) {
+			String fileName = RedDeerProperties.TEST_TIMINGS_FILE.getValue();
+			String baselineName = RedDeerProperties.TEST_TIMINGS_BASELINE.getValue();
+			instance = new TestTimings(fileName == null ? null : new File(fileName), 
+					baselineName == null ? null : new File(baselineName));
+		}
+		return instance;
+	}
+
+	/**
+	 * Returns true if timings are persisted.
+	 *
+	 * @return true if the store is backed by a file
+	 */
+	public boolean isEnabled() {
+		return file != null;
+	}
+
+	/**
+	 * Records duration and outcome of a test class in the current run. Durations 
+	 * of a class run several times (e.g. for more configurations) are summed up.
+	 *
+	 * @param testClass test class
+	 * @param duration duration in milliseconds
+	 * @param failed true if any test of the class failed
+	 */
+	public synchronized void recordClass(Class<?> testClass, long duration, boolean failed) {
+		record(testClass.getName(), duration, failed);
+	}
+
+	/**
+	 * Records duration and outcome of a test method in the current run.
+	 *
+	 * @param testClass test class
+	 * @param methodName name of the test method
+	 * @param duration duration in milliseconds
+	 * @param failed true if the test failed
+	 */
+	public synchronized void recordMethod(Class<?> testClass, String methodName, long duration, boolean failed) {
+		record(testClass.getName() + METHOD_SEPARATOR + methodName, duration, failed);
+	}
+
+	private void record(String key, long duration, boolean failed) {
+		Timing timing = measured.get(key);
+		if (timing == null) {
+			measured.put(key, new Timing(duration, failed));
+		} else {
+			measured.put(key, new Timing(timing.getDuration() + duration, timing.isFailed() || failed));
+		}
+	}
+
+	/**
+	 * Gets estimated duration of a test class.
+	 *
+	 * @param testClass test class
+	 * @return estimated duration in milliseconds or -1 if the class has never been run
+	 */
+	public synchronized long getDuration(Class<?> testClass) {
+		Timing timing = timings.get(testClass.getName());
+		return timing == null ? -1 : timing.getDuration();
+	}
+
+	/**
+	 * Gets estimated duration of a test method.
+	 *
+	 * @param testClass test class
+	 * @param methodName name of the test method
+	 * @return estimated duration in milliseconds or -1 if the test has never been run
+	 */
+	public synchronized long getDuration(Class<?> testClass, String methodName) {
+		Timing timing = timings.get(testClass.getName() + METHOD_SEPARATOR + methodName);
+		return timing == null ? -1 : timing.getDuration();
+	}
+
+	/**
+	 * Returns true if any test of the test class failed in the last run.
+	 *
+	 * @param testClass test class
+	 * @return true if the class failed last time
+	 */
+	public synchronized boolean hasFailed(Class<?> testClass) {
+		Timing timing = timings.get(testClass.getName());
+		return timing != null && timing.isFailed();
+	}
+
+	/**
+	 * Gets estimated duration of a test class. Test classes which have never been run 
+	 * are estimated to take the average duration of known test classes.
+	 *
+	 * @param testClass test class
+	 * @return estimated duration in milliseconds
+	 */
+	public synchronized long getEstimatedDuration(Class<?> testClass) {
+		long duration = getDuration(testClass);
+		if (duration >= 0) {
+			return duration;
+		}
+		long total = 0;
+		int count = 0;
+		for (Map.Entry<String, Timing> entry : timings.entrySet()) {
+			if (!entry.getKey().contains(METHOD_SEPARATOR)) {
+				total += entry.getValue().getDuration();
+				count++;
+			}
+		}
+		return count == 0 ? 0 : total / count;
+	}
+
+	/**
+	 * Gets estimated duration of all specified test classes.
+	 *
+	 * @param testClasses test classes
+	 * @return estimated duration in milliseconds
+	 */
+	public long getEstimatedDuration(Class<?>[] testClasses) {
+		long duration = 0;
+		for (Class<?> testClass : testClasses) {
+			duration += getEstimatedDuration(testClass);
+		}
+		return duration;
+	}
+
+	/**
+	 * Sorts test classes by estimated duration, the longest first. Order of test classes 
+	 * with the same estimate is kept.
+	 *
+	 * @param testClasses test classes
+	 * @return sorted test classes
+	 */
+	public Class<?>[] sortLongestFirst(Class<?>[] testClasses) {
+		final Map<Class<?>, Long> durations = new HashMap<Class<?>, Long>();
+		for (Class<?> testClass : testClasses) {
+			durations.put(testClass, getEstimatedDuration(testClass));
+		}
+		List<Class<?>> sorted = new ArrayList<Class<?>>(Arrays.asList(testClasses));
+		Collections.sort(sorted, new Comparator<Class<?>>() {
+			@Override
+			public int compare(Class<?> clazz0, Class<?> clazz1) {
+				return Long.compare(durations.get(clazz1), durations.get(clazz0));
+			}
+		});
+		return sorted.toArray(new Class<?>[sorted.size()]);
+	}
+
+	/**
+	 * Sorts test classes so the classes which failed in the last run are first. 
+	 * Order of test classes is kept otherwise.
+	 *
+	 * @param testClasses test classes
+	 * @return sorted test classes
+	 */
+	public Class<?>[] sortFailedFirst(Class<?>[] testClasses) {
+		List<Class<?>> sorted = new ArrayList<Class<?>>(Arrays.asList(testClasses));
+		Collections.sort(sorted, new Comparator<Class<?>>() {
+			@Override
+			public int compare(Class<?> clazz0, Class<?> clazz1) {
+				return Boolean.compare(hasFailed(clazz1), hasFailed(clazz0));
+			}
+		});
+		return sorted.toArray(new Class<?>[sorted.size()]);
+	}
+
+	/**
+	 * Merges timings measured in the current run into the store and saves it. 
+	 * Timings saved by other Eclipse instances in the meantime are kept. 
+	 * Should be called once at the end of the run, every call is merged as a separate run.
+	 */
+	public synchronized void save() {
+		if (file == null || measured.isEmpty()) {
+			return;
+		}
+		File parent = file.getAbsoluteFile().getParentFile();
+		if (parent != null && !parent.exists()) {
+			parent.mkdirs();
+		}
+		try (RandomAccessFile lockAccess = new RandomAccessFile(getLockFile(file), "rw")) {
+			FileLock lock = lockAccess.getChannel().lock();
+			try {
+				Map<String, Timing> stored = new HashMap<String, Timing>();
+				read(file, stored);
+				for (Map.Entry<String, Timing> entry : measured.entrySet()) {
+					Timing previous = stored.get(entry.getKey());
+					Timing current = entry.getValue();
+					long duration = previous == null ? current.getDuration()
+							: (previous.getDuration() + current.getDuration()) / 2;
+					stored.put(entry.getKey(), new Timing(duration, current.isFailed()));
+				}
+				write(file, stored);
+				measured.clear();
+			} finally {
+				lock.release();
+			}
+		} catch (IOException e) {
+			log.warn("Test timings cannot be saved to " + file.getAbsolutePath() + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Copies the store to a baseline file while no Eclipse instance is saving to it. 
+	 * Empty baseline is written if the store does not exist yet.
+	 *
+	 * @param file file of the store
+	 * @param baseline file to copy the store to
+	 * @throws IOException if the store cannot be copied
+	 */
+	public static void copyBaseline(File file, File baseline) throws IOException {
+		Map<String, Timing> stored = new HashMap<String, Timing>();
+		load(file, stored);
+		File parent = baseline.getAbsoluteFile().getParentFile();
+		if (parent != null && !parent.exists()) {
+			parent.mkdirs();
+		}
+		write(baseline, stored);
+	}
+
+	private static void write(File file, Map<String, Timing> timings) throws IOException {
+		Properties properties = new Properties();
+		for (Map.Entry<String, Timing> entry : timings.entrySet()) {
+			properties.setProperty(entry.getKey(), entry.getValue().getDuration() + "," 
+					+ (entry.getValue().isFailed() ? FAILED : PASSED));
+		}
+		try (OutputStream out = new FileOutputStream(file)) {
+			properties.store(out, "RedDeer test timings: duration in milliseconds, outcome of the last run");
+		}
+	}
+
+	private static File getLockFile(File file) {
+		return new File(file.getPath() + ".lock");
+	}
+
+	/*
+	 * Reads the store under the lock so a partially written file saved 
+	 * by another Eclipse instance is never read.
+	 */
+	private static void load(File file, Map<String, Timing> timings) {
+		if (!file.exists()) {
+			return;
+		}
+		try (RandomAccessFile lockAccess = new RandomAccessFile(getLockFile(file), "rw")) {
+			FileLock lock = lockAccess.getChannel().lock();
+			try {
+				read(file, timings);
+			} finally {
+				lock.release();
+			}
+		} catch (IOException e) {
+			log.warn("Test timings cannot be loaded from " + file.getAbsolutePath() + ": " + e.getMessage());
+		}
+	}
+
+	private static void read(File file, Map<String, Timing> timings) {
+		if (!file.exists()) {
+			return;
+		}
+		Properties properties = new Properties();
+		try (InputStream in = new FileInputStream(file)) {
+			properties.load(in);
+		} catch (IOException e) {
+			log.warn("Test timings cannot be loaded from " + file.getAbsolutePath() + ": " + e.getMessage());
+			return;
+		}
+		for (String key : properties.stringPropertyNames()) {
+			String[] value = properties.getProperty(key).split(",");
+			try {
+				timings.put(key, new Timing(Long.parseLong(value[0].trim()), 
+						value.length > 1 && FAILED.equals(value[1].trim())));
+			} catch (NumberFormatException e) {
+				log.debug("Ignoring malformed test timing of " + key);
+			}
+		}
+	}
+
+	/**
+	 * Duration and outcome of a test class or test method.
+	 */
+	private static class Timing {
+
+		private final long duration;
+
+		private final boolean failed;
+
+		/**
+		 * Creates a new timing.
+		 *
+		 * @param duration duration in milliseconds
+		 * @param failed true if the test failed
+		 */
+		Timing(long duration, boolean failed) {
+			this.duration = duration;
+			this.failed = failed;
+		}
+
+		/**
+		 * Gets duration in milliseconds.
+		 *
+		 * @return duration
+		 */
+		long getDuration() {
+			return duration;
+		}
+
+		/**
+		 * Returns true if the test failed.
+		 *
+		 * @return true if failed
+		 */
+		boolean isFailed() {
+			return failed;
+		}
+	}
+}
@@ -0,0 +1,93 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.internal.runner;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+
+/**
+ * Measures durations and outcomes of test methods of a test class and of the whole 
+ * test class including fulfilling and cleaning up requirements. Measured timings 
+ * are recorded to {@link TestTimings} when the test class finishes, the store is saved 
+ * once the whole suite finishes.
+ * 
+ */
+public class TestTimingsRunListener extends RunListener {
+
+	private final TestTimings timings;
+
+	private final Class<?> testClass;
+
+	private final long classStarted = System.currentTimeMillis();
+
+	private final Map<Description, Long> started = new HashMap<Description, Long>();
+
+	private final Set<Description> failed = new HashSet<Description>();
+
+	private boolean classFailed = false;
+
+	/**
+	 * Creates a new listener measuring the specified test class. The class is considered 
+	 * to be started when the listener is created.
+	 *
+	 * @param timings store of timings
+	 * @param testClass measured test class
+	 */
+	public TestTimingsRunListener(TestTimings timings, Class<?> testClass) {
+		this.timings = timings;
+		this.testClass = testClass;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.junit.runner.notification.RunListener#testStarted(org.junit.runner.Description)
+	 */
+	@Override
+	public void testStarted(Description description) throws Exception {
+		started.put(description, System.currentTimeMillis());
+		super.testStarted(description);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.junit.runner.notification.RunListener#testFailure(org.junit.runner.notification.Failure)
+	 */
+	@Override
+	public void testFailure(Failure failure) throws Exception {
+		failed.add(failure.getDescription());
+		classFailed = true;
+		super.testFailure(failure);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.junit.runner.notification.RunListener#testFinished(org.junit.runner.Description)
+	 */
+	@Override
+	public void testFinished(Description description) throws Exception {
+		Long start = started.remove(description);
+		if (start != null && testClass.equals(description.getTestClass()) && description.getMethodName() != null) {
+			timings.recordMethod(testClass, description.getMethodName(), 
+					System.currentTimeMillis() - start, failed.contains(description));
+		}
+		super.testFinished(description);
+	}
+
+	/**
+	 * Records duration and outcome of the whole test class.
+	 */
+	public void classFinished() {
+		timings.recordClass(testClass, System.currentTimeMillis() - classStarted, classFailed);
+	}
+}
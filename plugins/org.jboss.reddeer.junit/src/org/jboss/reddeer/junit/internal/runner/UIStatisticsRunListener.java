@@ -0,0 +1,73 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.internal.runner;
+
+import java.util.List;
+
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.statistics.CallStatistics;
+import org.jboss.reddeer.common.statistics.UIRoundTripStatistics;
+import org.junit.runner.Description;
+import org.junit.runner.notification.RunListener;
+
+/**
+ * If uiStatistics property is set to true, this listener prints statistics of 
+ * round trips to the UI thread after every test. Callers are sorted by total time
+ * spent in the round trips and only the most expensive ones are printed.
+ * 
+ */
+public class UIStatisticsRunListener extends RunListener {
+
+	private static final Logger log = Logger.getLogger(UIStatisticsRunListener.class);
+
+	private static final int MAX_PRINTED_CALLERS = 20;
+
+	private UIRoundTripStatistics statistics = UIRoundTripStatistics.getInstance();
+
+	/* (non-Javadoc)
+	 * @see org.junit.runner.notification.RunListener#testStarted(org.junit.runner.Description)
+	 */
+	@Override
+	public void testStarted(Description description) throws Exception {
+		if (statistics.isEnabled()) {
+			statistics.reset();
+		}
+		super.testStarted(description);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.junit.runner.notification.RunListener#testFinished(org.junit.runner.Description)
+	 */
+	@Override
+	public void testFinished(Description description) throws Exception {
+		if (statistics.isEnabled()) {
+			printStatistics(description);
+			statistics.reset();
+		}
+		super.testFinished(description);
+	}
+
+	private void printStatistics(Description description) {
+		List<CallStatistics> callStatistics = statistics.getStatistics();
+		if (callStatistics.isEmpty()) {
+			return;
+		}
+		StringBuilder sb = new StringBuilder("UI thread round trips of test: ").append(description);
+		for (int i = 0; i < callStatistics.size() && i < MAX_PRINTED_CALLERS; i++) {
+			sb.append(System.getProperty("line.separator")).append("  ").append(callStatistics.get(i));
+		}
+		if (callStatistics.size() > MAX_PRINTED_CALLERS) {
+			sb.append(System.getProperty("line.separator")).append("  ... ")
+				.append(callStatistics.size() - MAX_PRINTED_CALLERS).append(" more callers");
+		}
+		log.info(sb.toString());
+	}
+}
@@ -16,6 +16,7 @@ import java.io.IOException;
 
 import org.jboss.reddeer.common.logging.Logger;
 import org.jboss.reddeer.common.properties.RedDeerProperties;
+import org.jboss.reddeer.junit.internal.runner.TestShard;
 import org.junit.runner.Description;
 import org.junit.runner.notification.Failure;
 import org.junit.runner.notification.RunListener;
@@ -95,10 +96,14 @@ public class ScreenCastingRunListener extends RunListener {
 			if (screenRecorderExt.isState(ScreenRecorderExt.STATE_DONE)) {
 				try {
 					File screenCastDir = new File("screencasts");
+					TestShard shard = TestShard.getCurrentShard();
+					if (shard != null) {
+						screenCastDir = new File(screenCastDir, shard.getDirectoryName());
+					}
 					if (!screenCastDir.exists()) {
-						screenCastDir.mkdir();
+						screenCastDir.mkdirs();
 					}
-					final String fileName = "screencasts" + File.separator + className + ".mov";
+					final String fileName = screenCastDir.getPath() + File.separator + className + ".mov";
 					log.info("Starting Screen Recorder. Saving Screen Cast to file: " + fileName);
 					screenRecorderExt.start(fileName);
 					outputVideoFile = new File(fileName);
@@ -0,0 +1,37 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.requirement;
+
+/**
+ * Scope in which a fulfilled {@link ScopedRequirement} is reused by test classes 
+ * with equal requirement declaration.
+ * 
+ */
+public enum RequirementScope {
+
+	/**
+	 * Requirement is fulfilled and cleaned up for each test class.
+	 */
+	CLASS,
+
+	/**
+	 * Requirement is fulfilled once for all test classes run with the same 
+	 * test run configuration and cleaned up after the last of them.
+	 */
+	CONFIGURATION,
+
+	/**
+	 * Requirement is fulfilled once for all test classes of the suite regardless 
+	 * of test run configuration and cleaned up after the last of them. Suitable only for 
+	 * requirements whose configuration does not differ among test run configurations.
+	 */
+	SUITE
+}
@@ -0,0 +1,46 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.requirement;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Requirement which can be shared by more test classes. Test classes run by 
+ * RedDeerSuite which declare the requirement with equal annotation get the same 
+ * requirement instance within its {@link RequirementScope}. The requirement is 
+ * fulfilled before the first of these classes and cleaned up after the last of them.
+ * 
+ * @param <T> declaration of the requirement
+ */
+public interface ScopedRequirement<T extends Annotation> extends Requirement<T> {
+
+	/**
+	 * Gets declaration of the requirement. Requirements of the same class are shared 
+	 * only if their declarations are equal.
+	 *
+	 * @return declaration of the requirement
+	 */
+	T getDeclaration();
+
+	/**
+	 * Gets scope in which the fulfilled requirement is reused.
+	 *
+	 * @return scope of the requirement
+	 */
+	RequirementScope getScope();
+
+	/**
+	 * Prepares the fulfilled requirement for another test class using it. Called instead 
+	 * of {@link #fulfill()} for every test class but the first one, e.g. to restore 
+	 * a state changed by previous test classes.
+	 */
+	void reuse();
+}
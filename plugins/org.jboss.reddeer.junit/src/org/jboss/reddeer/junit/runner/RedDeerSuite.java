@@ -15,19 +15,25 @@ import java.util.LinkedList;
 import java.util.List;
 
 import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
 import org.jboss.reddeer.junit.extensionpoint.IAfterTest;
 import org.jboss.reddeer.junit.extensionpoint.IBeforeTest;
 import org.jboss.reddeer.junit.internal.configuration.SuiteConfiguration;
 import org.jboss.reddeer.junit.internal.configuration.TestRunConfiguration;
 import org.jboss.reddeer.junit.internal.extensionpoint.AfterTestInitialization;
 import org.jboss.reddeer.junit.internal.extensionpoint.BeforeTestInitialization;
+import org.jboss.reddeer.junit.internal.requirement.SharedRequirements;
 import org.jboss.reddeer.junit.internal.runner.EmptySuite;
 import org.jboss.reddeer.junit.internal.runner.NamedSuite;
 import org.jboss.reddeer.junit.internal.runner.RequirementsRunnerBuilder;
+import org.jboss.reddeer.junit.internal.runner.TestShard;
+import org.jboss.reddeer.junit.internal.runner.TestTimings;
 import org.jboss.reddeer.junit.internal.runner.TestsExecutionManager;
 import org.jboss.reddeer.junit.internal.runner.TestsWithoutExecutionSuite;
 import org.junit.runner.Runner;
+import org.junit.runner.notification.Failure;
 import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.Suite;
 import org.junit.runners.model.InitializationError;
 import org.junit.runners.model.RunnerBuilder;
@@ -42,6 +48,15 @@ import org.junit.runners.model.RunnerBuilder;
 public class RedDeerSuite extends Suite {
 
 	private static final Logger log = Logger.getLogger(RedDeerSuite.class);
+
+	private static final String ORDER_DECLARED = "declared";
+
+	private static final String ORDER_LONGEST = "longest";
+
+	private static final String ORDER_FAILED = "failed";
+
+	private static final String SHARD_BY_DURATION = "duration";
+
 	// this variable has to set within static initialization block in child
 	// class
 	// in order to add custom listeners
@@ -51,6 +66,8 @@ public class RedDeerSuite extends Suite {
 
 	private static List<IAfterTest> afterTestExtensions = RedDeerSuite.initializeAfterTestExtensions();
 
+	private final SharedRequirements sharedRequirements;
+
 	/**
 	 * Called by the JUnit framework.
 	 *
@@ -72,11 +89,40 @@ public class RedDeerSuite extends Suite {
 	 * @throws InitializationError the initialization error
 	 */
 	protected RedDeerSuite(Class<?> clazz, RunnerBuilder builder, SuiteConfiguration config) throws InitializationError {
-		super(EmptySuite.class, createSuite(clazz, config));
+		this(clazz, config, new SharedRequirements());
+	}
+
+	private RedDeerSuite(Class<?> clazz, SuiteConfiguration config, SharedRequirements sharedRequirements)
+			throws InitializationError {
+		super(EmptySuite.class, createSuite(clazz, config, sharedRequirements));
+		this.sharedRequirements = sharedRequirements;
+	}
+
+	/**
+	 * Runs the suite and cleans up shared requirements which have not been cleaned up 
+	 * by test classes, e.g. because some of the classes using them did not run. 
+	 * Test timings measured in all configurations are saved once the suite finishes.
+	 *
+	 * @param notifier the notifier
+	 */
+	@Override
+	public void run(RunNotifier notifier) {
+		try {
+			super.run(notifier);
+		} finally {
+			try {
+				sharedRequirements.cleanUpAll();
+			} catch (RuntimeException e) {
+				notifier.fireTestFailure(new Failure(getDescription(), e));
+			}
+			TestTimings.getInstance().save();
+		}
 	}
 
 	/**
-	 * Creates a new suite for each configuration file found.
+	 * Creates a new suite for each configuration file found. If the tests are sharded 
+	 * (see {@link TestShard}) only test classes of the current shard are included. 
+	 * Test classes are ordered according to {@link RedDeerProperties#TEST_ORDER}.
 	 *
 	 * @param clazz the clazz
 	 * @param config the config
@@ -84,24 +130,50 @@ public class RedDeerSuite extends Suite {
 	 * @throws InitializationError the initialization error
 	 */
 	public static List<Runner> createSuite(Class<?> clazz, SuiteConfiguration config) throws InitializationError {
+		return createSuite(clazz, config, null);
+	}
+
+	/**
+	 * Creates a new suite for each configuration file found. Test classes declaring equal 
+	 * {@link org.jboss.reddeer.junit.requirement.ScopedRequirement}s share them.
+	 *
+	 * @param clazz the clazz
+	 * @param config the config
+	 * @param sharedRequirements requirements shared by test classes, 
+	 * requirements are not shared if null
+	 * @return the list
+	 * @throws InitializationError the initialization error
+	 */
+	public static List<Runner> createSuite(Class<?> clazz, SuiteConfiguration config,
+			SharedRequirements sharedRequirements) throws InitializationError {
 		log.info("Creating RedDeer suite...");
 		TestsExecutionManager testsManager = new TestsExecutionManager();
 		List<Runner> configuredSuites = new ArrayList<Runner>();
 		boolean isSuite = isSuite(clazz);
+		TestShard shard = TestShard.getCurrentShard();
+		Class<?>[] scheduledClasses = null;
+		if (shard != null || !ORDER_DECLARED.equals(RedDeerProperties.TEST_ORDER.getValue())) {
+			scheduledClasses = selectTestClasses(clazz, shard);
+		}
 
 		for (TestRunConfiguration testRunConfig : config.getTestRunConfigurations()) {
 			log.info("Adding suite with name " + testRunConfig.getId() + " to RedDeer suite");
-			if (isSuite) {
-				configuredSuites.add(new NamedSuite(clazz, new RequirementsRunnerBuilder(testRunConfig, runListeners,
-						beforeTestExtensions, afterTestExtensions, testsManager), testRunConfig.getId()));
+			RequirementsRunnerBuilder runnerBuilder = new RequirementsRunnerBuilder(testRunConfig, runListeners,
+					beforeTestExtensions, afterTestExtensions, testsManager);
+			runnerBuilder.setSharedRequirements(sharedRequirements);
+			if (scheduledClasses != null) {
+				configuredSuites.add(new NamedSuite(scheduledClasses, runnerBuilder, testRunConfig.getId()));
+			} else if (isSuite) {
+				configuredSuites.add(new NamedSuite(clazz, runnerBuilder, testRunConfig.getId()));
 			} else {
-				configuredSuites.add(new NamedSuite(new Class[] { clazz }, new RequirementsRunnerBuilder(testRunConfig,
-						runListeners, beforeTestExtensions, afterTestExtensions, testsManager), testRunConfig.getId()));
+				configuredSuites.add(new NamedSuite(new Class[] { clazz }, runnerBuilder, testRunConfig.getId()));
 			}
 		}
 
 		if (!testsManager.allTestsAreExecuted()) {
-			if (isSuite) {
+			if (scheduledClasses != null) {
+				configuredSuites.add(new TestsWithoutExecutionSuite(scheduledClasses, testsManager));
+			} else if (isSuite) {
 				configuredSuites.add(new TestsWithoutExecutionSuite(clazz, testsManager));
 			} else {
 				configuredSuites.add(new TestsWithoutExecutionSuite(new Class[] { clazz }, testsManager));
@@ -111,6 +183,36 @@ public class RedDeerSuite extends Suite {
 		return configuredSuites;
 	}
 
+	/**
+	 * Selects test classes of the current shard and orders them according to 
+	 * {@link RedDeerProperties#TEST_ORDER} using timings of previous runs.
+	 */
+	private static Class<?>[] selectTestClasses(Class<?> clazz, TestShard shard) {
+		TestTimings timings = TestTimings.getInstance();
+		String order = RedDeerProperties.TEST_ORDER.getValue();
+		boolean byDuration = SHARD_BY_DURATION.equals(RedDeerProperties.SHARD_STRATEGY.getValue());
+		if (!timings.isEnabled() && (byDuration || !ORDER_DECLARED.equals(order))) {
+			log.warn("Property " + RedDeerProperties.TEST_TIMINGS_FILE.getName() 
+					+ " is not set, test classes are scheduled without timings of previous runs");
+		}
+
+		Class<?>[] testClasses = TestShard.getTestClasses(clazz);
+		if (shard != null) {
+			testClasses = byDuration ? shard.selectByDuration(testClasses, timings) : shard.select(testClasses);
+			log.info("Running shard " + shard + " with " + testClasses.length + " test classes");
+		}
+		if (ORDER_LONGEST.equals(order)) {
+			testClasses = timings.sortLongestFirst(testClasses);
+		} else if (ORDER_FAILED.equals(order)) {
+			testClasses = timings.sortFailedFirst(testClasses);
+		}
+		if (timings.isEnabled()) {
+			log.info("Estimated duration of " + testClasses.length + " test classes is " 
+					+ timings.getEstimatedDuration(testClasses) / 1000 + " s per configuration");
+		}
+		return testClasses;
+	}
+
 	private static boolean isSuite(Class<?> clazz) {
 		SuiteClasses annotation = clazz.getAnnotation(SuiteClasses.class);
 		return annotation != null;
@@ -20,6 +20,7 @@ import org.eclipse.swt.graphics.ImageLoader;
 import org.eclipse.swt.widgets.Display;
 import org.jboss.reddeer.common.logging.Logger;
 import org.jboss.reddeer.common.properties.RedDeerProperties;
+import org.jboss.reddeer.junit.internal.runner.TestShard;
 
 /**
  * This class provides capabilities to capture screenshot of display. 
@@ -96,7 +97,7 @@ public class ScreenshotCapturer {
 	}
 	
 	/**
-	 * Gets whole path to a directory where screenshots should be stored. Includes config directory.
+	 * Gets whole path to a directory where screenshots should be stored. Includes shard and config directory.
 	 * 
 	 * @param config config of test suite.
 	 * @return path to a directory supposed to contain screenshots
@@ -111,6 +112,10 @@ public class ScreenshotCapturer {
 		if (!SEPARATOR.equals(path.charAt(path.length() - 1))) {
 			path += SEPARATOR;
 		}
+		TestShard shard = TestShard.getCurrentShard();
+		if (shard != null) {
+			path += shard.getDirectoryName() + SEPARATOR;
+		}
 		if (config != null) {
 			path += config + SEPARATOR;
 		}
@@ -0,0 +1,179 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.shard;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+/**
+ * Merges JUnit XML reports (TEST-*.xml files) of several shards into a single 
+ * report with one <i>testsuites</i> root element. Every merged <i>testsuite</i> 
+ * element gets attribute <i>shard</i> with the name of the shard it comes from.
+ * 
+ */
+public class JUnitReportMerger {
+
+	private static final String[] COUNTERS = new String[] { "tests", "failures", "errors", "skipped" };
+
+	private final Document merged;
+
+	private final Element root;
+
+	/**
+	 * Creates a new merger with empty report.
+	 */
+	public JUnitReportMerger() {
+		merged = newDocumentBuilder().newDocument();
+		root = merged.createElement("testsuites");
+		merged.appendChild(root);
+	}
+
+	/**
+	 * Adds all reports (TEST-*.xml files) found in the specified directory.
+	 *
+	 * @param directory directory with JUnit reports
+	 * @param shardName name of the shard the reports come from
+	 * @return number of added reports
+	 * @throws IOException if a report cannot be read or parsed
+	 */
+	public int addReports(File directory, String shardName) throws IOException {
+		File[] reports = directory.listFiles(new FilenameFilter() {
+			@Override
+			public boolean accept(File dir, String name) {
+				return name.startsWith("TEST-") && name.endsWith(".xml");
+			}
+		});
+		if (reports == null) {
+			return 0;
+		}
+		Arrays.sort(reports);
+		for (File report : reports) {
+			addReport(report, shardName);
+		}
+		return reports.length;
+	}
+
+	/**
+	 * Adds test suites of the specified report.
+	 *
+	 * @param report JUnit report file
+	 * @param shardName name of the shard the report comes from
+	 * @throws IOException if the report cannot be read or parsed
+	 */
+	public void addReport(File report, String shardName) throws IOException {
+		Document document;
+		try {
+			document = newDocumentBuilder().parse(report);
+		} catch (SAXException e) {
+			throw new IOException("JUnit report " + report + " cannot be parsed", e);
+		}
+		for (Element testSuite : getTestSuites(document.getDocumentElement())) {
+			Element imported = (Element) merged.importNode(testSuite, true);
+			imported.setAttribute("shard", shardName);
+			root.appendChild(imported);
+			for (String counter : COUNTERS) {
+				addCounter(counter, testSuite.getAttribute(counter));
+			}
+			addTime(testSuite.getAttribute("time"));
+		}
+	}
+
+	/**
+	 * Writes the merged report to the specified file.
+	 *
+	 * @param output file to write the report to
+	 * @throws IOException if the report cannot be written
+	 */
+	public void write(File output) throws IOException {
+		File parent = output.getAbsoluteFile().getParentFile();
+		if (parent != null && !parent.exists()) {
+			parent.mkdirs();
+		}
+		try {
+			Transformer transformer = TransformerFactory.newInstance().newTransformer();
+			transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+			transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+			transformer.transform(new DOMSource(merged), new StreamResult(output));
+		} catch (TransformerException e) {
+			throw new IOException("Merged JUnit report cannot be written to " + output, e);
+		}
+	}
+
+	private List<Element> getTestSuites(Element element) {
+		List<Element> testSuites = new ArrayList<Element>();
+		if ("testsuite".equals(element.getTagName())) {
+			testSuites.add(element);
+		} else if ("testsuites".equals(element.getTagName())) {
+			NodeList children = element.getChildNodes();
+			for (int i = 0; i < children.getLength(); i++) {
+				Node child = children.item(i);
+				if (child instanceof Element) {
+					testSuites.addAll(getTestSuites((Element) child));
+				}
+			}
+		}
+		return testSuites;
+	}
+
+	private void addCounter(String name, String value) {
+		if (value.isEmpty()) {
+			return;
+		}
+		try {
+			int total = root.hasAttribute(name) ? Integer.parseInt(root.getAttribute(name)) : 0;
+			root.setAttribute(name, String.valueOf(total + Integer.parseInt(value)));
+		} catch (NumberFormatException e) {
+			// ignore malformed counters, they are still part of the merged test suites
+		}
+	}
+
+	private void addTime(String value) {
+		if (value.isEmpty()) {
+			return;
+		}
+		try {
+			double total = root.hasAttribute("time") ? Double.parseDouble(root.getAttribute("time")) : 0;
+			root.setAttribute("time", String.format(Locale.ENGLISH, "%.3f", 
+					total + Double.parseDouble(value.replace(",", ""))));
+		} catch (NumberFormatException e) {
+			// ignore malformed time, it is still part of the merged test suites
+		}
+	}
+
+	private static DocumentBuilder newDocumentBuilder() {
+		try {
+			return DocumentBuilderFactory.newInstance().newDocumentBuilder();
+		} catch (ParserConfigurationException e) {
+			throw new IllegalStateException("XML parser cannot be created", e);
+		}
+	}
+}
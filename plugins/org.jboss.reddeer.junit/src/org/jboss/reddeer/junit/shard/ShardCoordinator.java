@@ -0,0 +1,320 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.shard;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jboss.reddeer.junit.internal.runner.TestTimings;
+
+/**
+ * Runs RedDeer tests in several worker processes in parallel, each of them executing 
+ * a shard of test classes (see system property <i>rd.shard</i>). The coordinator 
+ * starts a worker command for each shard, optionally on its own Xvfb display, 
+ * streams output of the workers prefixed with the shard index and merges JUnit 
+ * reports of all shards into a single report once all workers finish.<br/><br/>
+ * 
+ * Worker command and reports directory can contain following placeholders:
+ * <ul>
+ * <li><b>{index}</b> - 1-based index of the shard</li>
+ * <li><b>{count}</b> - number of shards</li>
+ * <li><b>{shard}</b> - value of <i>rd.shard</i> property, i.e. index/count</li>
+ * <li><b>{display}</b> - X display of the shard, e.g. :91</li>
+ * <li><b>{baseline}</b> - copy of the timings file made before workers start</li>
+ * </ul>
+ * Every worker has to use its own workspace, e.g. by passing <i>-data workspace-{index}</i> 
+ * to the worker command. Shards have similar duration if workers share a timings file 
+ * and distribute classes by duration, e.g. <i>-timings /path/timings.properties -- ... 
+ * -Drd.testTimings=/path/timings.properties -Drd.testTimingsBaseline={baseline} 
+ * -Drd.shardStrategy=duration</i>. The baseline makes all shards split test classes 
+ * the same way although they save their timings to the shared file while running.<br/><br/>
+ * 
+ * Usage:<br/>
+ * <code>java org.jboss.reddeer.junit.shard.ShardCoordinator -shards 4 -xvfb 
+ * -reports target/shard-{index}/surefire-reports -output target/TEST-merged.xml 
+ * -- mvn verify -Drd.shard={shard} -Dworkspace=workspace-{index}</code>
+ * 
+ */
+public class ShardCoordinator {
+
+	private static final String XVFB_SCREEN = "1920x1080x24";
+
+	private static final long XVFB_START_TIMEOUT = 10000;
+
+	private final int shards;
+
+	private final List<String> command;
+
+	private boolean startXvfb = false;
+
+	private int firstDisplay = 90;
+
+	private String reportsDirectory;
+
+	private File mergedReport;
+
+	private File timingsFile;
+
+	private PrintStream out = System.out;
+
+	/**
+	 * Creates a new coordinator.
+	 *
+	 * @param shards number of shards
+	 * @param command worker command, can contain placeholders
+	 */
+	public ShardCoordinator(int shards, List<String> command) {
+		if (shards < 1) {
+			throw new IllegalArgumentException("Number of shards has to be positive");
+		}
+		if (command.isEmpty()) {
+			throw new IllegalArgumentException("Worker command has to be specified");
+		}
+		this.shards = shards;
+		this.command = new ArrayList<String>(command);
+	}
+
+	/**
+	 * Sets whether a separate Xvfb display is started for every shard. Displays are 
+	 * numbered from the first display, DISPLAY environment variable of workers is set accordingly.
+	 *
+	 * @param startXvfb true if Xvfb displays should be started
+	 * @param firstDisplay number of the display of the first shard
+	 */
+	public void setXvfb(boolean startXvfb, int firstDisplay) {
+		this.startXvfb = startXvfb;
+		this.firstDisplay = firstDisplay;
+	}
+
+	/**
+	 * Sets directory with JUnit reports of a shard and file the reports of all shards are merged to.
+	 *
+	 * @param reportsDirectory reports directory of a shard, can contain placeholders
+	 * @param mergedReport file to write merged report to
+	 */
+	public void setReports(String reportsDirectory, File mergedReport) {
+		this.reportsDirectory = reportsDirectory;
+		this.mergedReport = mergedReport;
+	}
+
+	/**
+	 * Sets timings file shared by the workers. The file is copied to baseline 
+	 * file <i>{timings file}.baseline</i> before workers start.
+	 *
+	 * @param timingsFile timings file shared by the workers
+	 */
+	public void setTimings(File timingsFile) {
+		this.timingsFile = timingsFile;
+	}
+
+	/**
+	 * Runs all shards and waits until they finish.
+	 *
+	 * @return 0 if all workers finished successfully, exit code of a failed worker otherwise
+	 * @throws IOException if a worker cannot be started or reports cannot be merged
+	 * @throws InterruptedException if the coordinator is interrupted while waiting for workers
+	 */
+	public int run() throws IOException, InterruptedException {
+		List<Process> displays = new ArrayList<Process>();
+		List<Process> workers = new ArrayList<Process>();
+		List<Thread> streams = new ArrayList<Thread>();
+		int exitCode = 0;
+		if (timingsFile != null) {
+			TestTimings.copyBaseline(timingsFile, getBaseline());
+			out.println("Test timings baseline written to " + getBaseline());
+		}
+		try {
+			for (int index = 1; index <= shards; index++) {
+				if (startXvfb) {
+					displays.add(startXvfb(getDisplay(index)));
+				}
+				Process worker = startWorker(index);
+				workers.add(worker);
+				streams.add(streamOutput(index, worker));
+			}
+			for (int i = 0; i < workers.size(); i++) {
+				int workerExitCode = workers.get(i).waitFor();
+				streams.get(i).join();
+				print(i + 1, "Worker finished with exit code " + workerExitCode);
+				if (workerExitCode != 0 && exitCode == 0) {
+					exitCode = workerExitCode;
+				}
+			}
+		} finally {
+			for (Process worker : workers) {
+				worker.destroy();
+			}
+			for (Process display : displays) {
+				display.destroy();
+			}
+		}
+		mergeReports();
+		return exitCode;
+	}
+
+	private Process startWorker(int index) throws IOException {
+		List<String> workerCommand = new ArrayList<String>();
+		for (String argument : command) {
+			workerCommand.add(resolve(argument, index));
+		}
+		ProcessBuilder builder = new ProcessBuilder(workerCommand);
+		builder.redirectErrorStream(true);
+		if (startXvfb) {
+			builder.environment().put("DISPLAY", getDisplay(index));
+		}
+		print(index, "Starting worker: " + workerCommand);
+		return builder.start();
+	}
+
+	private Process startXvfb(String display) throws IOException, InterruptedException {
+		ProcessBuilder builder = new ProcessBuilder("Xvfb", display, "-screen", "0", XVFB_SCREEN);
+		builder.redirectErrorStream(true);
+		builder.redirectOutput(new File("xvfb" + display.replace(":", "-") + ".log"));
+		Process xvfb = builder.start();
+		File socket = new File("/tmp/.X11-unix/X" + display.substring(1));
+		long limit = System.currentTimeMillis() + XVFB_START_TIMEOUT;
+		while (!socket.exists() && System.currentTimeMillis() < limit) {
+			Thread.sleep(100);
+		}
+		if (!socket.exists()) {
+			xvfb.destroy();
+			throw new IOException("Xvfb has not started on display " + display);
+		}
+		return xvfb;
+	}
+
+	private Thread streamOutput(final int index, final Process worker) {
+		Thread thread = new Thread("Shard " + index + " output") {
+			@Override
+			public void run() {
+				BufferedReader reader = new BufferedReader(new InputStreamReader(worker.getInputStream()));
+				try {
+					String line;
+					while ((line = reader.readLine()) != null) {
+						print(index, line);
+					}
+				} catch (IOException e) {
+					print(index, "Output of the worker cannot be read: " + e.getMessage());
+				} finally {
+					try {
+						reader.close();
+					} catch (IOException e) {
+						// nothing to do, the worker has finished
+					}
+				}
+			}
+		};
+		thread.setDaemon(true);
+		thread.start();
+		return thread;
+	}
+
+	private void mergeReports() throws IOException {
+		if (reportsDirectory == null || mergedReport == null) {
+			return;
+		}
+		JUnitReportMerger merger = new JUnitReportMerger();
+		for (int index = 1; index <= shards; index++) {
+			File directory = new File(resolve(reportsDirectory, index));
+			int reports = merger.addReports(directory, index + "/" + shards);
+			print(index, "Merged " + reports + " JUnit reports from " + directory);
+		}
+		merger.write(mergedReport);
+		out.println("Merged JUnit report written to " + mergedReport);
+	}
+
+	private String resolve(String value, int index) {
+		return value.replace("{index}", String.valueOf(index))
+				.replace("{count}", String.valueOf(shards))
+				.replace("{shard}", index + "/" + shards)
+				.replace("{display}", getDisplay(index))
+				.replace("{baseline}", timingsFile == null ? "" : getBaseline().getPath());
+	}
+
+	private File getBaseline() {
+		return new File(timingsFile.getPath() + ".baseline");
+	}
+
+	private String getDisplay(int index) {
+		return ":" + (firstDisplay + index - 1);
+	}
+
+	private void print(int index, String line) {
+		synchronized (out) {
+			out.println("[shard " + index + "] " + line);
+		}
+	}
+
+	/**
+	 * Runs the coordinator from command line. Arguments are 
+	 * <i>-shards N [-xvfb [firstDisplay]] [-reports dir -output file] [-timings file] -- command...</i>
+	 *
+	 * @param args command line arguments
+	 * @throws Exception if the shards cannot be run
+	 */
+	public static void main(String[] args) throws Exception {
+		int shards = 0;
+		boolean xvfb = false;
+		int firstDisplay = 90;
+		String reports = null;
+		String output = null;
+		String timings = null;
+		List<String> command = new ArrayList<String>();
+		for (int i = 0; i < args.length; i++) {
+			if ("--".equals(args[i])) {
+				command.addAll(Arrays.asList(args).subList(i + 1, args.length));
+				break;
+			} else if ("-shards".equals(args[i]) && i + 1 < args.length) {
+				shards = Integer.parseInt(args[++i]);
+			} else if ("-xvfb".equals(args[i])) {
+				xvfb = true;
+				if (i + 1 < args.length && args[i + 1].matches("\\d+")) {
+					firstDisplay = Integer.parseInt(args[++i]);
+				}
+			} else if ("-reports".equals(args[i]) && i + 1 < args.length) {
+				reports = args[++i];
+			} else if ("-output".equals(args[i]) && i + 1 < args.length) {
+				output = args[++i];
+			} else if ("-timings".equals(args[i]) && i + 1 < args.length) {
+				timings = args[++i];
+			} else {
+				printUsage();
+				System.exit(2);
+			}
+		}
+		if (shards < 1 || command.isEmpty()) {
+			printUsage();
+			System.exit(2);
+		}
+		ShardCoordinator coordinator = new ShardCoordinator(shards, command);
+		coordinator.setXvfb(xvfb, firstDisplay);
+		if (reports != null) {
+			coordinator.setReports(reports, new File(output != null ? output : "TEST-merged.xml"));
+		}
+		if (timings != null) {
+			coordinator.setTimings(new File(timings));
+		}
+		System.exit(coordinator.run());
+	}
+
+	private static void printUsage() {
+		System.err.println("Usage: ShardCoordinator -shards N [-xvfb [firstDisplay]] "
+				+ "[-reports dir -output file] [-timings file] -- command...");
+		System.err.println("Placeholders {index}, {count}, {shard}, {display} and {baseline} are resolved "
+				+ "in the command and reports directory for every shard.");
+	}
+}
@@ -20,7 +20,8 @@ import org.jboss.reddeer.common.wait.WaitWhile;
 import org.jboss.reddeer.core.condition.JobIsRunning;
 import org.jboss.reddeer.eclipse.jdt.ui.preferences.JREsPreferencePage;
 import org.jboss.reddeer.junit.requirement.CustomConfiguration;
-import org.jboss.reddeer.junit.requirement.Requirement;
+import org.jboss.reddeer.junit.requirement.RequirementScope;
+import org.jboss.reddeer.junit.requirement.ScopedRequirement;
 import org.jboss.reddeer.requirements.jre.JRERequirement.JRE;
 import org.jboss.reddeer.workbench.ui.dialogs.WorkbenchPreferenceDialog;
 
@@ -32,7 +33,7 @@ import org.jboss.reddeer.workbench.ui.dialogs.WorkbenchPreferenceDialog;
  *
  */
 
-public class JRERequirement implements Requirement<JRE>, CustomConfiguration<JREConfiguration> {
+public class JRERequirement implements ScopedRequirement<JRE>, CustomConfiguration<JREConfiguration> {
 
 	private Logger log = Logger.getLogger(JRERequirement.class);
 	private JRE jre;
@@ -55,6 +56,13 @@ public class JRERequirement implements Requirement<JRE>, CustomConfiguration<JRE
 		 * @return true, if successful
 		 */
 		boolean cleanup() default false;
+		
+		/**
+		 * Scope in which the fulfilled requirement is reused by test classes with equal declaration.
+		 *
+		 * @return the requirement scope
+		 */
+		RequirementScope scope() default RequirementScope.CLASS;
 	}
 
 	/**
@@ -174,4 +182,27 @@ public class JRERequirement implements Requirement<JRE>, CustomConfiguration<JRE
 		return configuration.getVersion();
 	}
 
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.junit.requirement.ScopedRequirement#getDeclaration()
+	 */
+	@Override
+	public JRE getDeclaration() {
+		return jre;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.junit.requirement.ScopedRequirement#getScope()
+	 */
+	@Override
+	public RequirementScope getScope() {
+		return jre.scope();
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.junit.requirement.ScopedRequirement#reuse()
+	 */
+	@Override
+	public void reuse() {
+		// nothing to restore
+	}
 }
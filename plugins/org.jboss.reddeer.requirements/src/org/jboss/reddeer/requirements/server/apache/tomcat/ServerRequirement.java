@@ -19,7 +19,8 @@ import org.jboss.reddeer.common.logging.Logger;
 import org.jboss.reddeer.eclipse.wst.server.ui.wizard.NewServerWizardDialog;
 import org.jboss.reddeer.eclipse.wst.server.ui.wizard.NewServerWizardPage;
 import org.jboss.reddeer.junit.requirement.CustomConfiguration;
-import org.jboss.reddeer.junit.requirement.Requirement;
+import org.jboss.reddeer.junit.requirement.RequirementScope;
+import org.jboss.reddeer.junit.requirement.ScopedRequirement;
 import org.jboss.reddeer.requirements.server.ConfiguredServerInfo;
 import org.jboss.reddeer.requirements.server.IServerReqConfig;
 import org.jboss.reddeer.requirements.server.ServerReqBase;
@@ -34,7 +35,7 @@ import org.jboss.reddeer.swt.impl.text.DefaultText;
  *
  */
 public class ServerRequirement extends ServerReqBase 
-			implements Requirement<ApacheTomcatServer>, CustomConfiguration<ServerRequirementConfig> {
+			implements ScopedRequirement<ApacheTomcatServer>, CustomConfiguration<ServerRequirementConfig> {
 
 	private static final Logger LOGGER = Logger.getLogger(ServerRequirement.class);
 	
@@ -60,6 +61,13 @@ public class ServerRequirement extends ServerReqBase
 		 * @return true, if successful
 		 */
 		boolean cleanup() default true;
+		
+		/**
+		 * Scope in which the fulfilled requirement is reused by test classes with equal declaration.
+		 *
+		 * @return the requirement scope
+		 */
+		RequirementScope scope() default RequirementScope.CLASS;
 	}
 	
 	/* (non-Javadoc)
@@ -169,5 +177,30 @@ public class ServerRequirement extends ServerReqBase
 			removeLastRequiredServerAndRuntime(lastServerConfiguration);
 			lastServerConfiguration = null;
 		}
-	}	
-}
\ No newline at end of file
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.junit.requirement.ScopedRequirement#getDeclaration()
+	 */
+	@Override
+	public ApacheTomcatServer getDeclaration() {
+		return server;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.junit.requirement.ScopedRequirement#getScope()
+	 */
+	@Override
+	public RequirementScope getScope() {
+		return server.scope();
+	}
+
+	/**
+	 * Sets the required server state again, previous test classes could have changed it. 
+	 * The server is set up again if it has been removed.
+	 */
+	@Override
+	public void reuse() {
+		fulfill();
+	}
+}
@@ -61,7 +61,9 @@ public abstract class AbstractButton extends AbstractWidget<org.eclipse.swt.widg
 	 */
 	@Override
 	public void click() {
-		log.info("Click button " + getDescriptiveText());
+		if (log.isInfoEnabled()) {
+			log.info("Click button " + getDescriptiveText());
+		}
 		new WaitUntil(new WidgetIsEnabled(this));
 		ButtonHandler.getInstance().click(swtWidget);
 	}
@@ -117,21 +117,31 @@ public class CheckBox extends AbstractButton {
 	 * @param checked whether checked or not
 	 */
 	public void toggle(boolean checked){
-		log.info("Select checkbox " + getDescriptiveText());
+		if (log.isInfoEnabled()) {
+			log.info("Select checkbox " + getDescriptiveText());
+		}
 		if (checked){
 			if (isChecked()) {
-				log.debug("Checkbox " + getDescriptiveText() + " already selected, no action performed");
+				if (log.isDebugEnabled()) {
+					log.debug("Checkbox " + getDescriptiveText() + " already selected, no action performed");
+				}
 				return;
 			}else{
-				log.info("Check checkbox " + getDescriptiveText());
+				if (log.isInfoEnabled()) {
+					log.info("Check checkbox " + getDescriptiveText());
+				}
 				click();
 			}
 		}else{
 			if (isChecked()) {
-				log.info("Uncheck checkbox " + getDescriptiveText());
+				if (log.isInfoEnabled()) {
+					log.info("Uncheck checkbox " + getDescriptiveText());
+				}
 				click();
 			}else{
-				log.debug("Checkbox " + getDescriptiveText() + " not checked, no action performed");
+				if (log.isDebugEnabled()) {
+					log.debug("Checkbox " + getDescriptiveText() + " not checked, no action performed");
+				}
 				return;
 			}
 		}
@@ -118,18 +118,26 @@ public class RadioButton extends AbstractButton {
 	public void toggle(boolean checked){
 		if (checked){
 			if (isSelected()) {
-				log.debug("Radio Button " + getDescriptiveText() + " already checked, no action performed");
+				if (log.isDebugEnabled()) {
+					log.debug("Radio Button " + getDescriptiveText() + " already checked, no action performed");
+				}
 				return;
 			}else{
-				log.info("Select radio button " + getDescriptiveText());
+				if (log.isInfoEnabled()) {
+					log.info("Select radio button " + getDescriptiveText());
+				}
 				click();
 			}
 		}else{
 			if (isSelected()) {
-				log.info("Unchecking Radio Button " + getDescriptiveText());
+				if (log.isInfoEnabled()) {
+					log.info("Unchecking Radio Button " + getDescriptiveText());
+				}
 				click();
 			}else{
-				log.debug("Radio button " + getDescriptiveText() + " already unselected, no action performed");
+				if (log.isDebugEnabled()) {
+					log.debug("Radio button " + getDescriptiveText() + " already unselected, no action performed");
+				}
 				return;
 			}
 		}
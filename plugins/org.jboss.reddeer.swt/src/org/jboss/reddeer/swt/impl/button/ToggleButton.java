@@ -118,18 +118,26 @@ public class ToggleButton extends AbstractButton {
 	public void toggle(boolean checked){
 		if (checked){
 			if (isSelected()) {
-				log.debug("Toggle Button " + getDescriptiveText() + " already checked, no action performed");
+				if (log.isDebugEnabled()) {
+					log.debug("Toggle Button " + getDescriptiveText() + " already checked, no action performed");
+				}
 				return;
 			}else{
-				log.info("Checking Toggle Button " + getDescriptiveText());
+				if (log.isInfoEnabled()) {
+					log.info("Checking Toggle Button " + getDescriptiveText());
+				}
 				click();
 			}
 		}else{
 			if (isSelected()) {
-				log.info("Unchecking Toggle Button " + getDescriptiveText());
+				if (log.isInfoEnabled()) {
+					log.info("Unchecking Toggle Button " + getDescriptiveText());
+				}
 				click();
 			}else{
-				log.debug("Toggle Button " + getDescriptiveText() + " already unchecked, no action performed");
+				if (log.isDebugEnabled()) {
+					log.debug("Toggle Button " + getDescriptiveText() + " already unchecked, no action performed");
+				}
 				return;
 			}
 		}
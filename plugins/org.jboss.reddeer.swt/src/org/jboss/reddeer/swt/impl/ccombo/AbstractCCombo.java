@@ -44,7 +44,9 @@ public abstract class AbstractCCombo extends AbstractWidget<org.eclipse.swt.cust
 	 */
 	@Override
 	public void setText(String str) {
-		log.info("Set text of CCombo " + getText() + " to:" + str);
+		if (log.isInfoEnabled()) {
+			log.info("Set text of CCombo " + getText() + " to:" + str);
+		}
 		WidgetHandler.getInstance().setText(swtWidget, str);
 	}
 
@@ -53,7 +55,9 @@ public abstract class AbstractCCombo extends AbstractWidget<org.eclipse.swt.cust
 	 */
 	@Override
 	public void setSelection(int index) {
-		log.info("Set selection of CCombo " + getText() + " to index: " + index);
+		if (log.isInfoEnabled()) {
+			log.info("Set selection of CCombo " + getText() + " to index: " + index);
+		}
 		CComboHandler.getInstance().setSelection(swtWidget, index);
 		notifyCCombo(createEventForCCombo(SWT.Selection));
 	}
@@ -63,7 +67,9 @@ public abstract class AbstractCCombo extends AbstractWidget<org.eclipse.swt.cust
 	 */
 	@Override
 	public void setSelection(String selection) {
-		log.info("Set selection of CCombo " + getText() + " to selection: " + selection);
+		if (log.isInfoEnabled()) {
+			log.info("Set selection of CCombo " + getText() + " to selection: " + selection);
+		}
 		CComboHandler.getInstance().setSelection(swtWidget, selection);
 		notifyCCombo(createEventForCCombo(SWT.Selection));
 	}
@@ -45,7 +45,9 @@ public abstract class AbstractCombo extends AbstractWidget<org.eclipse.swt.widge
 	 */
 	@Override
 	public void setText(String str) {
-		log.info("Set text of Combo " + getText() + " to:" + str);
+		if (log.isInfoEnabled()) {
+			log.info("Set text of Combo " + getText() + " to:" + str);
+		}
 		WidgetHandler.getInstance().setText(swtWidget, str);
 	}
 
@@ -56,8 +58,10 @@ public abstract class AbstractCombo extends AbstractWidget<org.eclipse.swt.widge
 	 */
 	@Override
 	public void setSelection(int index) {
-		log.info("Set selection of Combo " + getText() + " to index: "
-				+ index);
+		if (log.isInfoEnabled()) {
+			log.info("Set selection of Combo " + getText() + " to index: "
+					+ index);
+		}
 		ComboHandler.getInstance().setSelection(swtWidget, index);
 		notifyCombo(createEventForCombo(SWT.Selection));
 	}
@@ -69,8 +73,10 @@ public abstract class AbstractCombo extends AbstractWidget<org.eclipse.swt.widge
 	 */
 	@Override
 	public void setSelection(String selection) {
-		log.info("Set selection of Combo " + getText() + " to selection: "
-				+ selection);
+		if (log.isInfoEnabled()) {
+			log.info("Set selection of Combo " + getText() + " to selection: "
+					+ selection);
+		}
 		ComboHandler.getInstance().setSelection(swtWidget, selection);
 		notifyCombo(createEventForCombo(SWT.Selection));
 	}
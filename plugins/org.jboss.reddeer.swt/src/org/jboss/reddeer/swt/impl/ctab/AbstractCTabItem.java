@@ -77,7 +77,9 @@ public abstract class AbstractCTabItem extends AbstractWidget<org.eclipse.swt.cu
 	 */
 	@Override
 	public void close() {
-		logger.info("Close CTabItem " + getText());
+		if (logger.isInfoEnabled()) {
+			logger.info("Close CTabItem " + getText());
+		}
 		if (isShowClose()) {
 			activate();
 			cTabItemHandler.clickCloseButton(swtWidget);
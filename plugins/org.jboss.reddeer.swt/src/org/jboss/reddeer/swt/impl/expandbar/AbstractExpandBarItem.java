@@ -73,15 +73,21 @@ public abstract class AbstractExpandBarItem extends AbstractWidget<org.eclipse.s
 	 */
 	@Override
 	public void expand(TimePeriod timePeriod) {
-		logger.debug("Expand Expand Bar Item " + getText());
+		if (logger.isDebugEnabled()) {
+			logger.debug("Expand Expand Bar Item " + getText());
+		}
 		if (!isExpanded()) {
 			ExpandBarItemHandler.getInstance().expand(getSWTWidget(), getSWTParent());
 			AbstractWait.sleep(timePeriod);
-			logger.info("Expand Bar Item " + getText()
-					+ " has been expanded");
+			if (logger.isInfoEnabled()) {
+				logger.info("Expand Bar Item " + getText()
+						+ " has been expanded");
+			}
 		} else {
-			logger.debug("Expand Bar Item " + getText()
-					+ " is already expanded. No action performed");
+			if (logger.isDebugEnabled()) {
+				logger.debug("Expand Bar Item " + getText()
+						+ " is already expanded. No action performed");
+			}
 		}
 	}
 	
@@ -90,14 +96,20 @@ public abstract class AbstractExpandBarItem extends AbstractWidget<org.eclipse.s
 	 */
 	@Override
 	public void collapse() {
-		logger.debug("Collapse Expand Bar Item " + getText());
+		if (logger.isDebugEnabled()) {
+			logger.debug("Collapse Expand Bar Item " + getText());
+		}
 		if (isExpanded()) {
 			ExpandBarItemHandler.getInstance().collapse(getSWTWidget(), getSWTParent());
-			logger.info("Expand Bar Item " + getText()
-					+ " has been collapsed");
+			if (logger.isInfoEnabled()) {
+				logger.info("Expand Bar Item " + getText()
+						+ " has been collapsed");
+			}
 		} else {
-			logger.debug("Expand Bar Item " + getText()
-					+ " is already collapsed. No action performed");
+			if (logger.isDebugEnabled()) {
+				logger.debug("Expand Bar Item " + getText()
+						+ " is already collapsed. No action performed");
+			}
 		}
 	}
 	
@@ -69,7 +69,9 @@ public class ContextMenu extends AbstractMenu implements Menu {
 	 */
 	@Override
 	public void select() {
-		log.info("Select context menu item with text " + getText());
+		if (log.isInfoEnabled()) {
+			log.info("Select context menu item with text " + getText());
+		}
 		if(menuItem != null){
 			mh.select(menuItem);
 		} else {
@@ -77,7 +77,9 @@ public class ShellMenu extends AbstractMenu implements Menu {
 	 */
 	@Override
 	public void select() {
-		log.info("Select shell menu with text " + getText());
+		if (log.isInfoEnabled()) {
+			log.info("Select shell menu with text " + getText());
+		}
 		if (!isSubmenuOfMacEclipseMenu){
 			mh.select(menuItem);
 		} else {
@@ -60,7 +60,9 @@ public class ViewMenu extends AbstractMenu implements Menu {
 	 * @see org.jboss.reddeer.swt.impl.menu.AbstractMenu#select()
 	 */
 	public void select() {
-		log.info("Select view menu with text " + getText());
+		if (log.isInfoEnabled()) {
+			log.info("Select view menu with text " + getText());
+		}
 		if (item == null) {
 			mh.select(menuItem);
 		} else {
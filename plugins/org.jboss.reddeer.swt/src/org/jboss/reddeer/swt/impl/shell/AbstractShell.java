@@ -69,7 +69,9 @@ public abstract class AbstractShell implements Shell {
 	 */
 	@Override
 	public void setFocus() {
-		log.debug("Set focus to Shell " + getText());
+		if (log.isDebugEnabled()) {
+			log.debug("Set focus to Shell " + getText());
+		}
 		WidgetHandler.getInstance().setFocus(swtShell);
 		new WaitUntil(new ShellIsActive(this));
 	}
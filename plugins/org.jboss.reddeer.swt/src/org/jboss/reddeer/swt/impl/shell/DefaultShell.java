@@ -64,7 +64,9 @@ public class DefaultShell extends AbstractShell {
 		super(ShellLookup.getInstance().getActiveShell());
 		try {
 			setFocus();
-			log.debug("Active shell with title '" + getText() + "' found");
+			if (log.isDebugEnabled()) {
+				log.debug("Active shell with title '" + getText() + "' found");
+			}
 		} catch (Exception e) {
 			throw new SWTLayerException("No active shell is available at the moment", e);
 		}
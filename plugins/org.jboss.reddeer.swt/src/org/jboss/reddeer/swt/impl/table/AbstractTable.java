@@ -22,8 +22,11 @@ import org.jboss.reddeer.swt.api.Table;
 import org.jboss.reddeer.swt.api.TableItem;
 import org.jboss.reddeer.swt.condition.TableHasRows;
 import org.jboss.reddeer.swt.exception.SWTLayerException;
+import org.jboss.reddeer.core.exception.CoreLayerException;
 import org.jboss.reddeer.core.handler.TableHandler;
+import org.jboss.reddeer.core.handler.TableSnapshot;
 import org.jboss.reddeer.swt.impl.table.internal.BasicTableItem;
+import org.jboss.reddeer.swt.impl.table.internal.SnapshotTableItem;
 import org.jboss.reddeer.core.reference.ReferencedComposite;
 import org.jboss.reddeer.common.wait.TimePeriod;
 import org.jboss.reddeer.common.wait.WaitUntil;
@@ -52,12 +55,7 @@ public abstract class AbstractTable extends AbstractWidget<org.eclipse.swt.widge
 	 */
 	@Override
 	public boolean containsItem(String item){
-		for(TableItem it: getItems()){
-			if(it.getText().equals(item)){
-				return true;
-			}
-		}
-		return false;
+		return containsItem(item, 0);
 	}
 	
 	/* (non-Javadoc)
@@ -65,12 +63,8 @@ public abstract class AbstractTable extends AbstractWidget<org.eclipse.swt.widge
 	 */
 	@Override
 	public boolean containsItem(String item, int cellIndex){
-		for(TableItem it: getItems()){
-			if(it.getText(cellIndex).equals(item)){
-				return true;
-			}
-		}
-		return false;
+		waitUntilTableHasRows();
+		return indexOf(item, cellIndex) >= 0;
 	}
 	
 	/* (non-Javadoc)
@@ -92,15 +86,18 @@ public abstract class AbstractTable extends AbstractWidget<org.eclipse.swt.widge
 	 */
 	@Override
 	public List<TableItem> getItems(Matcher<TableItem>... matchers) {
+		waitUntilTableHasRows();
+		TableSnapshot snapshot = TableHandler.getInstance().snapshot(swtWidget);
 		List<TableItem> matchedItems = new ArrayList<TableItem>();
 		
-		for (TableItem item : getItems()){
+		for (int row = 0; row < snapshot.getRowCount(); row++){
+			TableItem item = new SnapshotTableItem(snapshot, row);
 			int index = 0;
 			while (index < matchers.length && matchers[index].matches(item)){
 				index++;
 			}
 			if (index == matchers.length){
-				matchedItems.add(item);
+				matchedItems.add(new BasicTableItem(snapshot.getItem(row)));
 			}
 		}
 		return matchedItems;
@@ -122,9 +119,7 @@ public abstract class AbstractTable extends AbstractWidget<org.eclipse.swt.widge
 	@Override
 	public TableItem getItem(final String itemText) {
 		waitUntilTableHasRows();
-		int row = TableHandler.getInstance().indexOf(swtWidget, itemText, 0);
-		org.eclipse.swt.widgets.TableItem tItem = TableHandler.getInstance().getSWTItem(swtWidget, row);
-		return new BasicTableItem(tItem);
+		return getItem(itemText, 0);
 	}
 	
 	/* (non-Javadoc)
@@ -133,9 +128,11 @@ public abstract class AbstractTable extends AbstractWidget<org.eclipse.swt.widge
 	@Override
 	public TableItem getItem(final String itemText, int column) {
 		waitUntilTableHasRows();
-		int row = TableHandler.getInstance().indexOf(swtWidget, itemText, column);
-		org.eclipse.swt.widgets.TableItem tItem = TableHandler.getInstance().getSWTItem(swtWidget, row);
-		return new BasicTableItem(tItem);
+		int row = indexOf(itemText, column);
+		if (row < 0) {
+			throw new CoreLayerException("Item " + itemText + " does not exist in table");
+		}
+		return new BasicTableItem(TableHandler.getInstance().getSWTItem(swtWidget, row));
 	}
 
 	/* (non-Javadoc)
@@ -168,9 +165,13 @@ public abstract class AbstractTable extends AbstractWidget<org.eclipse.swt.widge
 	public void select(String... items) {
 		log.info("Select table rows (" + LoggingUtils.format(items) + ")");
 		waitUntilTableHasRows();
+		TableSnapshot snapshot = TableHandler.getInstance().snapshot(swtWidget, 0);
 		int[] indicies = new int[items.length];
 		for(int i =0;i<items.length;i++){
-			indicies[i] = TableHandler.getInstance().indexOf(swtWidget, items[i], 0);
+			indicies[i] = snapshot.indexOf(items[i], 0);
+			if (indicies[i] < 0) {
+				throw new CoreLayerException("Item " + items[i] + " does not exist in table");
+			}
 		}
 		select(indicies);
 	}
@@ -195,6 +196,17 @@ public abstract class AbstractTable extends AbstractWidget<org.eclipse.swt.widge
 		TableHandler.getInstance().deselectAll(swtWidget);
 	}
 
+	/*
+	 * Rows of a virtual table are read lazily, so that rows after the matching one are not populated.
+	 */
+	private int indexOf(String itemText, int column) {
+		LazyTableItems items = new LazyTableItems(this);
+		if (items.isVirtual()) {
+			return items.indexOf(itemText, column);
+		}
+		return TableHandler.getInstance().snapshot(swtWidget, column).indexOf(itemText, column);
+	}
+
 	private void waitUntilTableHasRows() {
 		new WaitUntil(new TableHasRows(this), TimePeriod.NORMAL, false);
 	}
@@ -236,7 +248,9 @@ public abstract class AbstractTable extends AbstractWidget<org.eclipse.swt.widge
 				return i;
 			}
 		}
-		log.debug("Available headers: " + getHeaders());
+		if (log.isDebugEnabled()) {
+			log.debug("Available headers: " + getHeaders());
+		}
 		throw new SWTLayerException("There is no header with label " + header +
 				" in table.");
 	}
@@ -264,10 +278,12 @@ public abstract class AbstractTable extends AbstractWidget<org.eclipse.swt.widge
 	 */
 	@Override
 	public List<TableItem> getSelectetItems(){
+		waitUntilTableHasRows();
+		TableSnapshot snapshot = TableHandler.getInstance().snapshot(swtWidget, 0);
 		LinkedList<TableItem> result = new LinkedList<TableItem>();
-		for (TableItem tableItem : getItems()){
-			if (tableItem.isSelected()){
-				result.addLast(tableItem);
+		for (int row = 0; row < snapshot.getRowCount(); row++){
+			if (snapshot.isSelected(row)){
+				result.addLast(new BasicTableItem(snapshot.getItem(row)));
 			}
 		}
 		return result;
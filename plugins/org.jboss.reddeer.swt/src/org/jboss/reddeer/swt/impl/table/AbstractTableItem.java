@@ -42,8 +42,10 @@ public class AbstractTableItem extends AbstractWidget<org.eclipse.swt.widgets.Ta
 	 */
 	@Override
 	public void setChecked(final boolean check) {
-		log.info((check ? "Check" : "Uncheck") + " table Item " + getText()
-				+ ":");
+		if (log.isInfoEnabled()) {
+			log.info((check ? "Check" : "Uncheck") + " table Item " + getText()
+					+ ":");
+		}
 		TableItemHandler.getInstance().setChecked(swtWidget, check);
 	}
 
@@ -116,7 +118,9 @@ public class AbstractTableItem extends AbstractWidget<org.eclipse.swt.widgets.Ta
 	 */
 	@Override
 	public void doubleClick(){
-		log.info("Double click table item " + getText());
+		if (log.isInfoEnabled()) {
+			log.info("Double click table item " + getText());
+		}
 		TableHandler.getInstance().doubleClick(swtWidget, 0);
 	}
 	
@@ -133,7 +137,9 @@ public class AbstractTableItem extends AbstractWidget<org.eclipse.swt.widgets.Ta
 	 */
 	@Override
 	public void click(int column){
-		log.info("Double click table item " + getText());
+		if (log.isInfoEnabled()) {
+			log.info("Double click table item " + getText());
+		}
 		TableHandler.getInstance().click(swtWidget, column);
 	}
 	
@@ -142,7 +148,9 @@ public class AbstractTableItem extends AbstractWidget<org.eclipse.swt.widgets.Ta
 	 */
 	@Override
 	public void doubleClick(int column){
-		log.info("Double click column " + column + " of table item " + getText());
+		if (log.isInfoEnabled()) {
+			log.info("Double click column " + column + " of table item " + getText());
+		}
 		TableHandler.getInstance().doubleClick(swtWidget, column);
 	}
 }
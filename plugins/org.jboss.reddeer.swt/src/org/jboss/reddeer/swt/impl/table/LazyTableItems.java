@@ -0,0 +1,211 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.swt.impl.table;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.eclipse.swt.SWT;
+import org.hamcrest.Matcher;
+import org.jboss.reddeer.core.handler.TableHandler;
+import org.jboss.reddeer.core.handler.TableSnapshot;
+import org.jboss.reddeer.core.handler.WidgetHandler;
+import org.jboss.reddeer.swt.api.Table;
+import org.jboss.reddeer.swt.api.TableItem;
+import org.jboss.reddeer.swt.impl.table.internal.BasicTableItem;
+import org.jboss.reddeer.swt.impl.table.internal.SnapshotTableItem;
+
+/**
+ * Lazy view of items of a table. Items are read page by page only when they are 
+ * requested, so items of a {@link SWT#VIRTUAL} table which are never inspected 
+ * are not populated by its content provider. Lookups stop reading pages as soon as 
+ * they find what they are looking for.
+ */
+public class LazyTableItems implements Iterable<TableItem> {
+
+	/**
+	 * Default count of items read in one UI round trip.
+	 */
+	public static final int DEFAULT_PAGE_SIZE = 100;
+
+	private final org.eclipse.swt.widgets.Table swtTable;
+
+	private final int pageSize;
+
+	/**
+	 * Instantiates a new lazy view of items of specified table with default page size.
+	 *
+	 * @param table table
+	 */
+	public LazyTableItems(Table table) {
+		this(table, DEFAULT_PAGE_SIZE);
+	}
+
+	/**
+	 * Instantiates a new lazy view of items of specified table.
+	 *
+	 * @param table table
+	 * @param pageSize count of items read in one UI round trip
+	 */
+	public LazyTableItems(Table table, int pageSize) {
+		if (pageSize < 1) {
+			throw new IllegalArgumentException("Page size has to be positive, but was " + pageSize);
+		}
+		this.swtTable = table.getSWTWidget();
+		this.pageSize = pageSize;
+	}
+
+	/**
+	 * Finds out whether the table has {@link SWT#VIRTUAL} style.
+	 * 
+	 * @return true if the table is virtual, false otherwise
+	 */
+	public boolean isVirtual() {
+		return (WidgetHandler.getInstance().getStyle(swtTable) & SWT.VIRTUAL) != 0;
+	}
+
+	/**
+	 * Gets count of items of the table.
+	 * 
+	 * @return count of items
+	 */
+	public int size() {
+		return TableHandler.getInstance().rowCount(swtTable);
+	}
+
+	/**
+	 * Gets item of the table on position specified by index.
+	 * 
+	 * @param index index of item
+	 * @return table item
+	 */
+	public TableItem get(int index) {
+		return new BasicTableItem(TableHandler.getInstance().getSWTItem(swtTable, index));
+	}
+
+	/**
+	 * Gets items of the table in specified range in a single UI round trip.
+	 * 
+	 * @param from index of the first item, inclusive
+	 * @param to index of the last item, exclusive
+	 * @return table items in the range
+	 */
+	public List<TableItem> getItems(int from, int to) {
+		List<TableItem> items = new ArrayList<TableItem>();
+		for (org.eclipse.swt.widgets.TableItem item : TableHandler.getInstance().getSWTItems(swtTable, from, to - from)) {
+			items.add(new BasicTableItem(item));
+		}
+		return items;
+	}
+
+	/**
+	 * Finds out index of the first item with specified text in the column specified by index.
+	 * 
+	 * @param text text of item
+	 * @param column index of column
+	 * @return index of the item or -1 if there is no such item
+	 */
+	public int indexOf(String text, int column) {
+		for (int from = 0; ; from += pageSize) {
+			TableSnapshot page = TableHandler.getInstance().snapshotRange(swtTable, from, pageSize, column);
+			int index = page.indexOf(text, column);
+			if (index >= 0) {
+				return from + index;
+			}
+			if (page.getRowCount() < pageSize) {
+				return -1;
+			}
+		}
+	}
+
+	/**
+	 * Finds the first item matching all specified matchers.
+	 * 
+	 * @param matchers table item matchers
+	 * @return the first matching item or null if there is no such item
+	 */
+	public TableItem findFirst(List<Matcher<TableItem>> matchers) {
+		List<TableItem> items = find(1, matchers);
+		return items.isEmpty() ? null : items.get(0);
+	}
+
+	/**
+	 * Finds items matching all specified matchers. Pages are read only until 
+	 * the limit of found items is reached.
+	 * 
+	 * @param limit maximal count of found items
+	 * @param matchers table item matchers
+	 * @return matching items
+	 */
+	public List<TableItem> find(int limit, List<Matcher<TableItem>> matchers) {
+		List<TableItem> matchedItems = new ArrayList<TableItem>();
+		for (int from = 0; matchedItems.size() < limit; from += pageSize) {
+			TableSnapshot page = TableHandler.getInstance().snapshotRange(swtTable, from, pageSize);
+			for (int row = 0; row < page.getRowCount() && matchedItems.size() < limit; row++) {
+				TableItem item = new SnapshotTableItem(page, row);
+				int index = 0;
+				while (index < matchers.size() && matchers.get(index).matches(item)) {
+					index++;
+				}
+				if (index == matchers.size()) {
+					matchedItems.add(new BasicTableItem(page.getItem(row)));
+				}
+			}
+			if (page.getRowCount() < pageSize) {
+				break;
+			}
+		}
+		return matchedItems;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Iterable#iterator()
+	 */
+	@Override
+	public Iterator<TableItem> iterator() {
+		return new Iterator<TableItem>() {
+
+			private List<TableItem> page = new ArrayList<TableItem>();
+
+			private int pageStart = 0;
+
+			private int position = 0;
+
+			private boolean last = false;
+
+			@Override
+			public boolean hasNext() {
+				if (position == page.size() && !last) {
+					pageStart += page.size();
+					page = getItems(pageStart, pageStart + pageSize);
+					position = 0;
+					last = page.size() < pageSize;
+				}
+				return position < page.size();
+			}
+
+			@Override
+			public TableItem next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return page.get(position++);
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException("Table items cannot be removed");
+			}
+		};
+	}
+}
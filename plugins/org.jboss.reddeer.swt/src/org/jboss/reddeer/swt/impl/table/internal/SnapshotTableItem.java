@@ -0,0 +1,78 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.swt.impl.table.internal;
+
+import org.jboss.reddeer.core.handler.TableSnapshot;
+import org.jboss.reddeer.swt.impl.table.AbstractTableItem;
+
+/**
+ * Table item whose texts and states are read from a {@link TableSnapshot} instead 
+ * of the table item itself. It is used to evaluate matchers of table items 
+ * without a UI round trip per row.
+ */
+public class SnapshotTableItem extends AbstractTableItem {
+
+	private final TableSnapshot snapshot;
+
+	private final int row;
+
+	/**
+	 * Instantiates a new table item of the row of specified snapshot.
+	 *
+	 * @param snapshot table snapshot
+	 * @param row index of row in the snapshot
+	 */
+	public SnapshotTableItem(TableSnapshot snapshot, int row) {
+		super(snapshot.getItem(row));
+		this.snapshot = snapshot;
+		this.row = row;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.swt.impl.table.AbstractTableItem#getText()
+	 */
+	@Override
+	public String getText() {
+		return snapshot.getText(row, 0);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.swt.impl.table.AbstractTableItem#getText(int)
+	 */
+	@Override
+	public String getText(int cellIndex) {
+		return snapshot.getText(row, cellIndex);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.swt.impl.table.AbstractTableItem#isChecked()
+	 */
+	@Override
+	public boolean isChecked() {
+		return snapshot.isChecked(row);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.swt.impl.table.AbstractTableItem#isSelected()
+	 */
+	@Override
+	public boolean isSelected() {
+		return snapshot.isSelected(row);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.swt.impl.table.AbstractTableItem#isGrayed()
+	 */
+	@Override
+	public boolean isGrayed() {
+		return snapshot.isGrayed(row);
+	}
+}
@@ -39,7 +39,9 @@ public abstract class AbstractToolItem extends AbstractWidget<org.eclipse.swt.wi
 	@Override
 	public void click() {
 		Thrower.objectIsNull(getSWTWidget(), "ToolItem is null" );
-		log.info("Click tool item " + getToolTipText());
+		if (log.isInfoEnabled()) {
+			log.info("Click tool item " + getToolTipText());
+		}
 		ToolItemHandler.getInstance().click(getSWTWidget());
 	}
 	
@@ -72,7 +74,9 @@ public abstract class AbstractToolItem extends AbstractWidget<org.eclipse.swt.wi
 	 */
 	@Override
 	public void toggle(boolean toggle) {
-		log.info((toggle ? "Click" : "Unclick") + " tool item " + getToolTipText());
+		if (log.isInfoEnabled()) {
+			log.info((toggle ? "Click" : "Unclick") + " tool item " + getToolTipText());
+		}
 		if (isSelected() != toggle){
 			click();
 		}		
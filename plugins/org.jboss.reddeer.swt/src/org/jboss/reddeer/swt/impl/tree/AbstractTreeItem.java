@@ -53,7 +53,9 @@ public abstract class AbstractTreeItem extends AbstractWidget<org.eclipse.swt.wi
 	 */
 	@Override
 	public void select() {
-		logger.info("Select tree item " + getText());
+		if (logger.isInfoEnabled()) {
+			logger.info("Select tree item " + getText());
+		}
 		treeItemHandler.select(swtWidget);
 	}
 
@@ -113,8 +115,10 @@ public abstract class AbstractTreeItem extends AbstractWidget<org.eclipse.swt.wi
 	 */
 	@Override
 	public void expand(TimePeriod timePeriod) {
-		logger.info("Expand tree item " + getText() + " and wait with time period " 
-			+ timePeriod.getSeconds());
+		if (logger.isInfoEnabled()) {
+			logger.info("Expand tree item " + getText() + " and wait with time period " 
+				+ timePeriod.getSeconds());
+		}
 		treeItemHandler.expand(swtWidget, timePeriod);
 	}
 
@@ -123,7 +127,9 @@ public abstract class AbstractTreeItem extends AbstractWidget<org.eclipse.swt.wi
 	 */
 	@Override
 	public void collapse() {
-		logger.info("Collapse tree item " + getText());
+		if (logger.isInfoEnabled()) {
+			logger.info("Collapse tree item " + getText());
+		}
 		treeItemHandler.collapse(swtWidget);
 	}
 
@@ -151,7 +157,9 @@ public abstract class AbstractTreeItem extends AbstractWidget<org.eclipse.swt.wi
 	 */
 	@Override
 	public void doubleClick() {
-		logger.info("Double click tree item " + getText());
+		if (logger.isInfoEnabled()) {
+			logger.info("Double click tree item " + getText());
+		}
 		select();
 		logger.debug("Notify tree about mouse double click event");
 		treeHandler.notifyTree(getSWTWidget(), treeHandler.createEventForTree(
@@ -187,7 +195,9 @@ public abstract class AbstractTreeItem extends AbstractWidget<org.eclipse.swt.wi
 	 */
 	@Override
 	public void setChecked(final boolean check) {
-		logger.info("Check tree item " + getText());
+		if (logger.isInfoEnabled()) {
+			logger.info("Check tree item " + getText());
+		}
 		treeItemHandler.setChecked(swtWidget, check);
 	}
 
@@ -264,8 +274,10 @@ public abstract class AbstractTreeItem extends AbstractWidget<org.eclipse.swt.wi
 	 */
 	@Override
 	public void expand(int minItemsCount, TimePeriod timePeriod) {
-		logger.info("Expand tree item " + getText() + 
-			" and wait for at least " + minItemsCount + " items");
+		if (logger.isInfoEnabled()) {
+			logger.info("Expand tree item " + getText() + 
+				" and wait for at least " + minItemsCount + " items");
+		}
 		expand();
 		new WaitUntil(new TreeItemHasMinChildren(this, minItemsCount),
 				timePeriod);
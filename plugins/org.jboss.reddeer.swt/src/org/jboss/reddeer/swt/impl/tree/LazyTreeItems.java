@@ -0,0 +1,234 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.swt.impl.tree;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.eclipse.swt.SWT;
+import org.hamcrest.Matcher;
+import org.jboss.reddeer.common.wait.TimePeriod;
+import org.jboss.reddeer.core.handler.TreeHandler;
+import org.jboss.reddeer.core.handler.TreeItemHandler;
+import org.jboss.reddeer.core.handler.WidgetHandler;
+import org.jboss.reddeer.swt.api.Tree;
+import org.jboss.reddeer.swt.api.TreeItem;
+import org.jboss.reddeer.swt.impl.tree.internal.BasicTreeItem;
+
+/**
+ * Lazy view of top level items of a tree or of children of a tree item. Items are 
+ * read page by page only when they are requested, so items of a {@link SWT#VIRTUAL} 
+ * tree which are never inspected are not populated by its content provider. Lookups 
+ * stop reading pages as soon as they find what they are looking for.
+ */
+public class LazyTreeItems implements Iterable<TreeItem> {
+
+	/**
+	 * Default count of items read in one UI round trip.
+	 */
+	public static final int DEFAULT_PAGE_SIZE = 100;
+
+	private final org.eclipse.swt.widgets.Tree swtTree;
+
+	private final org.eclipse.swt.widgets.TreeItem swtParentItem;
+
+	private final int pageSize;
+
+	/**
+	 * Instantiates a new lazy view of top level items of specified tree with default page size.
+	 *
+	 * @param tree tree
+	 */
+	public LazyTreeItems(Tree tree) {
+		this(tree, DEFAULT_PAGE_SIZE);
+	}
+
+	/**
+	 * Instantiates a new lazy view of top level items of specified tree.
+	 *
+	 * @param tree tree
+	 * @param pageSize count of items read in one UI round trip
+	 */
+	public LazyTreeItems(Tree tree, int pageSize) {
+		this(tree.getSWTWidget(), null, pageSize);
+	}
+
+	/**
+	 * Instantiates a new lazy view of children of specified tree item with default page size.
+	 * Tree item is expanded.
+	 *
+	 * @param parentItem parent tree item
+	 */
+	public LazyTreeItems(TreeItem parentItem) {
+		this(parentItem, DEFAULT_PAGE_SIZE);
+	}
+
+	/**
+	 * Instantiates a new lazy view of children of specified tree item. Tree item is expanded.
+	 *
+	 * @param parentItem parent tree item
+	 * @param pageSize count of items read in one UI round trip
+	 */
+	public LazyTreeItems(TreeItem parentItem, int pageSize) {
+		this(null, parentItem.getSWTWidget(), pageSize);
+		TreeItemHandler.getInstance().expand(swtParentItem, TimePeriod.SHORT);
+	}
+
+	private LazyTreeItems(org.eclipse.swt.widgets.Tree swtTree, org.eclipse.swt.widgets.TreeItem swtParentItem,
+			int pageSize) {
+		if (pageSize < 1) {
+			throw new IllegalArgumentException("Page size has to be positive, but was " + pageSize);
+		}
+		this.swtTree = swtTree;
+		this.swtParentItem = swtParentItem;
+		this.pageSize = pageSize;
+	}
+
+	/**
+	 * Finds out whether the tree has {@link SWT#VIRTUAL} style.
+	 * 
+	 * @return true if the tree is virtual, false otherwise
+	 */
+	public boolean isVirtual() {
+		org.eclipse.swt.widgets.Tree tree = swtTree != null ? swtTree 
+				: TreeItemHandler.getInstance().getParent(swtParentItem);
+		return (WidgetHandler.getInstance().getStyle(tree) & SWT.VIRTUAL) != 0;
+	}
+
+	/**
+	 * Gets count of items.
+	 * 
+	 * @return count of items
+	 */
+	public int size() {
+		if (swtTree != null) {
+			return TreeHandler.getInstance().getItemCount(swtTree);
+		}
+		return TreeItemHandler.getInstance().getItemCount(swtParentItem);
+	}
+
+	/**
+	 * Gets item on position specified by index.
+	 * 
+	 * @param index index of item
+	 * @return tree item
+	 */
+	public TreeItem get(int index) {
+		List<TreeItem> items = getItems(index, index + 1);
+		if (items.isEmpty()) {
+			throw new IndexOutOfBoundsException("There is no tree item with index " + index);
+		}
+		return items.get(0);
+	}
+
+	/**
+	 * Gets items in specified range in a single UI round trip.
+	 * 
+	 * @param from index of the first item, inclusive
+	 * @param to index of the last item, exclusive
+	 * @return tree items in the range
+	 */
+	public List<TreeItem> getItems(int from, int to) {
+		List<TreeItem> items = new ArrayList<TreeItem>();
+		for (org.eclipse.swt.widgets.TreeItem item : getSWTItems(from, to - from)) {
+			items.add(new BasicTreeItem(item));
+		}
+		return items;
+	}
+
+	/**
+	 * Finds the first item whose text in the column specified by index matches specified matcher.
+	 * 
+	 * @param textMatcher matcher of item text
+	 * @param column index of column
+	 * @return the first matching item or null if there is no such item
+	 */
+	public TreeItem findFirst(Matcher<String> textMatcher, int column) {
+		List<TreeItem> items = find(1, textMatcher, column);
+		return items.isEmpty() ? null : items.get(0);
+	}
+
+	/**
+	 * Finds items whose text in the column specified by index matches specified matcher. 
+	 * Pages are read only until the limit of found items is reached.
+	 * 
+	 * @param limit maximal count of found items
+	 * @param textMatcher matcher of item text
+	 * @param column index of column
+	 * @return matching items
+	 */
+	public List<TreeItem> find(int limit, Matcher<String> textMatcher, int column) {
+		List<TreeItem> matchedItems = new ArrayList<TreeItem>();
+		for (int from = 0; matchedItems.size() < limit; from += pageSize) {
+			List<org.eclipse.swt.widgets.TreeItem> page = getSWTItems(from, pageSize);
+			List<String> texts = TreeItemHandler.getInstance().getTexts(page, column);
+			for (int i = 0; i < page.size() && matchedItems.size() < limit; i++) {
+				if (textMatcher.matches(texts.get(i))) {
+					matchedItems.add(new BasicTreeItem(page.get(i)));
+				}
+			}
+			if (page.size() < pageSize) {
+				break;
+			}
+		}
+		return matchedItems;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Iterable#iterator()
+	 */
+	@Override
+	public Iterator<TreeItem> iterator() {
+		return new Iterator<TreeItem>() {
+
+			private List<TreeItem> page = new ArrayList<TreeItem>();
+
+			private int pageStart = 0;
+
+			private int position = 0;
+
+			private boolean last = false;
+
+			@Override
+			public boolean hasNext() {
+				if (position == page.size() && !last) {
+					pageStart += page.size();
+					page = getItems(pageStart, pageStart + pageSize);
+					position = 0;
+					last = page.size() < pageSize;
+				}
+				return position < page.size();
+			}
+
+			@Override
+			public TreeItem next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return page.get(position++);
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException("Tree items cannot be removed");
+			}
+		};
+	}
+
+	private List<org.eclipse.swt.widgets.TreeItem> getSWTItems(int from, int count) {
+		if (swtTree != null) {
+			return TreeHandler.getInstance().getSWTItems(swtTree, from, count);
+		}
+		return TreeItemHandler.getInstance().getChildrenItems(swtParentItem, from, count);
+	}
+}
@@ -0,0 +1,510 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.swt.impl.tree;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.swt.custom.StyleRange;
+import org.hamcrest.Matcher;
+import org.jboss.reddeer.core.util.Display;
+import org.jboss.reddeer.core.util.ResultRunnable;
+import org.jboss.reddeer.swt.api.Tree;
+import org.jboss.reddeer.swt.api.TreeItem;
+import org.jboss.reddeer.swt.exception.SWTLayerException;
+
+/**
+ * Immutable snapshot of a tree or of a subtree of a tree item. Snapshot is captured 
+ * in a single UI round trip down to specified depth and holds texts of all cells, styled 
+ * segments of labels, checked and expanded state of each tree item. All queries 
+ * on snapshot run without accessing UI thread. Snapshot is serializable, its string 
+ * representation lists all captured tree items and can be used in failure reports.
+ * <p>
+ * Children of collapsed tree items are captured unless the only child is a placeholder 
+ * created by a JFace tree viewer for not yet populated items.
+ */
+public class TreeSnapshot implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Depth to capture all tree items regardless how deep they are.
+	 */
+	public static final int UNLIMITED_DEPTH = Integer.MAX_VALUE;
+
+	private static final String STYLED_LABEL_KEY = "org.eclipse.jfacestyled_label_key_0";
+
+	private final List<Node> nodes;
+
+	private TreeSnapshot(List<Node> nodes) {
+		this.nodes = Collections.unmodifiableList(nodes);
+	}
+
+	/**
+	 * Captures all tree items of specified tree.
+	 * 
+	 * @param tree tree to capture
+	 * @return snapshot of the tree
+	 */
+	public static TreeSnapshot capture(Tree tree) {
+		return capture(tree, UNLIMITED_DEPTH);
+	}
+
+	/**
+	 * Captures tree items of specified tree down to specified depth. Depth 1 captures 
+	 * only top level items.
+	 * 
+	 * @param tree tree to capture
+	 * @param depth count of captured levels of tree items
+	 * @return snapshot of the tree
+	 */
+	public static TreeSnapshot capture(Tree tree, final int depth) {
+		final org.eclipse.swt.widgets.Tree swtTree = tree.getSWTWidget();
+		return Display.syncExec(new ResultRunnable<TreeSnapshot>() {
+
+			@Override
+			public TreeSnapshot run() {
+				int columnCount = Math.max(1, swtTree.getColumnCount());
+				return new TreeSnapshot(captureItems(swtTree.getItems(), new String[0], columnCount, depth));
+			}
+		});
+	}
+
+	/**
+	 * Captures descendants of specified tree item down to specified depth. Depth 1 captures 
+	 * only children of the tree item. Paths of captured items start with the path of the tree item.
+	 * 
+	 * @param treeItem tree item whose descendants are captured
+	 * @param depth count of captured levels of tree items
+	 * @return snapshot of the subtree of the tree item
+	 */
+	public static TreeSnapshot capture(TreeItem treeItem, final int depth) {
+		final org.eclipse.swt.widgets.TreeItem swtTreeItem = treeItem.getSWTWidget();
+		return Display.syncExec(new ResultRunnable<TreeSnapshot>() {
+
+			@Override
+			public TreeSnapshot run() {
+				int columnCount = Math.max(1, swtTreeItem.getParent().getColumnCount());
+				List<String> path = new ArrayList<String>();
+				for (org.eclipse.swt.widgets.TreeItem item = swtTreeItem; item != null; item = item.getParentItem()) {
+					path.add(0, item.getText());
+				}
+				return new TreeSnapshot(captureItems(getChildren(swtTreeItem), 
+						path.toArray(new String[path.size()]), columnCount, depth));
+			}
+		});
+	}
+
+	/**
+	 * Gets captured top level tree items, or children of the tree item whose subtree was captured.
+	 * 
+	 * @return captured tree items
+	 */
+	public List<Node> getItems() {
+		return nodes;
+	}
+
+	/**
+	 * Gets all captured tree items in depth-first order.
+	 * 
+	 * @return all captured tree items
+	 */
+	public List<Node> getAllItems() {
+		List<Node> result = new ArrayList<Node>();
+		collect(nodes, null, Integer.MAX_VALUE, result);
+		return result;
+	}
+
+	/**
+	 * Gets tree item specified by path of texts relative to captured items.
+	 * 
+	 * @param path texts of tree items on the path
+	 * @return tree item on the path or null if there is no such item
+	 */
+	public Node getItem(String... path) {
+		List<Node> level = nodes;
+		Node current = null;
+		for (String text : path) {
+			current = null;
+			for (Node node : level) {
+				if (node.getText().equals(text)) {
+					current = node;
+					break;
+				}
+			}
+			if (current == null) {
+				return null;
+			}
+			level = current.getItems();
+		}
+		return current;
+	}
+
+	/**
+	 * Finds all captured tree items matching specified matcher in depth-first order.
+	 * 
+	 * @param matcher matcher of tree items
+	 * @return matching tree items
+	 */
+	public List<Node> find(Matcher<Node> matcher) {
+		List<Node> result = new ArrayList<Node>();
+		collect(nodes, matcher, Integer.MAX_VALUE, result);
+		return result;
+	}
+
+	/**
+	 * Finds the first captured tree item matching specified matcher in depth-first order.
+	 * 
+	 * @param matcher matcher of tree items
+	 * @return the first matching tree item or null if there is no such item
+	 */
+	public Node findFirst(Matcher<Node> matcher) {
+		List<Node> result = new ArrayList<Node>();
+		collect(nodes, matcher, 1, result);
+		return result.isEmpty() ? null : result.get(0);
+	}
+
+	/**
+	 * Compares this snapshot with specified snapshot. Tree items are paired by their paths. 
+	 * Each difference is described by one line - added and removed items are prefixed 
+	 * by "+" and "-", changed items by "~" followed by changed properties.
+	 * 
+	 * @param other snapshot to compare with
+	 * @return descriptions of differences, empty if snapshots are equal
+	 */
+	public List<String> diff(TreeSnapshot other) {
+		List<String> differences = new ArrayList<String>();
+		diff(nodes, other.nodes, differences);
+		return differences;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for (Node node : getAllItems()) {
+			for (int i = 1; i < node.getPath().length; i++) {
+				sb.append("  ");
+			}
+			sb.append(node).append(System.getProperty("line.separator"));
+		}
+		return sb.toString();
+	}
+
+	private static void collect(List<Node> level, Matcher<Node> matcher, int limit, List<Node> result) {
+		for (Node node : level) {
+			if (result.size() >= limit) {
+				return;
+			}
+			if (matcher == null || matcher.matches(node)) {
+				result.add(node);
+			}
+			collect(node.getItems(), matcher, limit, result);
+		}
+	}
+
+	private static void diff(List<Node> nodes, List<Node> otherNodes, List<String> differences) {
+		for (Node node : nodes) {
+			Node otherNode = findByText(otherNodes, node.getText());
+			if (otherNode == null) {
+				differences.add("- " + pathToString(node.getPath()));
+				continue;
+			}
+			List<String> changes = new ArrayList<String>();
+			if (!Arrays.equals(node.cells, otherNode.cells)) {
+				changes.add("cells " + Arrays.toString(node.cells) + " -> " + Arrays.toString(otherNode.cells));
+			}
+			if (!node.segments.equals(otherNode.segments)) {
+				changes.add("styled segments " + node.segments + " -> " + otherNode.segments);
+			}
+			if (node.checked != otherNode.checked) {
+				changes.add("checked " + node.checked + " -> " + otherNode.checked);
+			}
+			if (node.expanded != otherNode.expanded) {
+				changes.add("expanded " + node.expanded + " -> " + otherNode.expanded);
+			}
+			if (!changes.isEmpty()) {
+				differences.add("~ " + pathToString(node.getPath()) + ": " + changes);
+			}
+			diff(node.getItems(), otherNode.getItems(), differences);
+		}
+		for (Node otherNode : otherNodes) {
+			if (findByText(nodes, otherNode.getText()) == null) {
+				differences.add("+ " + pathToString(otherNode.getPath()));
+			}
+		}
+	}
+
+	private static Node findByText(List<Node> nodes, String text) {
+		for (Node node : nodes) {
+			if (node.getText().equals(text)) {
+				return node;
+			}
+		}
+		return null;
+	}
+
+	private static String pathToString(String[] path) {
+		StringBuilder sb = new StringBuilder();
+		for (String text : path) {
+			if (sb.length() > 0) {
+				sb.append(" > ");
+			}
+			sb.append(text);
+		}
+		return sb.toString();
+	}
+
+	// Must be run in UI thread
+	private static List<Node> captureItems(org.eclipse.swt.widgets.TreeItem[] items, String[] parentPath,
+			int columnCount, int depth) {
+		List<Node> result = new ArrayList<Node>(items.length);
+		for (org.eclipse.swt.widgets.TreeItem item : items) {
+			String[] cells = new String[columnCount];
+			for (int i = 0; i < columnCount; i++) {
+				cells[i] = item.getText(i);
+			}
+			String[] path = Arrays.copyOf(parentPath, parentPath.length + 1);
+			path[parentPath.length] = cells[0];
+			List<Node> children = depth > 1 
+					? captureItems(getChildren(item), path, columnCount, depth - 1) 
+					: Collections.<Node>emptyList();
+			result.add(new Node(path, cells, getSegments(item), item.getChecked(), item.getExpanded(), children));
+		}
+		return result;
+	}
+
+	// Must be run in UI thread
+	private static org.eclipse.swt.widgets.TreeItem[] getChildren(org.eclipse.swt.widgets.TreeItem item) {
+		org.eclipse.swt.widgets.TreeItem[] children = item.getItems();
+		if (!item.getExpanded() && children.length == 1 && children[0].getData() == null 
+				&& children[0].getText().isEmpty()) {
+			// placeholder of tree viewer for not yet populated children
+			return new org.eclipse.swt.widgets.TreeItem[0];
+		}
+		return children;
+	}
+
+	// Must be run in UI thread
+	private static List<StyledSegment> getSegments(org.eclipse.swt.widgets.TreeItem item) {
+		Object data = item.getData(STYLED_LABEL_KEY);
+		if (!(data instanceof StyleRange[])) {
+			return Collections.emptyList();
+		}
+		String text = item.getText();
+		List<StyledSegment> segments = new ArrayList<StyledSegment>();
+		for (StyleRange range : (StyleRange[]) data) {
+			int start = Math.min(range.start, text.length());
+			int end = Math.min(range.start + range.length, text.length());
+			segments.add(new StyledSegment(start, end - start, text.substring(start, end)));
+		}
+		return segments;
+	}
+
+	/**
+	 * Captured tree item.
+	 */
+	public static class Node implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String[] path;
+
+		private final String[] cells;
+
+		private final List<StyledSegment> segments;
+
+		private final boolean checked;
+
+		private final boolean expanded;
+
+		private final List<Node> items;
+
+		Node(String[] path, String[] cells, List<StyledSegment> segments, boolean checked, 
+				boolean expanded, List<Node> items) {
+			this.path = path;
+			this.cells = cells;
+			this.segments = Collections.unmodifiableList(segments);
+			this.checked = checked;
+			this.expanded = expanded;
+			this.items = Collections.unmodifiableList(items);
+		}
+
+		/**
+		 * Gets text of the tree item.
+		 * 
+		 * @return text of the first cell
+		 */
+		public String getText() {
+			return cells[0];
+		}
+
+		/**
+		 * Gets text of the cell specified by index.
+		 * 
+		 * @param cellIndex index of cell
+		 * @return text of the cell
+		 */
+		public String getCell(int cellIndex) {
+			if (cellIndex < 0 || cellIndex >= cells.length) {
+				throw new SWTLayerException("Tree item " + pathToString(path) + " has no cell with index " 
+						+ cellIndex + ", it has " + cells.length + " cell(s)");
+			}
+			return cells[cellIndex];
+		}
+
+		/**
+		 * Gets texts of tree items on the path to this tree item.
+		 * 
+		 * @return path to the tree item
+		 */
+		public String[] getPath() {
+			return path.clone();
+		}
+
+		/**
+		 * Gets styled segments of label of the tree item.
+		 * 
+		 * @return styled segments, empty if label is not styled
+		 */
+		public List<StyledSegment> getStyledSegments() {
+			return segments;
+		}
+
+		/**
+		 * Finds out whether the tree item was checked.
+		 * 
+		 * @return true if the tree item was checked, false otherwise
+		 */
+		public boolean isChecked() {
+			return checked;
+		}
+
+		/**
+		 * Finds out whether the tree item was expanded.
+		 * 
+		 * @return true if the tree item was expanded, false otherwise
+		 */
+		public boolean isExpanded() {
+			return expanded;
+		}
+
+		/**
+		 * Gets captured children of the tree item.
+		 * 
+		 * @return captured children
+		 */
+		public List<Node> getItems() {
+			return items;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			StringBuilder sb = new StringBuilder(cells[0]);
+			for (int i = 1; i < cells.length; i++) {
+				sb.append(" | ").append(cells[i]);
+			}
+			if (!segments.isEmpty()) {
+				sb.append(" ").append(segments);
+			}
+			if (checked) {
+				sb.append(" [checked]");
+			}
+			if (expanded) {
+				sb.append(" [expanded]");
+			}
+			return sb.toString();
+		}
+	}
+
+	/**
+	 * Styled segment of a tree item label.
+	 */
+	public static class StyledSegment implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int start;
+
+		private final int length;
+
+		private final String text;
+
+		StyledSegment(int start, int length, String text) {
+			this.start = start;
+			this.length = length;
+			this.text = text;
+		}
+
+		/**
+		 * Gets offset of the segment in the label.
+		 * 
+		 * @return offset of the segment
+		 */
+		public int getStart() {
+			return start;
+		}
+
+		/**
+		 * Gets length of the segment.
+		 * 
+		 * @return length of the segment
+		 */
+		public int getLength() {
+			return length;
+		}
+
+		/**
+		 * Gets text of the segment.
+		 * 
+		 * @return text of the segment
+		 */
+		public String getText() {
+			return text;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof StyledSegment)) {
+				return false;
+			}
+			StyledSegment other = (StyledSegment) obj;
+			return start == other.start && length == other.length && text.equals(other.text);
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return 31 * (31 * start + length) + text.hashCode();
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return "'" + text + "'";
+		}
+	}
+}
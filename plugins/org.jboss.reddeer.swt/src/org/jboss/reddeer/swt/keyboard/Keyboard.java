@@ -10,8 +10,12 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.swt.keyboard;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
 import org.eclipse.swt.widgets.Widget;
 import org.jboss.reddeer.common.logging.Logger;
 import org.jboss.reddeer.core.lookup.WidgetLookup;
@@ -65,6 +69,125 @@ abstract public class Keyboard {
 		}
 	}
 	
+	/**
+	 * Types given text in batch. Key events are posted without waiting for UI thread after
+	 * each key and are followed by one sync to flush them.
+	 * <p>
+	 * If key delay is zero, events are posted from a single UI runnable. Otherwise events 
+	 * are posted with the specified delay between two keys. Text is posted in parts ending
+	 * with a traversal key (tab, enter or escape). After each such part events are flushed
+	 * and if focus changed, typing continues once the new focus control settles.
+	 * <p>
+	 * With a key delay, focus is also checked before each posted key, so typing waits for
+	 * the new focus control even if focus is moved by other keys. Without a key delay UI thread
+	 * processes events only after the whole part is posted, so focus changes caused by other
+	 * than traversal keys cannot be detected and the rest of the part goes to the new focus
+	 * control as soon as it gets focus.
+	 *
+	 * @param text the text to type
+	 * @param keyDelay delay between two posted keys in milliseconds, 0 for no delay
+	 */
+	public void type(String text, int keyDelay){
+		log.info("Type text \"" + text + "\" in batch with key delay " + keyDelay + " ms");
+		List<int[]> combinations = new ArrayList<int[]>(text.length());
+		for (char c : text.toCharArray()) {
+			combinations.add(DefaultKeyboardLayout.getInstance().getKeyCombination(c));
+		}
+		final FocusChangeListener listener = new FocusChangeListener();
+		Display.syncExec(new Runnable() {
+			
+			@Override
+			public void run() {
+				Display.getDisplay().addFilter(SWT.FocusIn, listener);
+			}
+		});
+		try {
+			int start = 0;
+			for (int i = 0; i < combinations.size(); i++) {
+				boolean traversal = isTraversal(combinations.get(i));
+				if (traversal || i == combinations.size() - 1) {
+					post(combinations.subList(start, i + 1), keyDelay, listener);
+					start = i + 1;
+				}
+				if (traversal) {
+					awaitFocus(listener);
+				}
+			}
+		} finally {
+			Display.syncExec(new Runnable() {
+				
+				@Override
+				public void run() {
+					Display.getDisplay().removeFilter(SWT.FocusIn, listener);
+				}
+			});
+		}
+		emptySync();
+	}
+	
+	/*
+	 * Posts key events of given key combinations. Display.post delivers events to 
+	 * the control focused when they are processed, so no widget is set to events.
+	 */
+	private void post(List<int[]> combinations, int keyDelay, FocusChangeListener listener) {
+		final List<Event> events = new ArrayList<Event>();
+		for (int[] keys : combinations) {
+			events.addAll(keyEvents(keys));
+		}
+		if (keyDelay <= 0) {
+			Display.syncExec(new Runnable() {
+				
+				@Override
+				public void run() {
+					for (Event event : events) {
+						Display.getDisplay().post(event);
+					}
+				}
+			});
+		} else {
+			for (Event event : events) {
+				delay(keyDelay);
+				if (listener.focusChanged) {
+					awaitFocus(listener);
+				}
+				Display.getDisplay().post(event);
+			}
+		}
+	}
+	
+	/*
+	 * Flushes posted events and waits until no more focus changes are reported 
+	 * by the listener, e.g. when a key activates another shell.
+	 */
+	private void awaitFocus(FocusChangeListener listener) {
+		emptySync();
+		if (!listener.focusChanged) {
+			return;
+		}
+		while (listener.focusChanged) {
+			listener.focusChanged = false;
+			sync();
+		}
+		log.debug("Focus changed while typing, continue typing to " 
+				+ WidgetLookup.getInstance().getFocusControl());
+	}
+	
+	private boolean isTraversal(int[] keys) {
+		int key = keys[keys.length - 1];
+		return key == SWT.TAB || key == SWT.CR || key == SWT.LF || key == SWT.ESC;
+	}
+	
+	private List<Event> keyEvents(int[] keys) {
+		List<Event> events = new ArrayList<Event>(keys.length * 2);
+		for (int i=0; i<keys.length; i++){
+			events.add(keyEvent(keys[i], SWT.KeyDown, null));
+		}
+		for (int i=keys.length-1; i>=0; i--){
+			events.add(keyEvent(keys[i], SWT.KeyUp, null));
+		}
+		return events;
+	}
+	
 	/**
 	 *  Types given character.
 	 *
@@ -179,6 +302,16 @@ abstract public class Keyboard {
 		
 	}
 	
+	private static class FocusChangeListener implements Listener {
+		
+		private volatile boolean focusChanged = false;
+		
+		@Override
+		public void handleEvent(Event event) {
+			focusChanged = true;
+		}
+	}
+	
 	private void delay(int delay) {
 		try {
 			Thread.sleep(delay);
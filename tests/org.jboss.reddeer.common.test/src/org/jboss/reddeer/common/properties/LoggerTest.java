@@ -10,8 +10,15 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.common.properties;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.reddeer.common.logging.LogSink;
 import org.jboss.reddeer.common.logging.Logger;
 import org.junit.Test;
 
@@ -45,4 +52,33 @@ public class LoggerTest {
 			fail("Logger error:" + e.getMessage());
 		}
 	}
+
+	@Test
+	public void testLoggerIsCached() {
+		assertSame(log, Logger.getLogger(LoggerTest.class));
+	}
+
+	@Test
+	public void testLogSink() {
+		LogSink originalSink = Logger.getSink();
+		final List<String> messages = new ArrayList<String>();
+		try {
+			Logger.setSink(new LogSink() {
+				@Override
+				public void write(String message) {
+					messages.add(message);
+				}
+
+				@Override
+				public void flush() {
+				}
+			});
+			log.error("sink test message");
+		} finally {
+			Logger.setSink(originalSink);
+		}
+		assertEquals(1, messages.size());
+		assertTrue(messages.get(0).endsWith("ERROR [" + Thread.currentThread().getName() 
+				+ "][LoggerTest] sink test message"));
+	}
 }
@@ -0,0 +1,64 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.test.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.jboss.reddeer.common.statistics.LatencyHistogram;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void testEmptyHistogram() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		assertEquals(0, histogram.getTotalCount());
+		assertEquals(0, histogram.getValueAtPercentile(99));
+	}
+
+	@Test
+	public void testSmallValuesAreExact() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 1; i <= 4; i++) {
+			histogram.record(i);
+		}
+		assertEquals(4, histogram.getTotalCount());
+		assertEquals(10, histogram.getTotalValue());
+		assertEquals(2, histogram.getValueAtPercentile(50));
+		assertEquals(4, histogram.getValueAtPercentile(100));
+	}
+
+	@Test
+	public void testPercentilePrecision() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i * 1000000L);
+		}
+		assertEquals(1000000000L, histogram.getMaxValue());
+		long median = histogram.getValueAtPercentile(50);
+		assertTrue("Median " + median, median >= 500000000L && median <= 500000000L * 1.13);
+		long p99 = histogram.getValueAtPercentile(99);
+		assertTrue("99th percentile " + p99, p99 >= 990000000L && p99 <= 1000000000L);
+	}
+
+	@Test
+	public void testAdd() {
+		LatencyHistogram first = new LatencyHistogram();
+		first.record(100);
+		LatencyHistogram second = new LatencyHistogram();
+		second.record(200);
+		second.record(Long.MAX_VALUE / 2);
+		first.add(second);
+		assertEquals(3, first.getTotalCount());
+		assertEquals(Long.MAX_VALUE / 2, first.getMaxValue());
+	}
+}
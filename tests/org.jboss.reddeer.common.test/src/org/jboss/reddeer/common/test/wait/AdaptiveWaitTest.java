@@ -0,0 +1,99 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.test.wait;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.reddeer.common.condition.AbstractWaitCondition;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
+import org.jboss.reddeer.common.wait.AbstractWait;
+import org.jboss.reddeer.common.wait.TimePeriod;
+import org.jboss.reddeer.common.wait.WaitUntil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AdaptiveWaitTest {
+
+	private static final long MAX_TEST_PERIOD = 40;
+
+	// tolerance for sleeping longer than requested on a busy machine
+	private static final long TOLERANCE = 60;
+
+	private String maxTestPeriod;
+
+	@Before
+	public void setup() {
+		maxTestPeriod = System.getProperty(RedDeerProperties.MAX_TEST_PERIOD.getName());
+		System.setProperty(RedDeerProperties.MAX_TEST_PERIOD.getName(), String.valueOf(MAX_TEST_PERIOD));
+	}
+
+	@After
+	public void cleanup() {
+		if (maxTestPeriod == null) {
+			System.clearProperty(RedDeerProperties.MAX_TEST_PERIOD.getName());
+		} else {
+			System.setProperty(RedDeerProperties.MAX_TEST_PERIOD.getName(), maxTestPeriod);
+		}
+	}
+
+	@Test
+	public void testPeriodGrowsUpToMaximum() {
+		RecordingCondition condition = new RecordingCondition();
+		new WaitUntil(condition, TimePeriod.getCustomMilliseconds(1000), false);
+
+		List<Long> periods = condition.getPeriods();
+		// 5 + 10 + 20 ms and then 40 ms periods, a fixed period of 1 s would test only twice
+		assertTrue("Condition tested only " + condition.times.size() + " times", condition.times.size() >= 10);
+		assertTrue("First period is " + periods.get(0) + " ms", 
+				periods.get(0) < AbstractWait.INITIAL_TEST_PERIOD + TOLERANCE);
+		assertTrue("Second period " + periods.get(1) + " ms is shorter than the first one " + periods.get(0) + " ms", 
+				periods.get(1) >= periods.get(0) - 1);
+		// the last period can be shortened by the timeout
+		for (long period : periods.subList(3, periods.size() - 1)) {
+			assertTrue("Period " + period + " ms is shorter than maximum", period >= MAX_TEST_PERIOD - 1);
+			assertTrue("Period " + period + " ms exceeds maximum", period < MAX_TEST_PERIOD + TOLERANCE);
+		}
+	}
+
+	@Test
+	public void fixedTestPeriod() {
+		RecordingCondition condition = new RecordingCondition();
+		new WaitUntil(condition, TimePeriod.getCustomMilliseconds(300), false, TimePeriod.getCustomMilliseconds(100));
+
+		List<Long> periods = condition.getPeriods();
+		assertEquals(4, condition.times.size(), 1);
+		assertTrue("First period is " + periods.get(0) + " ms", periods.get(0) >= 99);
+	}
+
+	private static class RecordingCondition extends AbstractWaitCondition {
+
+		private final List<Long> times = new ArrayList<Long>();
+
+		@Override
+		public boolean test() {
+			times.add(System.nanoTime() / 1000000);
+			return false;
+		}
+
+		List<Long> getPeriods() {
+			List<Long> periods = new ArrayList<Long>();
+			for (int i = 1; i < times.size(); i++) {
+				periods.add(times.get(i) - times.get(i - 1));
+			}
+			return periods;
+		}
+	}
+}
@@ -0,0 +1,80 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.test.wait;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.jboss.reddeer.common.condition.AbstractEventDrivenWaitCondition;
+import org.jboss.reddeer.common.wait.TimePeriod;
+import org.jboss.reddeer.common.wait.WaitUntil;
+import org.junit.Test;
+
+public class EventDrivenWaitTest {
+
+	@Test
+	public void waitIsWokenUpBySignal() {
+		SignalledCondition condition = new SignalledCondition();
+		long start = System.currentTimeMillis();
+		new WaitUntil(condition, TimePeriod.NORMAL, true, TimePeriod.LONG);
+		
+		// the condition is met after 50 ms, without the signal the wait would sleep for whole test period
+		assertTrue(System.currentTimeMillis() - start < 1000);
+		assertTrue(condition.registered);
+		assertFalse(condition.listening);
+	}
+
+	@Test
+	public void listenersAreNotRegisteredWhenConditionIsMet() {
+		SignalledCondition condition = new SignalledCondition();
+		condition.met = true;
+		new WaitUntil(condition);
+		
+		assertFalse(condition.registered);
+	}
+
+	private static class SignalledCondition extends AbstractEventDrivenWaitCondition {
+
+		private volatile boolean met;
+
+		private boolean registered;
+
+		private boolean listening;
+
+		@Override
+		public boolean test() {
+			return met;
+		}
+
+		@Override
+		protected void registerListeners() {
+			registered = true;
+			listening = true;
+			new Thread() {
+				@Override
+				public void run() {
+					try {
+						Thread.sleep(50);
+					} catch (InterruptedException e) {
+						return;
+					}
+					met = true;
+					signalChange();
+				}
+			}.start();
+		}
+
+		@Override
+		protected void unregisterListeners() {
+			listening = false;
+		}
+	}
+}
@@ -129,4 +129,39 @@ public class TimePeriodTest {
 		
 		assertThat(TimePeriod.getCustom(1).getSeconds(), is(0L));
 	}
+
+	@Test
+	public void getMilliseconds_factor1() {
+		System.setProperty(RedDeerProperties.TIME_PERIOD_FACTOR.getName(), "1");
+		TimePeriod.updateFactor();
+
+		assertThat(TimePeriod.getCustom(5).getMilliseconds(), is(5000L));
+		assertThat(TimePeriod.getCustomMilliseconds(30).getMilliseconds(), is(30L));
+	}
+
+	@Test
+	public void getMilliseconds_factor_gt1() {
+		System.setProperty(RedDeerProperties.TIME_PERIOD_FACTOR.getName(), "2");
+		TimePeriod.updateFactor();
+
+		assertThat(TimePeriod.getCustomMilliseconds(30).getMilliseconds(), is(60L));
+	}
+
+	@Test
+	public void getMilliseconds_periodmax() {
+		System.setProperty(RedDeerProperties.TIME_PERIOD_FACTOR.getName(), "1");
+		TimePeriod.updateFactor();
+
+		assertThat(TimePeriod.getCustom(Long.MAX_VALUE - 2).getMilliseconds(), is(Long.MAX_VALUE));
+		assertThat(TimePeriod.ETERNAL.getMilliseconds(), is(Long.MAX_VALUE));
+	}
+
+	@Test
+	public void getSeconds_customMilliseconds() {
+		System.setProperty(RedDeerProperties.TIME_PERIOD_FACTOR.getName(), "1");
+		TimePeriod.updateFactor();
+
+		assertThat(TimePeriod.getCustomMilliseconds(1500).getSeconds(), is(2L));
+		assertThat(TimePeriod.getCustomMilliseconds(30).getSeconds(), is(0L));
+	}
 }
@@ -0,0 +1,116 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
+import org.jboss.reddeer.core.util.JobTracker;
+import org.junit.After;
+import org.junit.Test;
+
+public class JobTrackerTest {
+
+	private static final ISchedulingRule RULE = new ISchedulingRule() {
+
+		@Override
+		public boolean isConflicting(ISchedulingRule rule) {
+			return rule == this;
+		}
+
+		@Override
+		public boolean contains(ISchedulingRule rule) {
+			return rule == this;
+		}
+	};
+
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	private final CountDownLatch blockerRunning = new CountDownLatch(1);
+
+	private Job blocker;
+
+	private Job delayed;
+
+	@After
+	public void cleanup() throws InterruptedException {
+		release.countDown();
+		if (blocker != null) {
+			blocker.join();
+		}
+		if (delayed != null) {
+			delayed.cancel();
+			delayed.join();
+		}
+	}
+
+	@Test
+	public void delayedJobIsActiveWhenItsDelayExpires() throws InterruptedException {
+		JobTracker tracker = JobTracker.getInstance();
+		blocker = new TestJob("JobTrackerTest blocker", blockerRunning);
+		blocker.schedule();
+		assertTrue(blockerRunning.await(10, TimeUnit.SECONDS));
+
+		delayed = new TestJob("JobTrackerTest delayed", null);
+		delayed.schedule(200);
+		assertEquals(Job.SLEEPING, delayed.getState());
+		assertFalse(tracker.getActiveJobs().contains(delayed));
+
+		// job manager moves the job from sleeping to waiting without any event,
+		// the job stays waiting because the blocker holds its scheduling rule
+		long limit = System.currentTimeMillis() + 10000;
+		while (delayed.getState() != Job.WAITING && System.currentTimeMillis() < limit) {
+			Thread.sleep(50);
+		}
+		assertEquals(Job.WAITING, delayed.getState());
+		assertTrue(tracker.getActiveJobs().contains(delayed));
+
+		release.countDown();
+		blocker.join();
+		delayed.join();
+		assertFalse(tracker.getActiveJobs().contains(delayed));
+		assertFalse(tracker.getActiveJobs().contains(blocker));
+	}
+
+	private class TestJob extends Job {
+
+		private final CountDownLatch started;
+
+		TestJob(String name, CountDownLatch started) {
+			super(name);
+			this.started = started;
+			setRule(RULE);
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			if (started != null) {
+				started.countDown();
+				try {
+					release.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					return Status.CANCEL_STATUS;
+				}
+			}
+			return Status.OK_STATUS;
+		}
+	}
+}
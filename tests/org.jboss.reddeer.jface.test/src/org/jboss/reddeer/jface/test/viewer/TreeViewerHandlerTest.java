@@ -10,9 +10,15 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.jface.test.viewer;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.Arrays;
+import java.util.List;
+
 import org.eclipse.jface.preference.JFacePreferences;
 import org.eclipse.jface.resource.JFaceResources;
 import org.eclipse.jface.viewers.ITreeContentProvider;
@@ -135,6 +141,19 @@ public class TreeViewerHandlerTest {
 		assertTrue("Styled postfix was "+ "'" + txt + "', but should be '3spost1'", txt.equals("3spost1"));
 	}
 	
+	@Test
+	public void nonStyledTextsTree1() {
+		List<String> texts = treeViewerHandler.getNonStyledTexts(new DefaultTree(0).getItems());
+		assertEquals(Arrays.asList("0nonstyled1", "1nonstyled1", "2nonstyled1", "3nonstyled1"), texts);
+	}
+	
+	@Test
+	public void styledTextsTree1() {
+		List<String[]> texts = treeViewerHandler.getStyledTexts(new DefaultTree(0).getItems());
+		assertNull(texts.get(0));
+		assertArrayEquals(new String[] {"3spre1", "3spost1"}, texts.get(3));
+	}
+	
 	@Test
 	public void treeItem1Tree2() {
 		try {
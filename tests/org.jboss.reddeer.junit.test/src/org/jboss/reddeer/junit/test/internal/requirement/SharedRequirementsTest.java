@@ -0,0 +1,219 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.test.internal.requirement;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.reddeer.junit.internal.requirement.Requirements;
+import org.jboss.reddeer.junit.internal.requirement.SharedRequirements;
+import org.jboss.reddeer.junit.requirement.Requirement;
+import org.jboss.reddeer.junit.requirement.RequirementScope;
+import org.jboss.reddeer.junit.requirement.ScopedRequirement;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SharedRequirementsTest {
+
+	private SharedRequirements sharedRequirements;
+
+	@Before
+	public void setup() {
+		sharedRequirements = new SharedRequirements();
+	}
+
+	@Test
+	public void registerEqualDeclarations() {
+		Requirement<?> requirement1 = create(ConfigurationScopeA.class);
+		Requirement<?> requirement2 = create(ConfigurationScopeA2.class);
+
+		assertSame(requirement1, sharedRequirements.register(requirement1, "config"));
+		assertSame(requirement1, sharedRequirements.register(requirement2, "config"));
+		assertTrue(sharedRequirements.isShared(requirement1));
+		assertFalse(sharedRequirements.isShared(requirement2));
+	}
+
+	@Test
+	public void registerDifferentDeclarations() {
+		Requirement<?> requirement1 = create(ConfigurationScopeA.class);
+		Requirement<?> requirement2 = create(ConfigurationScopeB.class);
+
+		assertSame(requirement1, sharedRequirements.register(requirement1, "config"));
+		assertSame(requirement2, sharedRequirements.register(requirement2, "config"));
+	}
+
+	@Test
+	public void registerDifferentConfigurations() {
+		Requirement<?> requirement1 = create(ConfigurationScopeA.class);
+		Requirement<?> requirement2 = create(ConfigurationScopeA2.class);
+
+		sharedRequirements.register(requirement1, "config1");
+		assertNotSame(requirement1, sharedRequirements.register(requirement2, "config2"));
+	}
+
+	@Test
+	public void registerSuiteScope() {
+		Requirement<?> requirement1 = create(SuiteScope.class);
+		Requirement<?> requirement2 = create(SuiteScope.class);
+
+		sharedRequirements.register(requirement1, "config1");
+		assertSame(requirement1, sharedRequirements.register(requirement2, "config2"));
+	}
+
+	@Test
+	public void registerClassScope() {
+		Requirement<?> requirement1 = create(ClassScope.class);
+		Requirement<?> requirement2 = create(ClassScope.class);
+
+		assertSame(requirement1, sharedRequirements.register(requirement1, "config"));
+		assertSame(requirement2, sharedRequirements.register(requirement2, "config"));
+		assertFalse(sharedRequirements.isShared(requirement1));
+	}
+
+	@Test
+	public void fulfillOnceAndCleanUpByLastClass() {
+		Requirements requirements1 = requirements(create(ConfigurationScopeA.class));
+		Requirements requirements2 = requirements(create(ConfigurationScopeA2.class));
+		requirements1.share(sharedRequirements);
+		requirements2.share(sharedRequirements);
+		CountingRequirement requirement = (CountingRequirement) requirements1.iterator().next();
+		assertSame(requirement, requirements2.iterator().next());
+
+		requirements1.fulfill();
+		requirements1.cleanUp();
+		requirements2.fulfill();
+		assertEquals(1, requirement.fulfilled);
+		assertEquals(1, requirement.reused);
+		assertEquals(0, requirement.cleanedUp);
+
+		requirements2.cleanUp();
+		assertEquals(1, requirement.cleanedUp);
+		assertFalse(sharedRequirements.isShared(requirement));
+	}
+
+	@Test
+	public void cleanUpAll() {
+		Requirements requirements1 = requirements(create(ConfigurationScopeA.class));
+		Requirements requirements2 = requirements(create(ConfigurationScopeA2.class));
+		requirements1.share(sharedRequirements);
+		requirements2.share(sharedRequirements);
+		CountingRequirement requirement = (CountingRequirement) requirements1.iterator().next();
+
+		requirements1.fulfill();
+		requirements1.cleanUp();
+		sharedRequirements.cleanUpAll();
+		assertEquals(1, requirement.cleanedUp);
+	}
+
+	@Test
+	public void cleanUpAllNotFulfilled() {
+		Requirements requirements = requirements(create(ConfigurationScopeA.class));
+		requirements.share(sharedRequirements);
+		CountingRequirement requirement = (CountingRequirement) requirements.iterator().next();
+
+		sharedRequirements.cleanUpAll();
+		assertEquals(0, requirement.cleanedUp);
+	}
+
+	private static CountingRequirement create(Class<?> declaringClass) {
+		CountingRequirement requirement = new CountingRequirement();
+		requirement.setDeclaration(declaringClass.getAnnotation(Counting.class));
+		return requirement;
+	}
+
+	private static Requirements requirements(Requirement<?> requirement) {
+		List<Requirement<?>> list = new ArrayList<Requirement<?>>();
+		list.add(requirement);
+		return new Requirements(list, String.class, "config");
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	public @interface Counting {
+
+		String value();
+
+		RequirementScope scope();
+	}
+
+	public static class CountingRequirement implements ScopedRequirement<Counting> {
+
+		private Counting declaration;
+
+		private int fulfilled;
+
+		private int reused;
+
+		private int cleanedUp;
+
+		@Override
+		public boolean canFulfill() {
+			return true;
+		}
+
+		@Override
+		public void fulfill() {
+			fulfilled++;
+		}
+
+		@Override
+		public void setDeclaration(Counting declaration) {
+			this.declaration = declaration;
+		}
+
+		@Override
+		public void cleanUp() {
+			cleanedUp++;
+		}
+
+		@Override
+		public Counting getDeclaration() {
+			return declaration;
+		}
+
+		@Override
+		public RequirementScope getScope() {
+			return declaration.scope();
+		}
+
+		@Override
+		public void reuse() {
+			reused++;
+		}
+	}
+
+	@Counting(value = "a", scope = RequirementScope.CONFIGURATION)
+	private static class ConfigurationScopeA {
+	}
+
+	@Counting(value = "a", scope = RequirementScope.CONFIGURATION)
+	private static class ConfigurationScopeA2 {
+	}
+
+	@Counting(value = "b", scope = RequirementScope.CONFIGURATION)
+	private static class ConfigurationScopeB {
+	}
+
+	@Counting(value = "a", scope = RequirementScope.SUITE)
+	private static class SuiteScope {
+	}
+
+	@Counting(value = "a", scope = RequirementScope.CLASS)
+	private static class ClassScope {
+	}
+}
@@ -0,0 +1,119 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.test.internal.runner;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.jboss.reddeer.common.exception.RedDeerException;
+import org.jboss.reddeer.junit.internal.runner.TestShard;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+import org.junit.runners.Suite.SuiteClasses;
+
+public class TestShardTest {
+
+	@Test
+	public void parse() {
+		TestShard shard = TestShard.parse("2/3");
+		assertEquals(2, shard.getIndex());
+		assertEquals(3, shard.getCount());
+		assertEquals("shard-2", shard.getDirectoryName());
+		assertEquals("2/3", shard.toString());
+	}
+
+	@Test(expected = RedDeerException.class)
+	public void parseInvalidFormat() {
+		TestShard.parse("2");
+	}
+
+	@Test(expected = RedDeerException.class)
+	public void parseIndexOutOfRange() {
+		TestShard.parse("4/3");
+	}
+
+	@Test
+	public void getTestClassesOfTestClass() {
+		assertArrayEquals(new Class<?>[] { TestA.class }, TestShard.getTestClasses(TestA.class));
+	}
+
+	@Test
+	public void getTestClassesOfNestedSuite() {
+		assertArrayEquals(new Class<?>[] { TestA.class, TestB.class, TestC.class, TestD.class },
+				TestShard.getTestClasses(OuterSuite.class));
+	}
+
+	@Test
+	public void hasClassFixtures() {
+		assertFalse(TestShard.hasClassFixtures(OuterSuite.class));
+		assertTrue(TestShard.hasClassFixtures(SuiteWithBeforeClass.class));
+		assertTrue(TestShard.hasClassFixtures(SuiteWithClassRule.class));
+	}
+
+	@Test
+	public void getTestClassesOfSuiteWithClassFixtures() {
+		assertArrayEquals(new Class<?>[] { TestA.class, TestB.class },
+				TestShard.getTestClasses(SuiteWithBeforeClass.class));
+	}
+
+	@Test
+	public void selectRoundRobin() {
+		Class<?>[] testClasses = TestShard.getTestClasses(OuterSuite.class);
+		assertArrayEquals(new Class<?>[] { TestA.class, TestC.class }, new TestShard(1, 2).select(testClasses));
+		assertArrayEquals(new Class<?>[] { TestB.class, TestD.class }, new TestShard(2, 2).select(testClasses));
+		assertArrayEquals(new Class<?>[0], new TestShard(5, 5).select(testClasses));
+	}
+
+	public static class TestA {
+	}
+
+	public static class TestB {
+	}
+
+	public static class TestC {
+	}
+
+	public static class TestD {
+	}
+
+	@RunWith(Suite.class)
+	@SuiteClasses({ TestB.class, TestC.class })
+	public static class InnerSuite {
+	}
+
+	@RunWith(Suite.class)
+	@SuiteClasses({ TestA.class, InnerSuite.class, TestB.class, TestD.class })
+	public static class OuterSuite {
+	}
+
+	@RunWith(Suite.class)
+	@SuiteClasses({ TestA.class, TestB.class })
+	public static class SuiteWithBeforeClass {
+
+		@BeforeClass
+		public static void setUp() {
+		}
+	}
+
+	@RunWith(Suite.class)
+	@SuiteClasses({ TestC.class })
+	public static class SuiteWithClassRule {
+
+		@ClassRule
+		public static TemporaryFolder folder = new TemporaryFolder();
+	}
+}
@@ -0,0 +1,198 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.test.internal.runner;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.jboss.reddeer.junit.internal.runner.TestShard;
+import org.jboss.reddeer.junit.internal.runner.TestTimings;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestTimingsTest {
+
+	private File file;
+
+	private File baseline;
+
+	@Before
+	public void setup() throws IOException {
+		file = File.createTempFile("timings", ".properties");
+		file.delete();
+		baseline = new File(file.getPath() + ".baseline");
+	}
+
+	@After
+	public void cleanup() {
+		file.delete();
+		baseline.delete();
+		new File(file.getPath() + ".lock").delete();
+	}
+
+	@Test
+	public void saveAndLoad() {
+		TestTimings timings = new TestTimings(file);
+		timings.recordClass(TestA.class, 1000, false);
+		timings.recordClass(TestA.class, 500, false);
+		timings.recordClass(TestB.class, 200, true);
+		timings.recordMethod(TestB.class, "test", 100, true);
+		timings.save();
+
+		TestTimings loaded = new TestTimings(file);
+		assertEquals(1500, loaded.getDuration(TestA.class));
+		assertEquals(200, loaded.getDuration(TestB.class));
+		assertEquals(100, loaded.getDuration(TestB.class, "test"));
+		assertEquals(-1, loaded.getDuration(TestC.class));
+		assertFalse(loaded.hasFailed(TestA.class));
+		assertTrue(loaded.hasFailed(TestB.class));
+	}
+
+	@Test
+	public void durationIsAveraged() {
+		TestTimings timings = new TestTimings(file);
+		timings.recordClass(TestA.class, 1000, true);
+		timings.save();
+		timings.recordClass(TestA.class, 2000, false);
+		timings.save();
+
+		TestTimings loaded = new TestTimings(file);
+		assertEquals(1500, loaded.getDuration(TestA.class));
+		assertFalse(loaded.hasFailed(TestA.class));
+	}
+
+	@Test
+	public void saveKeepsTimingsOfOtherInstances() {
+		TestTimings first = new TestTimings(file);
+		TestTimings second = new TestTimings(file);
+		first.recordClass(TestA.class, 1000, false);
+		second.recordClass(TestB.class, 2000, false);
+		first.save();
+		second.save();
+
+		TestTimings loaded = new TestTimings(file);
+		assertEquals(1000, loaded.getDuration(TestA.class));
+		assertEquals(2000, loaded.getDuration(TestB.class));
+	}
+
+	@Test
+	public void estimatedDurationOfUnknownClass() {
+		TestTimings timings = new TestTimings(file);
+		timings.recordClass(TestA.class, 1000, false);
+		timings.recordClass(TestB.class, 3000, false);
+		timings.save();
+
+		timings = new TestTimings(file);
+		assertEquals(2000, timings.getEstimatedDuration(TestC.class));
+		assertEquals(6000, timings.getEstimatedDuration(new Class<?>[] { TestA.class, TestB.class, TestC.class }));
+	}
+
+	@Test
+	public void sort() {
+		TestTimings timings = new TestTimings(file);
+		timings.recordClass(TestA.class, 1000, false);
+		timings.recordClass(TestB.class, 3000, false);
+		timings.recordClass(TestC.class, 2000, true);
+		timings.save();
+
+		timings = new TestTimings(file);
+		Class<?>[] testClasses = new Class<?>[] { TestA.class, TestB.class, TestC.class };
+		assertArrayEquals(new Class<?>[] { TestB.class, TestC.class, TestA.class }, timings.sortLongestFirst(testClasses));
+		assertArrayEquals(new Class<?>[] { TestC.class, TestA.class, TestB.class }, timings.sortFailedFirst(testClasses));
+	}
+
+	@Test
+	public void selectShardByDuration() {
+		TestTimings timings = new TestTimings(file);
+		timings.recordClass(TestA.class, 5000, false);
+		timings.recordClass(TestB.class, 3000, false);
+		timings.recordClass(TestC.class, 2000, false);
+		timings.save();
+
+		timings = new TestTimings(file);
+		Class<?>[] testClasses = new Class<?>[] { TestA.class, TestB.class, TestC.class };
+		assertArrayEquals(new Class<?>[] { TestA.class }, new TestShard(1, 2).selectByDuration(testClasses, timings));
+		assertArrayEquals(new Class<?>[] { TestB.class, TestC.class }, 
+				new TestShard(2, 2).selectByDuration(testClasses, timings));
+	}
+
+	@Test
+	public void savingDoesNotChangeLoadedTimings() {
+		TestTimings timings = new TestTimings(file);
+		timings.recordClass(TestA.class, 1000, false);
+		timings.save();
+		assertEquals(-1, timings.getDuration(TestA.class));
+	}
+
+	@Test
+	public void selectShardsByDurationFromBaseline() throws IOException {
+		TestTimings timings = new TestTimings(file);
+		timings.recordClass(TestA.class, 5000, false);
+		timings.recordClass(TestB.class, 3000, false);
+		timings.recordClass(TestC.class, 2000, false);
+		timings.save();
+		TestTimings.copyBaseline(file, baseline);
+
+		Class<?>[] testClasses = new Class<?>[] { TestA.class, TestB.class, TestC.class };
+		TestTimings first = new TestTimings(file, baseline);
+		assertArrayEquals(new Class<?>[] { TestA.class }, new TestShard(1, 2).selectByDuration(testClasses, first));
+		first.recordClass(TestC.class, 20000, false);
+		first.save();
+
+		// the second shard starts after the first one saved its timings
+		assertArrayEquals(new Class<?>[] { TestA.class, TestB.class }, 
+				new TestShard(2, 2).selectByDuration(testClasses, new TestTimings(file)));
+		TestTimings second = new TestTimings(file, baseline);
+		assertArrayEquals(new Class<?>[] { TestB.class, TestC.class }, 
+				new TestShard(2, 2).selectByDuration(testClasses, second));
+		assertEquals(11000, new TestTimings(file).getDuration(TestC.class));
+	}
+
+	@Test
+	public void configurationsOfOneRunAreSummed() {
+		TestTimings timings = new TestTimings(file);
+		timings.recordClass(TestA.class, 1000, false);
+		timings.save();
+
+		timings = new TestTimings(file);
+		timings.recordClass(TestA.class, 1000, true);
+		timings.recordClass(TestA.class, 2000, false);
+		timings.save();
+
+		TestTimings loaded = new TestTimings(file);
+		assertEquals(2000, loaded.getDuration(TestA.class));
+		assertTrue(loaded.hasFailed(TestA.class));
+	}
+
+	@Test
+	public void disabledStore() {
+		TestTimings timings = new TestTimings(null);
+		assertFalse(timings.isEnabled());
+		timings.recordClass(TestA.class, 1000, false);
+		timings.save();
+		assertEquals(-1, timings.getDuration(TestA.class));
+	}
+
+	public static class TestA {
+	}
+
+	public static class TestB {
+	}
+
+	public static class TestC {
+	}
+}
@@ -0,0 +1,287 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.swt.test.impl.menu;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.action.ActionContributionItem;
+import org.eclipse.jface.action.IContributionItem;
+import org.eclipse.jface.action.IMenuListener;
+import org.eclipse.jface.action.IMenuManager;
+import org.eclipse.jface.action.MenuManager;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Shell;
+import org.hamcrest.Matcher;
+import org.jboss.reddeer.core.lookup.MenuLookup;
+import org.jboss.reddeer.core.matcher.WithMnemonicTextMatcher;
+import org.jboss.reddeer.core.util.Display;
+import org.jboss.reddeer.core.util.ResultRunnable;
+import org.jboss.reddeer.swt.test.SWTLayerTestCase;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests reuse and invalidation of index of menu manager items used by 
+ * {@link MenuLookup#lookFor(List, Matcher...)}. Menu managers are created 
+ * the same way as view menus, i.e. with static items or with items recreated 
+ * whenever the menu is shown. Items are also changed without showing the menu.
+ */
+public class MenuIndexTest extends SWTLayerTestCase {
+
+	private static final String INDEX_KEY = "org.jboss.reddeer.core.lookup.MenuIndex";
+
+	private Shell shell;
+	private MenuManager manager;
+	private MenuManager subMenu;
+	private Action secondAction;
+
+	@Override
+	protected void createControls(Shell shell) {
+		this.shell = shell;
+	}
+
+	@After
+	public void disposeMenu() {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				manager.dispose();
+			}
+		});
+	}
+
+	@Test
+	public void indexReusedTest() {
+		createMenu(false, true);
+		ActionContributionItem item = lookFor("Sub", "Second");
+		assertNotNull(item);
+		Object index = getIndex();
+
+		show();
+
+		assertSame(item, lookFor("Sub", "Second"));
+		assertSame(index, getIndex());
+		assertTrue(hasValidIndex());
+		assertEquals(1, getIndexListenerCount(secondAction));
+	}
+
+	@Test
+	public void indexRebuiltTest() {
+		createMenu(true, true);
+		show();
+		Action oldAction = secondAction;
+		ActionContributionItem oldItem = lookFor("Sub", "Second");
+		Object index = getIndex();
+
+		// items are recreated
+		show();
+
+		assertFalse(hasValidIndex());
+		ActionContributionItem item = lookFor("Sub", "Second");
+		assertNotNull(item);
+		assertNotSame(oldItem, item);
+		assertNotSame(index, getIndex());
+		assertEquals(1, getIndexListenerCount(secondAction));
+		assertEquals(0, getIndexListenerCount(oldAction));
+	}
+
+	@Test
+	public void itemAddedWithoutShowTest() {
+		createMenu(false, true);
+		assertNull(lookFor("Sub", "Third"));
+
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				subMenu.add(new Action("Third") {
+				});
+			}
+		});
+
+		assertFalse(hasValidIndex());
+		assertNotNull(lookFor("Sub", "Third"));
+	}
+
+	@Test
+	public void itemRemovedWithoutShowTest() {
+		createMenu(false, true);
+		assertNotNull(lookFor("Sub", "Second"));
+
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				manager.remove(subMenu);
+			}
+		});
+
+		assertNull(lookFor("Sub", "Second"));
+	}
+
+	@Test
+	public void actionTextChangedTest() {
+		createMenu(false, true);
+		ActionContributionItem item = lookFor("Sub", "Second");
+		assertNotNull(item);
+
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				secondAction.setText("Renamed");
+			}
+		});
+
+		assertFalse(hasValidIndex());
+		assertNull(lookFor("Sub", "Second"));
+		assertSame(item, lookFor("Sub", "Renamed"));
+	}
+
+	@Test
+	public void noMenuTest() {
+		createMenu(false, false);
+
+		assertNotNull(lookFor("Sub", "Second"));
+		assertEquals(0, getIndexListenerCount(secondAction));
+	}
+
+	private void createMenu(final boolean dynamic, final boolean createMenu) {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				manager = new MenuManager();
+				if (dynamic) {
+					manager.setRemoveAllWhenShown(true);
+					manager.addMenuListener(new IMenuListener() {
+
+						@Override
+						public void menuAboutToShow(IMenuManager m) {
+							fill();
+						}
+					});
+				} else {
+					fill();
+				}
+				if (createMenu) {
+					manager.createContextMenu(shell);
+				}
+			}
+		});
+	}
+
+	private void fill() {
+		manager.add(new Action("&First") {
+		});
+		subMenu = new MenuManager("&Sub");
+		secondAction = new Action("Se&cond") {
+		};
+		subMenu.add(secondAction);
+		manager.add(subMenu);
+	}
+
+	private void show() {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				manager.getMenu().notifyListeners(SWT.Show, new Event());
+			}
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	private ActionContributionItem lookFor(String... path) {
+		List<IContributionItem> items = Display.syncExec(new ResultRunnable<List<IContributionItem>>() {
+
+			@Override
+			public List<IContributionItem> run() {
+				return Arrays.asList(manager.getItems());
+			}
+		});
+		Matcher<String>[] matchers = new Matcher[path.length];
+		for (int i = 0; i < path.length; i++) {
+			matchers[i] = new WithMnemonicTextMatcher(path[i]);
+		}
+		return MenuLookup.getInstance().lookFor(items, matchers);
+	}
+
+	private Object getIndex() {
+		return Display.syncExec(new ResultRunnable<Object>() {
+
+			@Override
+			public Object run() {
+				return manager.getMenu().getData(INDEX_KEY);
+			}
+		});
+	}
+
+	private boolean hasValidIndex() {
+		return Display.syncExec(new ResultRunnable<Boolean>() {
+
+			@Override
+			public Boolean run() {
+				try {
+					Method method = Class.forName(INDEX_KEY).getDeclaredMethod("hasValidIndex", MenuManager.class);
+					method.setAccessible(true);
+					return (Boolean) method.invoke(null, manager);
+				} catch (Exception e) {
+					throw new IllegalStateException("Cannot check menu index", e);
+				}
+			}
+		});
+	}
+
+	/*
+	 * Counts menu indexes among property change listeners of the action, 
+	 * contribution items listen to their actions too.
+	 */
+	private int getIndexListenerCount(final Action action) {
+		return Display.syncExec(new ResultRunnable<Integer>() {
+
+			@Override
+			public Integer run() {
+				try {
+					// listeners are kept by EventManager, a superclass of actions
+					Class<?> clazz = action.getClass();
+					while (!"EventManager".equals(clazz.getSimpleName())) {
+						clazz = clazz.getSuperclass();
+					}
+					Method method = clazz.getDeclaredMethod("getListeners");
+					method.setAccessible(true);
+					int count = 0;
+					for (Object listener : (Object[]) method.invoke(action)) {
+						if (INDEX_KEY.equals(listener.getClass().getName())) {
+							count++;
+						}
+					}
+					return count;
+				} catch (Exception e) {
+					throw new IllegalStateException("Cannot get action listeners", e);
+				}
+			}
+		});
+	}
+}
@@ -209,6 +209,17 @@ public class DefaultTableTest extends SWTLayerTestCase{
 		assertTrue("Table should have no selected items", selected == 0);
 	}
 
+	@Test
+	public void testGetSelectedItems() {
+		DefaultTable table = new DefaultTable();
+		table.select(1, 3);
+
+		List<org.jboss.reddeer.swt.api.TableItem> selectedItems = table.getSelectetItems();
+		assertEquals(2, selectedItems.size());
+		assertEquals("line 1 in nowhere", selectedItems.get(0).getText(6));
+		assertEquals("line 3 in nowhere", selectedItems.get(1).getText(6));
+	}
+
 	@Test(expected = CoreLayerException.class)
 	public void testSingleSelectionTableWithMultiSelection(){
 		new DefaultTable(1).select(1,2,3,4);
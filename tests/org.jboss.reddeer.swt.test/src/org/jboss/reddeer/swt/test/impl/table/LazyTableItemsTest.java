@@ -0,0 +1,146 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.swt.test.impl.table;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.RowData;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Shell;
+import org.hamcrest.Matcher;
+import org.jboss.reddeer.common.matcher.RegexMatcher;
+import org.jboss.reddeer.core.util.Display;
+import org.jboss.reddeer.core.util.ResultRunnable;
+import org.jboss.reddeer.swt.api.TableItem;
+import org.jboss.reddeer.swt.impl.table.DefaultTable;
+import org.jboss.reddeer.swt.impl.table.LazyTableItems;
+import org.jboss.reddeer.swt.matcher.ColumnTableItemMatcher;
+import org.jboss.reddeer.swt.test.SWTLayerTestCase;
+import org.junit.Test;
+
+/**
+ * Tests that {@link LazyTableItems} populates only pages of a virtual table
+ * it reads and stops reading as soon as it finds what it looks for.
+ */
+public class LazyTableItemsTest extends SWTLayerTestCase {
+
+	private static final int ITEM_COUNT = 1000;
+
+	private static final int PAGE_SIZE = 10;
+
+	/*
+	 * Indexes of items populated by SetData listener, accessed in UI thread.
+	 */
+	private final Set<Integer> populated = new TreeSet<Integer>();
+
+	@Override
+	protected void createControls(Shell shell) {
+		org.eclipse.swt.widgets.Table table = new org.eclipse.swt.widgets.Table(shell, SWT.VIRTUAL | SWT.BORDER);
+		// only a few items are visible and populated by painting
+		table.setLayoutData(new RowData(200, 60));
+		table.addListener(SWT.SetData, new Listener() {
+
+			@Override
+			public void handleEvent(Event event) {
+				org.eclipse.swt.widgets.TableItem item = (org.eclipse.swt.widgets.TableItem) event.item;
+				populated.add(event.index);
+				item.setText("Item " + event.index);
+			}
+		});
+		table.setItemCount(ITEM_COUNT);
+	}
+
+	@Test
+	public void indexOfTest() {
+		LazyTableItems items = new LazyTableItems(new DefaultTable(), PAGE_SIZE);
+		assertTrue(items.isVirtual());
+
+		assertEquals(25, items.indexOf("Item 25", 0));
+		assertPopulatedBelow(30);
+	}
+
+	@Test
+	public void findTest() {
+		LazyTableItems items = new LazyTableItems(new DefaultTable(), PAGE_SIZE);
+		List<Matcher<TableItem>> matchers = new ArrayList<Matcher<TableItem>>();
+		matchers.add(new ColumnTableItemMatcher(0, new RegexMatcher("Item \\d?3")));
+
+		List<TableItem> found = items.find(2, matchers);
+
+		assertEquals(2, found.size());
+		assertEquals("Item 3", found.get(0).getText());
+		assertEquals("Item 13", found.get(1).getText());
+		assertPopulatedBelow(20);
+	}
+
+	@Test
+	public void findFirstTest() {
+		LazyTableItems items = new LazyTableItems(new DefaultTable(), PAGE_SIZE);
+
+		TableItem item = items.findFirst(Collections.<Matcher<TableItem>>singletonList(
+				new ColumnTableItemMatcher(0, "Item 42")));
+
+		assertEquals("Item 42", item.getText());
+		assertPopulatedBelow(50);
+	}
+
+	@Test
+	public void iteratorTest() {
+		LazyTableItems items = new LazyTableItems(new DefaultTable(), PAGE_SIZE);
+
+		int count = 0;
+		for (TableItem item : items) {
+			if (item.getText().equals("Item 15")) {
+				break;
+			}
+			count++;
+		}
+
+		assertEquals(15, count);
+		assertPopulatedBelow(20);
+	}
+
+	@Test
+	public void notFoundTest() {
+		LazyTableItems items = new LazyTableItems(new DefaultTable(), 100);
+
+		assertEquals(-1, items.indexOf("Missing item", 0));
+		assertNull(items.findFirst(Collections.<Matcher<TableItem>>singletonList(
+				new ColumnTableItemMatcher(0, "Missing item"))));
+		assertEquals(ITEM_COUNT, getPopulated().size());
+	}
+
+	private void assertPopulatedBelow(int limit) {
+		Set<Integer> indexes = getPopulated();
+		assertTrue("Items up to " + limit + " are expected to be populated, but populated were " + indexes,
+				!indexes.isEmpty() && ((TreeSet<Integer>) indexes).last() < limit);
+	}
+
+	private Set<Integer> getPopulated() {
+		return Display.syncExec(new ResultRunnable<Set<Integer>>() {
+
+			@Override
+			public Set<Integer> run() {
+				return new TreeSet<Integer>(populated);
+			}
+		});
+	}
+}
@@ -0,0 +1,143 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.swt.test.impl.tree;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeItem;
+import org.jboss.reddeer.core.lookup.TreeItemLookup;
+import org.jboss.reddeer.core.matcher.TreeItemTextMatcher;
+import org.jboss.reddeer.core.util.Display;
+import org.jboss.reddeer.core.util.ResultRunnable;
+import org.jboss.reddeer.swt.test.SWTLayerTestCase;
+import org.junit.Test;
+
+/**
+ * Tests lookup of tree items whose children are populated lazily some time after
+ * their parent is expanded, as deferred content providers do. Lookup has to wait 
+ * for the children and continue on the same level of the path.
+ */
+public class DeferredTreeItemLookupTest extends SWTLayerTestCase {
+
+	private static final String PLACEHOLDER = "Pending...";
+
+	private static final int POPULATION_DELAY = 300;
+
+	private Tree tree;
+
+	/*
+	 * Count of expansions of each item, accessed in UI thread.
+	 */
+	private final Map<String, Integer> expansions = new HashMap<String, Integer>();
+
+	@Override
+	protected void createControls(Shell shell) {
+		tree = new Tree(shell, SWT.BORDER);
+		createDeferredItem(new TreeItem(tree, SWT.NONE), "A");
+		new TreeItem(tree, SWT.NONE).setText("B");
+		tree.addListener(SWT.Expand, new Listener() {
+
+			@Override
+			public void handleEvent(Event event) {
+				final TreeItem item = (TreeItem) event.item;
+				Integer count = expansions.get(item.getText());
+				expansions.put(item.getText(), count == null ? 1 : count + 1);
+				if (item.getItemCount() != 1 || !PLACEHOLDER.equals(item.getItem(0).getText())) {
+					return;
+				}
+				item.getItem(0).dispose();
+				event.display.timerExec(POPULATION_DELAY, new Runnable() {
+
+					@Override
+					public void run() {
+						populate(item);
+					}
+				});
+			}
+		});
+	}
+
+	@Test
+	public void deferredChildrenTest() {
+		List<TreeItem> items = getTreeItems("A", "AB", "ABA");
+
+		assertEquals(1, items.size());
+		assertEquals("ABA", getText(items.get(0)));
+		assertEquals(Integer.valueOf(1), getExpansions("A"));
+		assertEquals(Integer.valueOf(1), getExpansions("AB"));
+	}
+
+	@Test
+	public void deferredChildrenAlreadyPopulatedTest() {
+		getTreeItems("A", "AA");
+
+		List<TreeItem> items = getTreeItems("A", "AB", "ABB");
+
+		assertEquals("ABB", getText(items.get(0)));
+		assertEquals(Integer.valueOf(1), getExpansions("A"));
+	}
+
+	private void createDeferredItem(TreeItem item, String text) {
+		item.setText(text);
+		new TreeItem(item, SWT.NONE).setText(PLACEHOLDER);
+	}
+
+	private void populate(TreeItem item) {
+		if (item.isDisposed()) {
+			return;
+		}
+		String text = item.getText();
+		new TreeItem(item, SWT.NONE).setText(text + "A");
+		if (text.length() == 1) {
+			createDeferredItem(new TreeItem(item, SWT.NONE), text + "B");
+		} else {
+			new TreeItem(item, SWT.NONE).setText(text + "B");
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<TreeItem> getTreeItems(String... path) {
+		TreeItemTextMatcher[] matchers = new TreeItemTextMatcher[path.length];
+		for (int i = 0; i < path.length; i++) {
+			matchers[i] = new TreeItemTextMatcher(path[i]);
+		}
+		return TreeItemLookup.getInstance().getTreeItems(tree, matchers);
+	}
+
+	private String getText(final TreeItem item) {
+		return Display.syncExec(new ResultRunnable<String>() {
+
+			@Override
+			public String run() {
+				return item.getText();
+			}
+		});
+	}
+
+	private Integer getExpansions(final String text) {
+		return Display.syncExec(new ResultRunnable<Integer>() {
+
+			@Override
+			public Integer run() {
+				return expansions.get(text);
+			}
+		});
+	}
+}
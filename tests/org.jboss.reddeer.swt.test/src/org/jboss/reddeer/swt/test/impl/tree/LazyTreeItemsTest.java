@@ -0,0 +1,142 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.swt.test.impl.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.RowData;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Shell;
+import org.hamcrest.core.IsEqual;
+import org.jboss.reddeer.common.matcher.RegexMatcher;
+import org.jboss.reddeer.core.util.Display;
+import org.jboss.reddeer.core.util.ResultRunnable;
+import org.jboss.reddeer.swt.api.TreeItem;
+import org.jboss.reddeer.swt.impl.tree.DefaultTree;
+import org.jboss.reddeer.swt.impl.tree.LazyTreeItems;
+import org.jboss.reddeer.swt.test.SWTLayerTestCase;
+import org.junit.Test;
+
+/**
+ * Tests that {@link LazyTreeItems} populates only pages of a virtual tree
+ * it reads and stops reading as soon as it finds what it looks for.
+ */
+public class LazyTreeItemsTest extends SWTLayerTestCase {
+
+	private static final int ITEM_COUNT = 1000;
+
+	private static final int PAGE_SIZE = 10;
+
+	/*
+	 * Indexes of top level items populated by SetData listener, accessed in UI thread.
+	 */
+	private final Set<Integer> populated = new TreeSet<Integer>();
+
+	@Override
+	protected void createControls(Shell shell) {
+		org.eclipse.swt.widgets.Tree tree = new org.eclipse.swt.widgets.Tree(shell, SWT.VIRTUAL | SWT.BORDER);
+		// only a few items are visible and populated by painting
+		tree.setLayoutData(new RowData(200, 60));
+		tree.addListener(SWT.SetData, new Listener() {
+
+			@Override
+			public void handleEvent(Event event) {
+				org.eclipse.swt.widgets.TreeItem item = (org.eclipse.swt.widgets.TreeItem) event.item;
+				if (item.getParentItem() == null) {
+					populated.add(event.index);
+				}
+				item.setText("Item " + event.index);
+				item.setItemCount(0);
+			}
+		});
+		tree.setItemCount(ITEM_COUNT);
+	}
+
+	@Test
+	public void findTest() {
+		LazyTreeItems items = new LazyTreeItems(new DefaultTree(), PAGE_SIZE);
+		assertTrue(items.isVirtual());
+
+		List<TreeItem> found = items.find(2, new RegexMatcher("Item \\d?3"), 0);
+
+		assertEquals(2, found.size());
+		assertEquals("Item 3", found.get(0).getText());
+		assertEquals("Item 13", found.get(1).getText());
+		assertPopulatedBelow(20);
+	}
+
+	@Test
+	public void findFirstTest() {
+		LazyTreeItems items = new LazyTreeItems(new DefaultTree(), PAGE_SIZE);
+
+		TreeItem item = items.findFirst(new IsEqual<String>("Item 42"), 0);
+
+		assertEquals("Item 42", item.getText());
+		assertPopulatedBelow(50);
+	}
+
+	@Test
+	public void iteratorTest() {
+		LazyTreeItems items = new LazyTreeItems(new DefaultTree(), PAGE_SIZE);
+
+		int count = 0;
+		for (TreeItem item : items) {
+			if (item.getText().equals("Item 15")) {
+				break;
+			}
+			count++;
+		}
+
+		assertEquals(15, count);
+		assertPopulatedBelow(20);
+	}
+
+	@Test
+	public void getTest() {
+		LazyTreeItems items = new LazyTreeItems(new DefaultTree(), PAGE_SIZE);
+
+		assertEquals(ITEM_COUNT, items.size());
+		assertEquals("Item 7", items.get(7).getText());
+		assertPopulatedBelow(10);
+	}
+
+	@Test
+	public void notFoundTest() {
+		LazyTreeItems items = new LazyTreeItems(new DefaultTree(), 100);
+
+		assertNull(items.findFirst(new IsEqual<String>("Missing item"), 0));
+		assertEquals(ITEM_COUNT, getPopulated().size());
+	}
+
+	private void assertPopulatedBelow(int limit) {
+		Set<Integer> indexes = getPopulated();
+		assertTrue("Items up to " + limit + " are expected to be populated, but populated were " + indexes,
+				!indexes.isEmpty() && ((TreeSet<Integer>) indexes).last() < limit);
+	}
+
+	private Set<Integer> getPopulated() {
+		return Display.syncExec(new ResultRunnable<Set<Integer>>() {
+
+			@Override
+			public Set<Integer> run() {
+				return new TreeSet<Integer>(populated);
+			}
+		});
+	}
+}
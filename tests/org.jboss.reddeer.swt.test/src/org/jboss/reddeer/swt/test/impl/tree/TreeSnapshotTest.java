@@ -0,0 +1,106 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.swt.test.impl.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.List;
+
+import org.eclipse.swt.widgets.Shell;
+import org.hamcrest.Description;
+import org.hamcrest.TypeSafeMatcher;
+import org.jboss.reddeer.swt.api.Tree;
+import org.jboss.reddeer.swt.impl.tree.DefaultTree;
+import org.jboss.reddeer.swt.impl.tree.DefaultTreeItem;
+import org.jboss.reddeer.swt.impl.tree.TreeSnapshot;
+import org.jboss.reddeer.swt.impl.tree.TreeSnapshot.Node;
+import org.junit.Test;
+
+public class TreeSnapshotTest extends AbstractTreeTest {
+
+	private Tree tree;
+
+	@Override
+	protected void createControls(Shell shell) {
+		super.createControls(shell);
+		tree = new DefaultTree();
+		createTreeItems(tree.getSWTWidget());
+	}
+
+	@Test
+	public void testCaptureWholeTree() {
+		TreeSnapshot snapshot = TreeSnapshot.capture(tree);
+
+		assertEquals(3, snapshot.getItems().size());
+		assertEquals(7, snapshot.getAllItems().size());
+		assertEquals(3, snapshot.getItem("A", "AA", "AAB").getPath().length);
+		assertEquals("", snapshot.getItem("A", "AA", "AAB").getCell(2));
+	}
+
+	@Test
+	public void testCaptureDepth() {
+		TreeSnapshot snapshot = TreeSnapshot.capture(tree, 2);
+
+		assertNotNull(snapshot.getItem("A", "AA"));
+		assertNull(snapshot.getItem("A", "AA", "AAA"));
+	}
+
+	@Test
+	public void testCaptureTreeItem() {
+		TreeSnapshot snapshot = TreeSnapshot.capture(new DefaultTreeItem("A"), TreeSnapshot.UNLIMITED_DEPTH);
+
+		assertEquals(1, snapshot.getItems().size());
+		assertEquals("A", snapshot.getItem("AA", "AAA").getPath()[0]);
+	}
+
+	@Test
+	public void testFind() {
+		List<Node> nodes = TreeSnapshot.capture(tree).find(new TypeSafeMatcher<Node>() {
+
+			@Override
+			public void describeTo(Description description) {
+				description.appendText("tree item with text starting with AA");
+			}
+
+			@Override
+			protected boolean matchesSafely(Node node) {
+				return node.getText().startsWith("AA");
+			}
+		});
+
+		assertEquals(3, nodes.size());
+	}
+
+	@Test
+	public void testDiff() {
+		TreeSnapshot before = TreeSnapshot.capture(tree);
+		new DefaultTreeItem("B").setChecked(true);
+		createTreeItem(tree.getSWTWidget(), "D");
+		List<String> differences = before.diff(TreeSnapshot.capture(tree));
+
+		assertEquals(differences.toString(), 2, differences.size());
+		assertTrue(differences.get(0), differences.get(0).startsWith("~ B"));
+		assertEquals("+ D", differences.get(1));
+	}
+
+	@Test
+	public void testSerialization() throws IOException {
+		TreeSnapshot snapshot = TreeSnapshot.capture(tree);
+		new ObjectOutputStream(new ByteArrayOutputStream()).writeObject(snapshot);
+		assertTrue(snapshot.toString().contains("AAB"));
+	}
+}
@@ -0,0 +1,137 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.swt.test.interceptor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Text;
+import org.jboss.reddeer.core.handler.WidgetHandler;
+import org.jboss.reddeer.core.interceptor.ISyncInterceptor;
+import org.jboss.reddeer.core.interceptor.SyncInterceptorManager;
+import org.jboss.reddeer.core.util.Display;
+import org.jboss.reddeer.core.util.ResultRunnable;
+import org.jboss.reddeer.swt.test.SWTLayerTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that sync executions nested in {@link Display#batch(ResultRunnable)}
+ * run inline and sync interceptors are performed once for the whole batch.
+ */
+public class BatchSyncInterceptorTest extends SWTLayerTestCase {
+
+	private static final String INTERCEPTOR = "batchtest";
+
+	private SyncInterceptorManager sim = SyncInterceptorManager.getInstance();
+	private CountingInterceptor interceptor;
+	private Text text;
+
+	@Override
+	protected void createControls(Shell shell) {
+		text = new Text(shell, SWT.BORDER);
+		text.setText("batch");
+	}
+
+	@Before
+	public void registerInterceptor() {
+		interceptor = new CountingInterceptor();
+		sim.register(INTERCEPTOR, interceptor);
+	}
+
+	@After
+	public void unregisterInterceptor() {
+		if (sim.isRegistered(INTERCEPTOR)) {
+			sim.unregister(INTERCEPTOR);
+		}
+	}
+
+	@Test
+	public void handlerCallsInBatchAreInterceptedOnceTest() {
+		String result = Display.batch(new ResultRunnable<String>() {
+
+			@Override
+			public String run() {
+				assertTrue(Display.isInBatch());
+				final Thread uiThread = Thread.currentThread();
+				// handler calls perform a sync execution of their own
+				int style = WidgetHandler.getInstance().getStyle(text);
+				assertTrue((style & SWT.BORDER) != 0);
+				return Display.syncExec(new ResultRunnable<String>() {
+
+					@Override
+					public String run() {
+						// executed inline, not posted to the display
+						assertEquals(uiThread, Thread.currentThread());
+						return WidgetHandler.getInstance().getText(text);
+					}
+				});
+			}
+		});
+
+		assertEquals("batch", result);
+		assertEquals(1, interceptor.before);
+		assertEquals(1, interceptor.after);
+		assertFalse(Display.isInBatch());
+	}
+
+	@Test
+	public void nestedBatchIsInterceptedOnceTest() {
+		Display.batch(new Runnable() {
+
+			@Override
+			public void run() {
+				Display.batch(new Runnable() {
+
+					@Override
+					public void run() {
+						WidgetHandler.getInstance().getText(text);
+					}
+				});
+				// inner batch must not end the outer one
+				assertTrue(Display.isInBatch());
+				WidgetHandler.getInstance().getText(text);
+			}
+		});
+
+		assertEquals(1, interceptor.before);
+		assertEquals(1, interceptor.after);
+	}
+
+	@Test
+	public void syncExecsOutsideBatchAreInterceptedEachTest() {
+		WidgetHandler.getInstance().getText(text);
+		WidgetHandler.getInstance().getText(text);
+
+		assertEquals(2, interceptor.before);
+		assertEquals(2, interceptor.after);
+	}
+
+	private static class CountingInterceptor implements ISyncInterceptor {
+
+		private int before;
+		private int after;
+
+		@Override
+		public void beforeSyncOp() {
+			before++;
+		}
+
+		@Override
+		public void afterSyncOp() {
+			after++;
+		}
+	}
+}
@@ -0,0 +1,92 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.swt.test.interceptor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.core.util.Display;
+import org.jboss.reddeer.core.util.ResultRunnable;
+import org.jboss.reddeer.junit.runner.RedDeerSuite;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Measures bookkeeping performed by {@link Display#syncExec(ResultRunnable)}
+ * around the executed code, i.e. display lookup, UI thread detection and 
+ * sync interceptors check, and compares it with plain invocation of the code. 
+ */
+@RunWith(RedDeerSuite.class)
+public class SyncExecBenchmarkTest {
+
+	private static final Logger log = Logger.getLogger(SyncExecBenchmarkTest.class);
+
+	private static final int CALLS = 100000;
+
+	@Test
+	public void getDisplayTest() {
+		org.eclipse.swt.widgets.Display display = Display.getDisplay();
+
+		long start = System.nanoTime();
+		for (int i = 0; i < CALLS; i++) {
+			assertSame(display, Display.getDisplay());
+		}
+		long time = System.nanoTime() - start;
+
+		log.info(CALLS + " display lookups took " + time / 1000000 + " ms, "
+				+ time / CALLS + " ns per lookup");
+	}
+
+	@Test
+	public void syncExecInUIThreadTest() {
+		final Counter counter = new Counter();
+		long[] times = Display.syncExec(new ResultRunnable<long[]>() {
+
+			@Override
+			public long[] run() {
+				// warm up
+				for (int i = 0; i < CALLS; i++) {
+					counter.run();
+					Display.syncExec(counter);
+				}
+
+				long start = System.nanoTime();
+				for (int i = 0; i < CALLS; i++) {
+					counter.run();
+				}
+				long plainTime = System.nanoTime() - start;
+
+				start = System.nanoTime();
+				for (int i = 0; i < CALLS; i++) {
+					Display.syncExec(counter);
+				}
+				long syncExecTime = System.nanoTime() - start;
+				return new long[] {plainTime, syncExecTime};
+			}
+		});
+
+		log.info(CALLS + " plain calls took " + times[0] / 1000000 + " ms, "
+				+ CALLS + " sync executions in UI thread took " + times[1] / 1000000 + " ms, "
+				+ "bookkeeping costs " + (times[1] - times[0]) / CALLS + " ns per sync execution");
+		assertEquals(4 * CALLS, counter.count);
+	}
+
+	private static class Counter implements ResultRunnable<Integer> {
+
+		private int count;
+
+		@Override
+		public Integer run() {
+			return ++count;
+		}
+	}
+}
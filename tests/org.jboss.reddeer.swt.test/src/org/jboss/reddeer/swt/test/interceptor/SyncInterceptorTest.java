@@ -10,6 +10,8 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.swt.test.interceptor;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import org.jboss.reddeer.common.exception.RedDeerException;
@@ -37,6 +39,7 @@ public class SyncInterceptorTest {
 	private boolean calledBefore = false;
 	private boolean calledAfter = false;
 	private final String INTERCEPTOR = "simtest";
+	private final String OTHER_INTERCEPTOR = "simtest2";
 
 	class TestInterceptor implements ISyncInterceptor {
 
@@ -91,10 +94,146 @@ public class SyncInterceptorTest {
 		assertTrue("Interceptor after() call is expected", calledAfter);
 	}
 	
+	@Test
+	public void interceptorRegisteredDuringSyncTest() {
+		final TestInterceptor other = new TestInterceptor();
+		sim.register(INTERCEPTOR, new ISyncInterceptor() {
+
+			@Override
+			public void beforeSyncOp() {
+				// changes apply to the next sync, not to the running one
+				sim.unregister(INTERCEPTOR);
+				sim.register(OTHER_INTERCEPTOR, other);
+			}
+
+			@Override
+			public void afterSyncOp() {
+			}
+		});
+		calledBefore = false;
+		calledAfter = false;
+
+		syncExec();
+		assertFalse("Interceptor registered during sync is not expected to be called", calledBefore);
+		assertTrue(sim.isRegistered(OTHER_INTERCEPTOR));
+		assertFalse(sim.isRegistered(INTERCEPTOR));
+
+		calledAfter = false;
+		syncExec();
+		assertTrue("Interceptor before() call is expected", calledBefore);
+		assertTrue("Interceptor after() call is expected", calledAfter);
+	}
+
+	@Test
+	public void interceptorUnregisteredDuringSyncTest() {
+		sim.register(INTERCEPTOR, new TestInterceptor());
+		sim.register(OTHER_INTERCEPTOR, new ISyncInterceptor() {
+
+			@Override
+			public void beforeSyncOp() {
+				sim.unregister(INTERCEPTOR);
+			}
+
+			@Override
+			public void afterSyncOp() {
+			}
+		});
+		calledBefore = false;
+		calledAfter = false;
+
+		syncExec();
+		assertTrue("Interceptor before() call is expected", calledBefore);
+		assertFalse("Unregistered interceptor after() call is not expected", calledAfter);
+	}
+
+	@Test
+	public void interceptedFlagIsPerThreadTest() throws InterruptedException {
+		final int[] calls = new int[1];
+		final boolean[] intercepted = new boolean[2];
+		sim.register(INTERCEPTOR, new ISyncInterceptor() {
+
+			@Override
+			public void beforeSyncOp() {
+				calls[0]++;
+				intercepted[0] = sim.isIntercepted();
+				Thread thread = new Thread(new Runnable() {
+
+					@Override
+					public void run() {
+						intercepted[1] = sim.isIntercepted();
+					}
+				});
+				thread.start();
+				try {
+					thread.join();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				// sync execution performed by an interceptor is not intercepted again
+				syncExec();
+			}
+
+			@Override
+			public void afterSyncOp() {
+			}
+		});
+
+		syncExec();
+
+		assertEquals(1, calls[0]);
+		assertTrue("Interceptor is expected to run as intercepted code", intercepted[0]);
+		assertFalse("Other threads are not expected to be intercepted", intercepted[1]);
+		assertFalse(sim.isIntercepted());
+	}
+
+	@Test
+	public void syncChainedFromInterceptorTest() {
+		final int[] calls = new int[2];
+		sim.register(INTERCEPTOR, new ISyncInterceptor() {
+
+			@Override
+			public void beforeSyncOp() {
+				calls[0]++;
+				// runnable runs in UI thread and chains another sync execution there
+				Display.syncExec(new Runnable() {
+
+					@Override
+					public void run() {
+						syncExec();
+					}
+				});
+			}
+
+			@Override
+			public void afterSyncOp() {
+				calls[1]++;
+			}
+		});
+
+		syncExec();
+
+		assertEquals("Interceptor before() is expected to be called once", 1, calls[0]);
+		assertEquals("Interceptor after() is expected to be called once", 1, calls[1]);
+		assertFalse(sim.isIntercepted());
+	}
+
+	private void syncExec() {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				log.info("Code performed inside syncExec()");
+			}
+		});
+	}
+	
 	@After
 	public void cleanUp() {
 		if (sim.isRegistered(INTERCEPTOR)) {
 			sim.unregister(INTERCEPTOR);
 		}
+		if (sim.isRegistered(OTHER_INTERCEPTOR)) {
+			sim.unregister(OTHER_INTERCEPTOR);
+		}
 	}
 }
@@ -13,6 +13,8 @@ package org.jboss.reddeer.swt.test.keyboard;
 import static org.junit.Assert.assertEquals;
 
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.swt.widgets.Text;
 import org.jboss.reddeer.junit.runner.RedDeerSuite;
@@ -32,6 +34,7 @@ public class KeyboardTest {
 	
 	protected static final String SHELL_TITLE = "Keyboard testing shell";
 	private Text text;
+	private Text secondText;
 	
 	@After
 	public void cleanup() {
@@ -58,6 +61,66 @@ public class KeyboardTest {
 		assertEquals("test123", getText());
 	}
 	
+	@Test
+	public void batchTypingTest() {
+		openTestingShell();
+		KeyboardFactory.getKeyboard().type("{@Test} batch123", 0);
+		assertEquals("{@Test} batch123", getText());
+	}
+	
+	@Test
+	public void pacedBatchTypingTest() {
+		openTestingShell();
+		KeyboardFactory.getKeyboard().type("{@Test} paced123", 10);
+		assertEquals("{@Test} paced123", getText());
+	}
+	
+	@Test
+	public void batchTypingWithFocusChangeTest() {
+		openTestingShellWithTwoTexts();
+		KeyboardFactory.getKeyboard().type("first\tsecond", 0);
+		assertEquals("first", getText());
+		assertEquals("second", getText(secondText));
+	}
+	
+	@Test
+	public void pacedBatchTypingWithFocusChangeTest() {
+		openTestingShellWithTwoTexts();
+		KeyboardFactory.getKeyboard().type("first\tsecond", 10);
+		assertEquals("first", getText());
+		assertEquals("second", getText(secondText));
+	}
+	
+	@Test
+	public void pacedBatchTypingWithFocusMovedByTextTest() {
+		openTestingShellWithTwoTexts();
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				text.addListener(SWT.Modify, new Listener() {
+
+					@Override
+					public void handleEvent(Event event) {
+						if ("first".equals(text.getText())) {
+							// focus is moved later, not by processing of the key
+							text.getDisplay().asyncExec(new Runnable() {
+
+								@Override
+								public void run() {
+									secondText.setFocus();
+								}
+							});
+						}
+					}
+				});
+			}
+		});
+		KeyboardFactory.getKeyboard().type("firstsecond", 10);
+		assertEquals("first", getText());
+		assertEquals("second", getText(secondText));
+	}
+	
 	@Test
 	public void keyCombinationTest(){
 		new DefaultShell();
@@ -112,7 +175,26 @@ public class KeyboardTest {
 		new DefaultText();
 	}
 
+	private void openTestingShellWithTwoTexts(){
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				Shell shell = ShellTestUtils.createShell(SHELL_TITLE);
+				text = new Text(shell, SWT.NONE);
+				secondText = new Text(shell, SWT.NONE);
+				shell.layout();
+			}
+		});
+		new DefaultShell(SHELL_TITLE);
+		new DefaultText();
+	}
+
 	private String getText() {
+		return getText(text);
+	}
+	
+	private String getText(final Text text) {
 		
 		return Display.syncExec(new ResultRunnable<String>() {
 
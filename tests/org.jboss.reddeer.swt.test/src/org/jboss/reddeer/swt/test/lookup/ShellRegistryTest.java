@@ -0,0 +1,98 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.swt.test.lookup;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.swt.widgets.Shell;
+import org.hamcrest.core.IsEqual;
+import org.jboss.reddeer.common.wait.TimePeriod;
+import org.jboss.reddeer.core.condition.ShellWithTextIsActive;
+import org.jboss.reddeer.core.lookup.ShellLookup;
+import org.jboss.reddeer.core.lookup.ShellRegistry;
+import org.jboss.reddeer.core.matcher.WithTextMatcher;
+import org.jboss.reddeer.core.util.Display;
+import org.jboss.reddeer.swt.test.SWTLayerTestCase;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests that shells looked up by title are not found by their title registered
+ * before the shell was retitled. SWT sends no event when title of shell changes.
+ */
+public class ShellRegistryTest extends SWTLayerTestCase {
+
+	private static final String NEW_TITLE = "Retitled shell";
+
+	private Shell shell;
+
+	@Override
+	protected void createControls(Shell shell) {
+		this.shell = shell;
+	}
+
+	@After
+	public void restoreTitle() {
+		// shell is closed by its original title
+		setTitle(SHELL_TITLE);
+	}
+
+	@Test
+	public void retitledShellRegistryTest() {
+		ShellRegistry registry = ShellRegistry.getInstance();
+		assertSame(shell, registry.getShell(SHELL_TITLE));
+
+		setTitle(NEW_TITLE);
+
+		assertNull(registry.getShell(SHELL_TITLE));
+		assertNull(registry.getShell(new WithTextMatcher(SHELL_TITLE)));
+		assertSame(shell, registry.getShell(NEW_TITLE));
+		assertTrue(registry.matchesTitle(shell, new IsEqual<String>(NEW_TITLE)));
+	}
+
+	@Test
+	public void retitledShellLookupTest() {
+		ShellLookup lookup = ShellLookup.getInstance();
+		assertSame(shell, lookup.getShell(SHELL_TITLE, TimePeriod.NONE));
+
+		setTitle(NEW_TITLE);
+
+		assertNull(lookup.getShell(SHELL_TITLE, TimePeriod.NONE));
+		assertNull(lookup.getShell(new WithTextMatcher(SHELL_TITLE), TimePeriod.NONE));
+		assertSame(shell, lookup.getShell(NEW_TITLE, TimePeriod.NONE));
+		assertSame(shell, lookup.getShell(new WithTextMatcher(NEW_TITLE), TimePeriod.NONE));
+	}
+
+	@Test
+	public void retitledShellIsActiveTest() {
+		assertTrue(new ShellWithTextIsActive(SHELL_TITLE).test());
+
+		setTitle(NEW_TITLE);
+
+		assertFalse(new ShellWithTextIsActive(SHELL_TITLE).test());
+		assertTrue(new ShellWithTextIsActive(NEW_TITLE).test());
+	}
+
+	private void setTitle(final String title) {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				if (!shell.isDisposed()) {
+					shell.setText(title);
+				}
+			}
+		});
+	}
+}
@@ -0,0 +1,138 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.swt.test.lookup;
+
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Method;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Text;
+import org.eclipse.swt.widgets.Widget;
+import org.hamcrest.Matcher;
+import org.jboss.reddeer.core.matcher.AndMatcher;
+import org.jboss.reddeer.core.matcher.ClassMatcher;
+import org.jboss.reddeer.core.matcher.WithLabelMatcher;
+import org.jboss.reddeer.core.matcher.WithTextMatcher;
+import org.jboss.reddeer.core.util.Display;
+import org.jboss.reddeer.core.util.ResultRunnable;
+import org.jboss.reddeer.swt.test.SWTLayerTestCase;
+import org.junit.Test;
+
+/**
+ * Tests that widget index used by widget lookup (see rd.widgetIndex property) does not 
+ * return wrong widgets when texts change without notification. Index is not public
+ * API so it is accessed via reflection.
+ */
+public class WidgetIndexTest extends SWTLayerTestCase {
+
+	private static final String INDEX_CLASS = "org.jboss.reddeer.core.lookup.WidgetIndex";
+
+	private Shell shell;
+	private Button button0;
+	private Button button1;
+	private Button button2;
+	private Label label1;
+	private Text text0;
+	private Text text1;
+
+	@Override
+	protected void createControls(Shell shell) {
+		this.shell = shell;
+		button0 = createButton(shell, "Button");
+		button1 = createButton(shell, "Other");
+		button2 = createButton(shell, "Button");
+		new Label(shell, SWT.NONE).setText("Name:");
+		text0 = new Text(shell, SWT.BORDER);
+		label1 = new Label(shell, SWT.NONE);
+		label1.setText("Other:");
+		text1 = new Text(shell, SWT.BORDER);
+	}
+
+	@Test
+	public void buttonTextChangedTest() {
+		Matcher<?> matcher = new WithTextMatcher("Button");
+		assertSame(button2, find(matcher, 1));
+
+		// button sends no modify event
+		setText(button1, "Button");
+
+		assertSame(button1, find(matcher, 1));
+		assertSame(button2, find(matcher, 2));
+	}
+
+	@Test
+	public void textModifiedTest() {
+		setText(text0, "old");
+		assertSame(text0, find(new WithTextMatcher("old"), 0));
+
+		setText(text0, "new");
+
+		assertSame(null, find(new WithTextMatcher("old"), 0));
+		assertSame(text0, find(new WithTextMatcher("new"), 0));
+	}
+
+	@Test
+	public void labelChangedTest() {
+		Matcher<?> matcher = new AndMatcher(new ClassMatcher(Text.class), new WithLabelMatcher("Name:"));
+		assertSame(text0, find(matcher, 0));
+		assertSame(null, find(matcher, 1));
+
+		// label sends no modify event
+		setText(label1, "Name:");
+
+		assertSame(text1, find(matcher, 1));
+	}
+
+	private Button createButton(Shell shell, String text) {
+		Button button = new Button(shell, SWT.PUSH);
+		button.setText(text);
+		return button;
+	}
+
+	private void setText(final Widget widget, final String text) {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				if (widget instanceof Button) {
+					((Button) widget).setText(text);
+				} else if (widget instanceof Label) {
+					((Label) widget).setText(text);
+				} else {
+					((Text) widget).setText(text);
+				}
+			}
+		});
+	}
+
+	private Widget find(final Matcher<?> matcher, final int index) {
+		return Display.syncExec(new ResultRunnable<Widget>() {
+
+			@Override
+			public Widget run() {
+				try {
+					Class<?> indexClass = Class.forName(INDEX_CLASS);
+					Method getIndex = indexClass.getDeclaredMethod("getIndex", Widget.class);
+					getIndex.setAccessible(true);
+					Method find = indexClass.getDeclaredMethod("find", Matcher.class, int.class);
+					find.setAccessible(true);
+					return (Widget) find.invoke(getIndex.invoke(null, shell), matcher, index);
+				} catch (Exception e) {
+					throw new IllegalStateException("Cannot use widget index", e);
+				}
+			}
+		});
+	}
+}
@@ -0,0 +1,151 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.swt.test.lookup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Method;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Widget;
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.jboss.reddeer.core.matcher.AndMatcher;
+import org.jboss.reddeer.core.matcher.ClassMatcher;
+import org.jboss.reddeer.core.matcher.WithTextMatcher;
+import org.jboss.reddeer.core.util.Display;
+import org.jboss.reddeer.core.util.ResultRunnable;
+import org.jboss.reddeer.swt.test.SWTLayerTestCase;
+import org.junit.Test;
+
+/**
+ * Tests cache of widget lookups (see rd.widgetLookupCache property). Cache is not
+ * public API so it is accessed via reflection.
+ */
+public class WidgetLookupCacheTest extends SWTLayerTestCase {
+
+	private static final String CACHE_CLASS = "org.jboss.reddeer.core.lookup.WidgetLookupCache";
+
+	private Shell shell;
+	private Button button0;
+	private Button button1;
+
+	@Override
+	protected void createControls(Shell shell) {
+		this.shell = shell;
+		button0 = new Button(shell, SWT.PUSH);
+		button0.setText("A");
+		button1 = new Button(shell, SWT.PUSH);
+		button1.setText("B");
+	}
+
+	@Test
+	public void equalMatchersTest() {
+		put(new AndMatcher(new WithTextMatcher("B"), new ClassMatcher(Button.class)), button1);
+
+		assertEquals(new WithTextMatcher("B"), new WithTextMatcher("B"));
+		assertSame(button1, get(new AndMatcher(new WithTextMatcher("B"), new ClassMatcher(Button.class))));
+	}
+
+	@Test
+	public void matchersWithSameDescriptionTest() {
+		Matcher<?> textB = new DescribedMatcher("B");
+		Matcher<?> anyText = new DescribedMatcher(null);
+		assertEquals(textB.toString(), anyText.toString());
+		assertFalse(textB.equals(anyText));
+
+		put(textB, button1);
+
+		// button1 matches as well but it is not the first matching widget
+		assertSame(null, get(anyText));
+		assertSame(button1, get(textB));
+	}
+
+	@Test
+	public void precedingWidgetShownTest() {
+		setVisible(button0, false);
+		Matcher<?> matcher = new ClassMatcher(Button.class);
+		put(matcher, button1);
+		assertSame(button1, get(matcher));
+
+		setVisible(button0, true);
+
+		assertSame(null, get(matcher));
+	}
+
+	private void setVisible(final Button button, final boolean visible) {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				button.setVisible(visible);
+			}
+		});
+	}
+
+	private void put(final Matcher<?> matcher, final Widget widget) {
+		invoke("put", new Class<?>[] {Widget.class, Matcher.class, Widget.class}, shell, matcher, widget);
+	}
+
+	private Widget get(Matcher<?> matcher) {
+		return (Widget) invoke("get", new Class<?>[] {Widget.class, Matcher.class}, shell, matcher);
+	}
+
+	private Object invoke(final String methodName, final Class<?>[] argTypes, final Object... args) {
+		return Display.syncExec(new ResultRunnable<Object>() {
+
+			@Override
+			public Object run() {
+				try {
+					Method method = Class.forName(CACHE_CLASS).getDeclaredMethod(methodName, argTypes);
+					method.setAccessible(true);
+					return method.invoke(null, args);
+				} catch (Exception e) {
+					throw new IllegalStateException("Cannot use widget lookup cache", e);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Matches widgets with the given text or any widget if the text is null, 
+	 * but describes itself the same way in both cases.
+	 */
+	@SuppressWarnings("rawtypes")
+	private static class DescribedMatcher extends BaseMatcher {
+
+		private String text;
+
+		public DescribedMatcher(String text) {
+			this.text = text;
+		}
+
+		@Override
+		public boolean matches(Object item) {
+			return item instanceof Button && (text == null || text.equals(((Button) item).getText()));
+		}
+
+		@Override
+		public void describeTo(Description description) {
+			description.appendText("button");
+		}
+
+		@Override
+		public String toString() {
+			return "button";
+		}
+	}
+}
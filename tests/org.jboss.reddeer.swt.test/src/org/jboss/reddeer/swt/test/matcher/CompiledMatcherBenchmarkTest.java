@@ -0,0 +1,127 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.swt.test.matcher;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Text;
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.matcher.RegexMatcher;
+import org.jboss.reddeer.core.lookup.ShellLookup;
+import org.jboss.reddeer.core.lookup.WidgetLookup;
+import org.jboss.reddeer.core.matcher.AndMatcher;
+import org.jboss.reddeer.core.matcher.ClassMatcher;
+import org.jboss.reddeer.core.matcher.WithStyleMatcher;
+import org.jboss.reddeer.core.matcher.WithTextMatcher;
+import org.jboss.reddeer.core.util.Display;
+import org.jboss.reddeer.core.util.ResultRunnable;
+import org.jboss.reddeer.swt.test.SWTLayerTestCase;
+import org.jboss.reddeer.swt.test.utils.LabelTestUtils;
+import org.junit.Test;
+
+/**
+ * Compares lookup in a tree of about 10000 controls with matchers evaluated 
+ * in the given order and with matchers ordered by cost.
+ */
+public class CompiledMatcherBenchmarkTest extends SWTLayerTestCase {
+
+	private static final Logger log = Logger.getLogger(CompiledMatcherBenchmarkTest.class);
+
+	private static final int COMPOSITES = 1000;
+
+	private static final int ROWS = 5;
+
+	@Override
+	protected void createControls(Shell shell) {
+		for (int i = 0; i < COMPOSITES; i++) {
+			Composite composite = new Composite(shell, SWT.NONE);
+			composite.setLayout(new GridLayout(2, false));
+			for (int j = 0; j < ROWS; j++) {
+				LabelTestUtils.createLabel(composite, "Label " + i + "-" + j);
+				Text text = new Text(composite, j % 2 == 0 ? SWT.BORDER : SWT.BORDER | SWT.READ_ONLY);
+				text.setText("Text " + i + "-" + j);
+			}
+		}
+	}
+
+	@Test
+	public void compiledMatcherTest() {
+		final Control shell = ShellLookup.getInstance().getActiveShell();
+		Matcher<?>[] matchers = new Matcher<?>[] {
+			new WithTextMatcher(new RegexMatcher("Text 9\\d*-[0-4]")),
+			new WithStyleMatcher(SWT.READ_ONLY),
+			new ClassMatcher(Text.class)};
+
+		// warm up
+		find(shell, new InOrderMatcher(matchers));
+
+		long start = System.nanoTime();
+		List<Text> inOrder = find(shell, new InOrderMatcher(matchers));
+		long inOrderTime = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		List<Text> compiled = find(shell, new AndMatcher(matchers));
+		long compiledTime = System.nanoTime() - start;
+
+		log.info("Lookup with matchers in given order took " + inOrderTime / 1000000 + " ms, "
+				+ "with matchers ordered by cost " + compiledTime / 1000000 + " ms");
+		assertEquals(inOrder, compiled);
+		assertEquals(111 * 2, compiled.size());
+	}
+
+	private List<Text> find(final Control parent, final Matcher<?> matcher) {
+		return Display.syncExec(new ResultRunnable<List<Text>>() {
+
+			@Override
+			public List<Text> run() {
+				return WidgetLookup.getInstance().activeWidgets(parent, matcher);
+			}
+		});
+	}
+
+	/**
+	 * Evaluates matchers in the given order as they were evaluated before.
+	 */
+	@SuppressWarnings("rawtypes")
+	private static class InOrderMatcher extends BaseMatcher {
+
+		private Matcher<?>[] matchers;
+
+		public InOrderMatcher(Matcher<?>[] matchers) {
+			this.matchers = matchers;
+		}
+
+		@Override
+		public boolean matches(Object item) {
+			for (Matcher<?> m : matchers) {
+				if (!m.matches(item)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public void describeTo(Description description) {
+			description.appendText("all matchers in the given order");
+		}
+	}
+}
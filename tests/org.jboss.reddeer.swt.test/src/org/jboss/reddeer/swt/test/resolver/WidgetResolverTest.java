@@ -0,0 +1,157 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.swt.test.resolver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Widget;
+import org.jboss.reddeer.core.resolver.WidgetResolver;
+import org.jboss.reddeer.core.resolver.WidgetResolvingStrategy;
+import org.jboss.reddeer.core.util.Display;
+import org.jboss.reddeer.swt.test.SWTLayerTestCase;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests resolving of custom widgets by strategies registered to {@link WidgetResolver}.
+ */
+public class WidgetResolverTest extends SWTLayerTestCase {
+
+	private WidgetResolver resolver = WidgetResolver.getInstance();
+
+	private CustomComposite custom;
+	private CustomCompositeSubclass subclass;
+	private Button hidden;
+	private Label visible;
+
+	@Override
+	protected void createControls(Shell shell) {
+		custom = new CustomComposite(shell);
+		hidden = new Button(custom, SWT.PUSH);
+		visible = new Label(custom, SWT.NONE);
+		custom.exposed = visible;
+		subclass = new CustomCompositeSubclass(shell);
+		subclass.exposed = new Label(subclass, SWT.NONE);
+	}
+
+	@After
+	public void unregisterStrategy() {
+		resolver.unregisterStrategy(CustomComposite.class);
+	}
+
+	@Test
+	public void defaultStrategyTest() {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				// resolved by strategy of the nearest registered class, i.e. Composite
+				assertEquals(Arrays.<Widget>asList(hidden, visible), resolver.getChildren(custom));
+				assertSame(custom.getParent(), resolver.getParent(custom));
+			}
+		});
+	}
+
+	@Test
+	public void customStrategyTest() {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				// resolve once so that the default strategy is cached for the class
+				resolver.getChildren(custom);
+				resolver.registerStrategy(CustomComposite.class, new CustomStrategy());
+
+				assertTrue(resolver.isResolvable(custom));
+				assertEquals(Collections.<Widget>singletonList(visible), resolver.getChildren(custom));
+				assertSame(custom.getParent(), resolver.getParent(custom));
+				assertFalse(resolver.getChildren(custom).contains(hidden));
+			}
+		});
+	}
+
+	@Test
+	public void customStrategyOfSuperclassTest() {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				resolver.registerStrategy(CustomComposite.class, new CustomStrategy());
+
+				assertEquals(Collections.<Widget>singletonList(subclass.exposed), resolver.getChildren(subclass));
+			}
+		});
+	}
+
+	@Test
+	public void unregisteredStrategyTest() {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				resolver.registerStrategy(CustomComposite.class, new CustomStrategy());
+				resolver.getChildren(custom);
+				resolver.unregisterStrategy(CustomComposite.class);
+
+				assertEquals(Arrays.<Widget>asList(hidden, visible), resolver.getChildren(custom));
+			}
+		});
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void nullStrategyTest() {
+		resolver.registerStrategy(CustomComposite.class, null);
+	}
+
+	/**
+	 * Composite exposing only one of its children.
+	 */
+	private static class CustomComposite extends Composite {
+
+		Widget exposed;
+
+		public CustomComposite(Composite parent) {
+			super(parent, SWT.NONE);
+		}
+	}
+
+	private static class CustomCompositeSubclass extends CustomComposite {
+
+		public CustomCompositeSubclass(Composite parent) {
+			super(parent);
+		}
+	}
+
+	private static class CustomStrategy implements WidgetResolvingStrategy {
+
+		@Override
+		public Widget getParent(Widget widget) {
+			return ((Composite) widget).getParent();
+		}
+
+		@Override
+		public List<Widget> getChildren(Widget widget) {
+			return Collections.singletonList(((CustomComposite) widget).exposed);
+		}
+	}
+}